@@ -0,0 +1,77 @@
+/**
+ * Gera massas de dados determinísticas para os benchmarks JMH.
+ */
+package com.cadastroprofissional.simples;
+
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DadosBenchmark {
+
+    private static final CargoEnum[] CARGOS = CargoEnum.values();
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * Gera profissionais ativos com cargos e datas variados.
+     * @param quantidade A quantidade de profissionais.
+     * @return Os profissionais gerados.
+     */
+    public static List<Profissional> profissionais(int quantidade) {
+        List<Profissional> profissionais = new ArrayList<>(quantidade);
+        LocalDate base = LocalDate.of(1970, 1, 1);
+        for (int i = 0; i < quantidade; i++) {
+            Profissional profissional = new Profissional((long) i + 1);
+            profissional.setNome("Profissional " + i);
+            profissional.setCargo(CARGOS[i % CARGOS.length]);
+            profissional.setDataNascimento(base.plusDays(i % 15000));
+            profissional.setCreatedDate(base.plusDays(20000 + i % 365));
+            profissionais.add(profissional);
+        }
+        return profissionais;
+    }
+
+    /**
+     * Gera contatos distribuídos entre 1000 profissionais.
+     * @param quantidade A quantidade de contatos.
+     * @return Os contatos gerados.
+     */
+    public static List<Contato> contatos(int quantidade) {
+        List<Profissional> profissionais = profissionais(Math.min(quantidade, 1000));
+        List<Contato> contatos = new ArrayList<>(quantidade);
+        LocalDate hoje = LocalDate.of(2024, 3, 1);
+        for (int i = 0; i < quantidade; i++) {
+            contatos.add(new Contato((long) i + 1, "Contato " + i, telefone(i), hoje, profissionais.get(i % profissionais.size()), null));
+        }
+        return contatos;
+    }
+
+    /**
+     * Gera telefones, sendo um a cada dez inválido (curto, com letras ou com pontuação).
+     * @param quantidade A quantidade de telefones.
+     * @return Os telefones gerados.
+     */
+    public static String[] telefones(int quantidade) {
+        String[] telefones = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            telefones[i] = switch (i % 10) {
+                case 7 -> "1199" + i;
+                case 8 -> "(11) 9" + String.format("%08d", i % 100_000_000);
+                case 9 -> "11A" + String.format("%08d", i % 100_000_000);
+                default -> telefone(i);
+            };
+        }
+        return telefones;
+    }
+
+    private static String telefone(int i) {
+        return (i % 2 == 0 ? "119" : "11") + String.format("%08d", i % 100_000_000);
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Compara os planos das consultas de leitura com e sem os índices da migration V2. Em uma única transação,
+ * insere profissionais (uma parte inativa) e contatos, atualiza as estatísticas, executa EXPLAIN ANALYZE em
+ * cada consulta, remove os índices e repete; ao final a transação é desfeita, sem alterar o banco.
+ * Remover índices bloqueia as tabelas até o fim da execução: use apenas em um banco de desenvolvimento.
+ *
+ * Parâmetros (no formato chave=valor): url, usuario, senha, linhas (profissionais inseridos) e ativos
+ * (percentual de profissionais ativos).
+ */
+package com.cadastroprofissional.simples.carga;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PlanosConsulta {
+
+    private static final List<String> INDICES = List.of("IDX_PROFISSIONAL_ATIVO", "IDX_CONTATO_PROFISSIONAL_ID",
+            "IDX_PROFISSIONAL_NOME_DATA_NASCIMENTO", "IDX_PROFISSIONAL_DATA_NASCIMENTO", "IDX_CONTATO_CONTATO_PREFIXO",
+            "IDX_PROFISSIONAL_NOME_TRGM", "IDX_PROFISSIONAL_CARGO_TRGM", "IDX_CONTATO_NOME_TRGM");
+
+    private static final Map<String, String> CONSULTAS = new LinkedHashMap<>();
+
+    static {
+        CONSULTAS.put("Profissionais ativos por cursor",
+                "SELECT * FROM PROFISSIONAL P WHERE P.ATIVO = TRUE AND P.PROFISSIONAL_ID > 0 ORDER BY P.PROFISSIONAL_ID LIMIT 100");
+        CONSULTAS.put("Contatos de um profissional",
+                "SELECT * FROM CONTATO C WHERE C.PROFISSIONAL_ID = (SELECT MAX(PROFISSIONAL_ID) FROM PROFISSIONAL)");
+        CONSULTAS.put("Profissionais por prefixo de telefone",
+                "SELECT * FROM PROFISSIONAL P WHERE P.ATIVO = TRUE AND P.PROFISSIONAL_ID > 0 AND EXISTS (SELECT 1 FROM CONTATO C"
+                        + " WHERE C.PROFISSIONAL_ID = P.PROFISSIONAL_ID AND C.CONTATO LIKE '5500001234%') ORDER BY P.PROFISSIONAL_ID LIMIT 100");
+        CONSULTAS.put("Profissionais por texto",
+                "SELECT * FROM PROFISSIONAL P WHERE P.ATIVO = TRUE AND P.PROFISSIONAL_ID > 0 AND (LOWER(P.NOME) LIKE '%carga 12345%'"
+                        + " OR LOWER(P.CARGO) LIKE '%carga 12345%') ORDER BY P.PROFISSIONAL_ID LIMIT 100");
+        CONSULTAS.put("Contatos por texto",
+                "SELECT C.*, P.NOME FROM CONTATO C JOIN PROFISSIONAL P ON P.PROFISSIONAL_ID = C.PROFISSIONAL_ID WHERE P.ATIVO = TRUE"
+                        + " AND C.CONTATO_ID > 0 AND LOWER(C.NOME) LIKE '%contato 12345-%' ORDER BY C.CONTATO_ID LIMIT 100");
+        CONSULTAS.put("Profissionais por data de nascimento",
+                "SELECT * FROM PROFISSIONAL P WHERE P.ATIVO = TRUE AND P.DATA_NASCIMENTO = DATE '1990-01-01' + 1234 ORDER BY P.PROFISSIONAL_ID LIMIT 100");
+        CONSULTAS.put("Chave natural da importação",
+                "SELECT * FROM PROFISSIONAL P WHERE P.NOME = 'Carga 12345' AND P.DATA_NASCIMENTO = DATE '1990-01-01' + 12345 % 10000");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador > 0) {
+                parametros.put(arg.substring(0, separador), arg.substring(separador + 1));
+            }
+        }
+        String url = parametros.getOrDefault("url", "jdbc:postgresql://localhost:5432/cadastro_profissionais");
+        int linhas = Integer.parseInt(parametros.getOrDefault("linhas", "200000"));
+        int ativos = Integer.parseInt(parametros.getOrDefault("ativos", "10"));
+
+        try (Connection conexao = DriverManager.getConnection(url, parametros.getOrDefault("usuario", "postgres"),
+                parametros.getOrDefault("senha", "postgres")); Statement statement = conexao.createStatement()) {
+            conexao.setAutoCommit(false);
+            try {
+                popular(statement, linhas, ativos);
+                Map<String, String> comIndices = planos(statement);
+                for (String indice : INDICES) {
+                    statement.execute("DROP INDEX IF EXISTS " + indice);
+                }
+                statement.execute("ANALYZE PROFISSIONAL, CONTATO");
+                Map<String, String> semIndices = planos(statement);
+
+                System.out.printf("%d profissionais inseridos, %d%% ativos, 2 contatos cada%n%n", linhas, ativos);
+                for (String consulta : CONSULTAS.keySet()) {
+                    System.out.println(consulta);
+                    System.out.println("  com índices: " + comIndices.get(consulta));
+                    System.out.println("  sem índices: " + semIndices.get(consulta));
+                }
+            } finally {
+                conexao.rollback();
+            }
+        }
+    }
+
+    private static void popular(Statement statement, int linhas, int ativos) throws Exception {
+        statement.execute("CREATE TEMPORARY TABLE CARGA ON COMMIT DROP AS SELECT G AS N, G + (SELECT COALESCE(MAX(PROFISSIONAL_ID), 0)"
+                + " FROM PROFISSIONAL) AS ID FROM GENERATE_SERIES(1, " + linhas + ") G");
+        statement.execute("INSERT INTO PROFISSIONAL (PROFISSIONAL_ID, NOME, ATIVO, CARGO, DATA_NASCIMENTO, CREATED_DATE)"
+                + " SELECT ID, 'Carga ' || N, N % 100 < " + ativos + ", (ARRAY['DESENVOLVEDOR', 'DESIGNER', 'SUPORTE', 'TESTER'])[N % 4 + 1],"
+                + " DATE '1990-01-01' + N % 10000, CURRENT_DATE FROM CARGA");
+        statement.execute("INSERT INTO CONTATO (CONTATO_ID, NOME, CONTATO, CREATED_DATE, PROFISSIONAL_ID)"
+                + " SELECT 2 * N + T + (SELECT COALESCE(MAX(CONTATO_ID), 0) FROM CONTATO), 'Contato ' || N || '-' || T,"
+                + " '55' || LPAD(N::TEXT, 9, '0') || T, CURRENT_DATE, ID FROM CARGA, GENERATE_SERIES(0, 1) T");
+        statement.execute("ANALYZE PROFISSIONAL, CONTATO");
+    }
+
+    private static Map<String, String> planos(Statement statement) throws Exception {
+        Map<String, String> planos = new LinkedHashMap<>();
+        for (Map.Entry<String, String> consulta : CONSULTAS.entrySet()) {
+            List<String> acessos = new ArrayList<>();
+            String tempo = "";
+            try (ResultSet resultado = statement.executeQuery("EXPLAIN (ANALYZE, COSTS OFF) " + consulta.getValue())) {
+                while (resultado.next()) {
+                    String linha = resultado.getString(1).trim().replaceFirst("^-> *", "");
+                    if (linha.contains("Scan ")) {
+                        acessos.add(linha.replaceAll(" \\(actual.*", ""));
+                    } else if (linha.startsWith("Execution Time")) {
+                        tempo = linha.substring(linha.indexOf(':') + 1).trim();
+                    }
+                }
+            }
+            planos.put(consulta.getKey(), tempo + " | " + String.join("; ", acessos));
+        }
+        return planos;
+    }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Teste de carga simples para comparar a aplicação com e sem o profile "virtual" nos endpoints existentes.
+ * Para cada nível de concorrência, mantém esse número de requisições simultâneas durante o tempo informado,
+ * em ciclo pelos caminhos informados, e reporta vazão, latências p50/p99/máxima e erros.
+ *
+ * Parâmetros (no formato chave=valor): url, caminhos (separados por ;), concorrencias (separadas por ;),
+ * segundos e timeout (em segundos, por requisição).
+ */
+package com.cadastroprofissional.simples.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TesteCarga {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador > 0) {
+                parametros.put(arg.substring(0, separador), arg.substring(separador + 1));
+            }
+        }
+        String url = parametros.getOrDefault("url", "http://localhost:8080");
+        String[] caminhos = parametros.getOrDefault("caminhos", "/profissional?limit=100;/contato?limit=100;/profissional/1").split(";");
+        int[] concorrencias = Arrays.stream(parametros.getOrDefault("concorrencias", "50;200;800;2000").split(";")).mapToInt(Integer::parseInt).toArray();
+        int segundos = Integer.parseInt(parametros.getOrDefault("segundos", "20"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(parametros.getOrDefault("timeout", "10")));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(timeout).build();
+        List<HttpRequest> requisicoes = new ArrayList<>();
+        for (String caminho : caminhos) {
+            requisicoes.add(HttpRequest.newBuilder(URI.create(url + caminho)).timeout(timeout).GET().build());
+        }
+
+        System.out.printf("%-12s %10s %10s %10s %10s %8s%n", "concorrência", "req/s", "p50 (ms)", "p99 (ms)", "máx (ms)", "erros");
+        int maiorSemErros = 0;
+        for (int concorrencia : concorrencias) {
+            Resultado resultado = executar(cliente, requisicoes, concorrencia, segundos);
+            System.out.printf("%-12d %10.0f %10.1f %10.1f %10.1f %8d%n", concorrencia, resultado.vazao(segundos),
+                    resultado.percentil(50), resultado.percentil(99), resultado.percentil(100), resultado.erros);
+            if (resultado.erros == 0) {
+                maiorSemErros = concorrencia;
+            }
+        }
+        System.out.printf("Maior concorrência sem erros: %d%n", maiorSemErros);
+    }
+
+    private static Resultado executar(HttpClient cliente, List<HttpRequest> requisicoes, int concorrencia, int segundos) throws Exception {
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+        List<Future<Resultado>> futuros = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            int inicio = i;
+            futuros.add(executor.submit(() -> {
+                Resultado parcial = new Resultado();
+                for (int n = inicio; System.nanoTime() < fim; n++) {
+                    long antes = System.nanoTime();
+                    try {
+                        HttpResponse<Void> resposta = cliente.send(requisicoes.get(n % requisicoes.size()), HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() >= 400) {
+                            parcial.erros++;
+                        }
+                    } catch (Exception ex) {
+                        parcial.erros++;
+                    }
+                    parcial.registrar(System.nanoTime() - antes);
+                }
+                return parcial;
+            }));
+        }
+
+        Resultado total = new Resultado();
+        for (Future<Resultado> futuro : futuros) {
+            total.somar(futuro.get());
+        }
+        executor.shutdown();
+        return total;
+    }
+
+    /**
+     * Latências em nanossegundos e erros de um conjunto de requisições.
+     */
+    private static final class Resultado {
+
+        private long[] latencias = new long[1024];
+
+        private int quantidade;
+
+        private int erros;
+
+        void registrar(long latencia) {
+            if (this.quantidade == this.latencias.length) {
+                this.latencias = Arrays.copyOf(this.latencias, this.quantidade * 2);
+            }
+            this.latencias[this.quantidade++] = latencia;
+        }
+
+        void somar(Resultado outro) {
+            for (int i = 0; i < outro.quantidade; i++) {
+                this.registrar(outro.latencias[i]);
+            }
+            this.erros += outro.erros;
+        }
+
+        double vazao(int segundos) {
+            return (double) this.quantidade / segundos;
+        }
+
+        double percentil(int percentil) {
+            if (this.quantidade == 0) {
+                return 0;
+            }
+            long[] ordenadas = Arrays.copyOf(this.latencias, this.quantidade);
+            Arrays.sort(ordenadas);
+            int indice = Math.min(this.quantidade - 1, (int) Math.ceil(percentil / 100.0 * this.quantidade) - 1);
+            return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Compara a vazão de inserção e listagem dos repositórios de profissionais e contatos entre profiles, por padrão o
+ * padrão e o "prod". Para cada profile sobe o contexto sem servidor web e, em transações que são desfeitas ao final,
+ * grava profissionais e contatos com saveAll/flush e lista tudo com findByAnyColumn, reportando linhas por segundo
+ * da melhor de várias repetições. As sequências avançam, mas nenhuma linha permanece no banco.
+ *
+ * Parâmetros (no formato chave=valor): perfis (separados por ;, "default" para nenhum), linhas (profissionais por
+ * repetição, com dois contatos cada) e repeticoes.
+ */
+package com.cadastroprofissional.simples.carga;
+
+import com.cadastroprofissional.simples.CadastroProfissionalSimplesDentalApplication;
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.repository.ContatoRepository;
+import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class VazaoRepositorio {
+
+    private static final String[] OPERACOES = {"insert profissionais", "insert contatos", "listagem profissionais", "listagem contatos"};
+
+    public static void main(String[] args) {
+        // O devtools está no classpath de teste e reiniciaria o main sem os parâmetros
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador > 0) {
+                parametros.put(arg.substring(0, separador), arg.substring(separador + 1));
+            }
+        }
+        String[] perfis = parametros.getOrDefault("perfis", "default;prod").split(";");
+        int linhas = Integer.parseInt(parametros.getOrDefault("linhas", "20000"));
+        int repeticoes = Integer.parseInt(parametros.getOrDefault("repeticoes", "5"));
+
+        Map<String, double[]> resultados = new HashMap<>();
+        for (String perfil : perfis) {
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(CadastroProfissionalSimplesDentalApplication.class)
+                    .web(WebApplicationType.NONE).logStartupInfo(false);
+            if (!"default".equals(perfil)) {
+                builder.profiles(perfil);
+            }
+            try (ConfigurableApplicationContext contexto = builder.run()) {
+                resultados.put(perfil, medir(contexto, linhas, repeticoes));
+            }
+        }
+
+        System.out.printf("%n%d profissionais e %d contatos por repetição, melhor de %d (linhas/s)%n", linhas, 2 * linhas, repeticoes);
+        System.out.printf("%-24s", "operação");
+        for (String perfil : perfis) {
+            System.out.printf(" %12s", perfil);
+        }
+        System.out.println();
+        for (int i = 0; i < OPERACOES.length; i++) {
+            System.out.printf("%-24s", OPERACOES[i]);
+            for (String perfil : perfis) {
+                System.out.printf(" %12.0f", resultados.get(perfil)[i]);
+            }
+            System.out.println();
+        }
+    }
+
+    private static double[] medir(ConfigurableApplicationContext contexto, int linhas, int repeticoes) {
+        ProfissionalRepository profissionalRepository = contexto.getBean(ProfissionalRepository.class);
+        ContatoRepository contatoRepository = contexto.getBean(ContatoRepository.class);
+        EntityManager entityManager = contexto.getBean(EntityManager.class);
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        double[] melhores = new double[OPERACOES.length];
+        // A primeira repetição só aquece o JIT, o pool e o cache de statements
+        for (int repeticao = 0; repeticao <= repeticoes; repeticao++) {
+            String prefixo = String.format("%02d%04d", repeticao, System.nanoTime() % 10000);
+            double[] vazoes = transacao.execute(status -> {
+                status.setRollbackOnly();
+                List<Profissional> profissionais = new ArrayList<>(linhas);
+                List<Contato> contatos = new ArrayList<>(2 * linhas);
+                for (int i = 0; i < linhas; i++) {
+                    Profissional profissional = new Profissional();
+                    profissional.setNome("Carga " + i);
+                    profissional.setCargo(CargoEnum.values()[i % CargoEnum.values().length]);
+                    profissional.setDataNascimento(LocalDate.of(1990, 1, 1).plusDays(i % 10000));
+                    profissional.setCreatedDate(LocalDate.now());
+                    profissionais.add(profissional);
+                    for (int j = 0; j < 2; j++) {
+                        contatos.add(new Contato(null, "Contato " + i + j, prefixo + String.format("%06d", i) + j, LocalDate.now(), profissional, null));
+                    }
+                }
+
+                double[] parcial = new double[OPERACOES.length];
+                long inicio = System.nanoTime();
+                profissionalRepository.saveAll(profissionais);
+                entityManager.flush();
+                parcial[0] = vazao(linhas, inicio);
+
+                inicio = System.nanoTime();
+                contatoRepository.saveAll(contatos);
+                entityManager.flush();
+                parcial[1] = vazao(2 * linhas, inicio);
+                entityManager.clear();
+
+                inicio = System.nanoTime();
+                parcial[2] = vazao(profissionalRepository.findByAnyColumn(null, null).size(), inicio);
+                inicio = System.nanoTime();
+                parcial[3] = vazao(contatoRepository.findByAnyColumn(null, null).size(), inicio);
+                return parcial;
+            });
+            for (int i = 0; repeticao > 0 && i < melhores.length; i++) {
+                melhores[i] = Math.max(melhores[i], vazoes[i]);
+            }
+        }
+        return melhores;
+    }
+
+    private static double vazao(int linhas, long inicio) {
+        return linhas / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Mede a conversão das entidades em DTOs, usada nas buscas por ID e nas respostas de criação e atualização.
+ */
+package com.cadastroprofissional.simples.model;
+
+import com.cadastroprofissional.simples.DadosBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int linhas;
+
+    private List<Contato> contatos;
+
+    private List<Profissional> profissionais;
+
+    @Setup
+    public void setUp() {
+        this.contatos = DadosBenchmark.contatos(this.linhas);
+        this.profissionais = DadosBenchmark.profissionais(this.linhas);
+    }
+
+    @Benchmark
+    public void contatoToDto(Blackhole blackhole) {
+        for (Contato contato : this.contatos) {
+            blackhole.consume(contato.toDto());
+        }
+    }
+
+    @Benchmark
+    public void profissionalToDTO(Blackhole blackhole) {
+        for (Profissional profissional : this.profissionais) {
+            blackhole.consume(profissional.toDTO());
+        }
+    }
+
+}
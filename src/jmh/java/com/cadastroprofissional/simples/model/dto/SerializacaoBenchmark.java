@@ -0,0 +1,129 @@
+/**
+ * Mede a serialização das listas de DTOs devolvidas pelas listagens em cada formato aceito pela API (JSON, Smile, CBOR e
+ * Protobuf), com e sem gzip, pelos mesmos conversores e com o mesmo ObjectMapper configurados pelo Spring.
+ * O tamanho de cada resposta, em bytes enviados, é impresso no setup de cada combinação.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import com.cadastroprofissional.simples.DadosBenchmark;
+import com.cadastroprofissional.simples.config.FormatosConfig;
+import com.cadastroprofissional.simples.config.ListagemProtobufHttpMessageConverter;
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private static final Type TIPO_CONTATOS = ResolvableType.forClassWithGenerics(List.class, ContatoDTO.class).getType();
+
+    private static final Type TIPO_PROFISSIONAIS = ResolvableType.forClassWithGenerics(List.class, ProfissionalDTO.class).getType();
+
+    @Param({"1000", "100000", "1000000"})
+    private int linhas;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String formato;
+
+    @Param({"nenhuma", "gzip"})
+    private String compressao;
+
+    private GenericHttpMessageConverter<Object> conversor;
+
+    private List<ContatoDTO> contatos;
+
+    private List<ProfissionalDTO> profissionais;
+
+    @Setup
+    public void setUp() throws IOException {
+        FormatosConfig config = new FormatosConfig(Jackson2ObjectMapperBuilder.json());
+        this.conversor = switch (this.formato) {
+            case "smile" -> config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+            case "cbor" -> config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+            case "protobuf" -> new ListagemProtobufHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+            default -> new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        };
+        this.contatos = DadosBenchmark.contatos(this.linhas).stream().map(Contato::toDto).collect(Collectors.toList());
+        this.profissionais = DadosBenchmark.profissionais(this.linhas).stream().map(Profissional::toDTO).collect(Collectors.toList());
+
+        ContadorBytes contatos = new ContadorBytes();
+        this.escrever(this.contatos, TIPO_CONTATOS, contatos);
+        ContadorBytes profissionais = new ContadorBytes();
+        this.escrever(this.profissionais, TIPO_PROFISSIONAIS, profissionais);
+        System.out.printf("%n%s/%s, %d linhas: contatos %d bytes, profissionais %d bytes%n",
+                this.formato, this.compressao, this.linhas, contatos.bytes, profissionais.bytes);
+    }
+
+    @Benchmark
+    public void serializarContatos() throws IOException {
+        this.escrever(this.contatos, TIPO_CONTATOS, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void serializarProfissionais() throws IOException {
+        this.escrever(this.profissionais, TIPO_PROFISSIONAIS, OutputStream.nullOutputStream());
+    }
+
+    private void escrever(List<?> lista, Type tipo, OutputStream saida) throws IOException {
+        OutputStream corpo = "gzip".equals(this.compressao) ? new GZIPOutputStream(saida, 8192) : saida;
+        HttpHeaders headers = new HttpHeaders();
+        this.conversor.write(lista, tipo, null, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return corpo;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        corpo.close();
+    }
+
+    private static class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            this.bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.bytes += len;
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Mede a conversão das linhas das listagens em DTOs de acordo com o parâmetro "fields", sem acesso ao banco:
+ * as linhas são tuplas em memória no mesmo formato das consultas montadas por {@link ProjecaoJpql}.
+ */
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.DadosBenchmark;
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjecaoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int linhas;
+
+    /** Campo solicitado no parâmetro "fields"; "todos" não informa o parâmetro, selecionando todos os campos. */
+    @Param({"todos", "nome"})
+    private String fields;
+
+    private List<String> camposContato;
+
+    private List<String> camposProfissional;
+
+    private List<Tuple> tuplasContato;
+
+    private List<Tuple> tuplasProfissional;
+
+    @Setup
+    public void setUp() {
+        List<String> solicitados = "todos".equals(this.fields) ? null : List.of(this.fields);
+        this.camposContato = ContatoRepositoryCustomImpl.PROJECAO.selecionar(solicitados);
+        this.camposProfissional = ProfissionalRepositoryCustomImpl.PROJECAO.selecionar(solicitados);
+
+        this.tuplasContato = tuplas(DadosBenchmark.contatos(this.linhas), this.camposContato, (Contato c) -> new Object[]{
+                c.getId(), c.getNome(), c.getContato(), c.getCreatedDate(), c.getProfissional().getNome()},
+                List.of("id", "nome", "contato", "createdDate", "profissional"));
+        this.tuplasProfissional = tuplas(DadosBenchmark.profissionais(this.linhas), this.camposProfissional, (Profissional p) -> new Object[]{
+                p.getId(), p.getNome(), p.isAtivo(), p.getCargo(), p.getDataNascimento(), p.getCreatedDate()},
+                List.of("id", "nome", "ativo", "cargo", "dataNascimento", "createdDate"));
+    }
+
+    @Benchmark
+    public void converterContatos(Blackhole blackhole) {
+        for (Tuple tupla : this.tuplasContato) {
+            blackhole.consume(ContatoRepositoryCustomImpl.PROJECAO.converter(tupla, this.camposContato));
+        }
+    }
+
+    @Benchmark
+    public void converterProfissionais(Blackhole blackhole) {
+        for (Tuple tupla : this.tuplasProfissional) {
+            blackhole.consume(ProfissionalRepositoryCustomImpl.PROJECAO.converter(tupla, this.camposProfissional));
+        }
+    }
+
+    /**
+     * Monta as tuplas com o ID na primeira coluna seguido dos campos selecionados, como no SELECT da projeção.
+     */
+    private static <E> List<Tuple> tuplas(List<E> entidades, List<String> campos, Function<E, Object[]> valores, List<String> ordem) {
+        List<Tuple> tuplas = new ArrayList<>(entidades.size());
+        for (E entidade : entidades) {
+            Object[] todos = valores.apply(entidade);
+            Object[] linha = new Object[campos.size() + 1];
+            linha[0] = todos[0];
+            for (int i = 0; i < campos.size(); i++) {
+                linha[i + 1] = todos[ordem.indexOf(campos.get(i))];
+            }
+            tuplas.add(new TuplaArray(linha));
+        }
+        return tuplas;
+    }
+
+    /**
+     * Tupla somente leitura baseada em array, com acesso por posição.
+     */
+    private record TuplaArray(Object[] valores) implements Tuple {
+
+        @Override
+        public <X> X get(TupleElement<X> elemento) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <X> X get(String alias, Class<X> tipo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object get(String alias) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <X> X get(int i, Class<X> tipo) {
+            return tipo.cast(this.valores[i]);
+        }
+
+        @Override
+        public Object get(int i) {
+            return this.valores[i];
+        }
+
+        @Override
+        public Object[] toArray() {
+            return this.valores.clone();
+        }
+
+        @Override
+        public List<TupleElement<?>> getElements() {
+            return List.of();
+        }
+
+    }
+
+}
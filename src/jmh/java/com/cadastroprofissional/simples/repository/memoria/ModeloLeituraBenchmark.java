@@ -0,0 +1,182 @@
+/**
+ * Compara a latência das leituras atendidas pelo modelo de leitura em memória com as mesmas leituras pelo JPA, no
+ * PostgreSQL configurado em application.yml. Sobe o contexto sem servidor web, grava profissionais com dois contatos
+ * cada, recarrega o modelo em memória e apaga os registros gravados ao final.
+ * "Jpa" consulta o banco em uma transação somente leitura; "Cache" é a busca do profissional pelo serviço, servida
+ * pelo Caffeine após a primeira leitura de cada ID. O log das métricas de cada sessão do Hibernate é desligado, para
+ * que a escrita no console não entre na medida.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import com.cadastroprofissional.simples.CadastroProfissionalSimplesDentalApplication;
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.repository.ContatoRepository;
+import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.service.ContatoService;
+import com.cadastroprofissional.simples.service.ProfissionalService;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModeloLeituraBenchmark {
+
+    @Param({"10000"})
+    private int linhas;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ProfissionalService profissionalService;
+
+    private ContatoService contatoService;
+
+    private ProfissionalRepository profissionalRepository;
+
+    private ContatoRepository contatoRepository;
+
+    private ModeloLeituraMemoria modelo;
+
+    private TransactionTemplate leitura;
+
+    private long[] profissionais;
+
+    private long[] contatos;
+
+    private int proximo;
+
+    @Setup
+    public void setUp() {
+        // O devtools está no classpath de teste e reiniciaria o contexto
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        this.contexto = new SpringApplicationBuilder(CadastroProfissionalSimplesDentalApplication.class)
+                .web(WebApplicationType.NONE).logStartupInfo(false)
+                .properties("cadastro.modelo-leitura.memoria=true",
+                        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn").run();
+        this.profissionalService = this.contexto.getBean(ProfissionalService.class);
+        this.contatoService = this.contexto.getBean(ContatoService.class);
+        this.profissionalRepository = this.contexto.getBean(ProfissionalRepository.class);
+        this.contatoRepository = this.contexto.getBean(ContatoRepository.class);
+        this.modelo = this.contexto.getBean(ModeloLeituraMemoria.class);
+        PlatformTransactionManager transactionManager = this.contexto.getBean(PlatformTransactionManager.class);
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+
+        String prefixo = String.format("9%03d", System.nanoTime() % 1000);
+        List<Profissional> novosProfissionais = new ArrayList<>(this.linhas);
+        List<Contato> novosContatos = new ArrayList<>(2 * this.linhas);
+        for (int i = 0; i < this.linhas; i++) {
+            Profissional profissional = new Profissional();
+            profissional.setNome("Benchmark " + i);
+            profissional.setCargo(CargoEnum.values()[i % CargoEnum.values().length]);
+            profissional.setDataNascimento(LocalDate.of(1980, 1, 1).plusDays(i % 10000));
+            profissional.setCreatedDate(LocalDate.now());
+            novosProfissionais.add(profissional);
+            for (int j = 0; j < 2; j++) {
+                novosContatos.add(new Contato(null, "Contato " + i + j, prefixo + String.format("%06d", i) + j, LocalDate.now(), profissional, null));
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            this.profissionalRepository.saveAll(novosProfissionais);
+            this.contatoRepository.saveAll(novosContatos);
+        });
+        this.profissionais = novosProfissionais.stream().mapToLong(Profissional::getId).toArray();
+        this.contatos = novosContatos.stream().mapToLong(Contato::getId).toArray();
+        this.modelo.afterSingletonsInstantiated();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.contatoRepository.deleteAllByIdInBatch(this.ids(this.contatos));
+        this.profissionalRepository.deleteAllByIdInBatch(this.ids(this.profissionais));
+        this.contexto.close();
+    }
+
+    @Benchmark
+    public Object profissionalJpa() {
+        long id = this.profissionais[this.indice(this.profissionais.length)];
+        return this.leitura.execute(status -> this.profissionalRepository.findProfissionalByIdAndAtivoIsTrue(id).orElseThrow().toDTO());
+    }
+
+    @Benchmark
+    public Object profissionalCache() {
+        return this.profissionalService.findProfissionalById(this.profissionais[this.indice(this.profissionais.length)]).toDTO();
+    }
+
+    @Benchmark
+    public Object profissionalMemoria() {
+        return this.profissionalService.findProfissionalEmMemoria(this.profissionais[this.indice(this.profissionais.length)]).orElseThrow();
+    }
+
+    @Benchmark
+    public Object contatoJpa() {
+        return this.contatoService.findContatoById(this.contatos[this.indice(this.contatos.length)]).toDto();
+    }
+
+    @Benchmark
+    public Object contatoMemoria() {
+        return this.contatoService.findContatoEmMemoria(this.contatos[this.indice(this.contatos.length)]).orElseThrow();
+    }
+
+    @Benchmark
+    public Object paginaContatosJpa() {
+        return this.contatoService.findAllContatos(null, null, this.contatos[this.indice(this.contatos.length)], 50);
+    }
+
+    @Benchmark
+    public Object paginaContatosMemoria() {
+        return this.contatoService.findAllContatosEmMemoria(null, null, this.contatos[this.indice(this.contatos.length)], 50).orElseThrow();
+    }
+
+    @Benchmark
+    public Object versaoContatosJpa() {
+        return this.contatoService.findVersaoContatos();
+    }
+
+    @Benchmark
+    public Object versaoContatosMemoria() {
+        return this.contatoService.findVersaoContatosEmMemoria().orElseThrow();
+    }
+
+    /**
+     * Percorre os IDs em passos grandes, para que as leituras não fiquem sempre nas mesmas páginas do banco ou do cache da CPU.
+     */
+    private int indice(int tamanho) {
+        this.proximo = (this.proximo + 7919) % tamanho;
+        return this.proximo;
+    }
+
+    private List<Long> ids(long[] ids) {
+        List<Long> lista = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            lista.add(id);
+        }
+        return lista;
+    }
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Mede a validação e a normalização de telefones usadas em cada criação de contato e nas importações em lote.
+ */
+package com.cadastroprofissional.simples.service;
+
+import com.cadastroprofissional.simples.DadosBenchmark;
+import com.cadastroprofissional.simples.util.TelefoneUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelefoneBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int linhas;
+
+    private String[] telefones;
+
+    @Setup
+    public void setUp() {
+        this.telefones = DadosBenchmark.telefones(this.linhas);
+    }
+
+    @Benchmark
+    public int validarTelefone() {
+        int validos = 0;
+        for (String telefone : this.telefones) {
+            if (ContatoService.validarTelefone(telefone)) {
+                validos++;
+            }
+        }
+        return validos;
+    }
+
+    @Benchmark
+    public void normalizar(Blackhole blackhole) {
+        for (String telefone : this.telefones) {
+            blackhole.consume(TelefoneUtil.normalizar(telefone));
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Configuração do feed de alterações ({@code GET /alteracoes}), em {@code cadastro.alteracoes}.
+ */
+package com.cadastroprofissional.simples.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "cadastro.alteracoes")
+public class AlteracoesProperties {
+
+    /**
+     * O intervalo entre as leituras do registro de alterações; é também o atraso máximo de publicação sem lacunas.
+     */
+    private Duration intervalo = Duration.ofMillis(500);
+
+    /**
+     * O tempo mínimo que uma lacuna na sequência é aguardada antes de ser ignorada. Uma lacuna é uma transação ainda não
+     * confirmada que obteve sua sequência antes de outra já confirmada, ou uma transação desfeita. Passado esse tempo, a
+     * lacuna só é ignorada quando as transações de escrita abertas no momento em que ela foi encontrada terminaram.
+     */
+    private Duration esperaLacuna = Duration.ofSeconds(5);
+
+    /**
+     * O tempo máximo que uma lacuna é aguardada, mesmo que alguma transação aberta quando ela foi encontrada continue
+     * aberta, para que uma sessão esquecida com transação aberta não pare o feed.
+     */
+    private Duration esperaLacunaMaxima = Duration.ofMinutes(10);
+
+    /**
+     * A quantidade máxima de eventos aguardando envio a uma conexão. Uma conexão que não acompanha as alterações é
+     * encerrada ao passar disso, e o cliente se reconecta a partir do último evento recebido.
+     */
+    private int tamanhoFila = 1000;
+
+    /**
+     * Por quanto tempo as alterações ficam no banco e podem ser retomadas por quem se reconecta.
+     */
+    private Duration retencao = Duration.ofDays(7);
+
+    /**
+     * A duração máxima de uma conexão do feed; ao final o cliente se reconecta informando o último evento recebido.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+}
@@ -0,0 +1,31 @@
+/**
+ * Habilita o cache e as transações declarativas com ordem explícita entre os dois interceptadores. O de cache envolve
+ * o de transação, então o {@code @CacheEvict} de um método transacional só remove a entrada depois do commit: se a
+ * remoção viesse antes, toda leitura feita entre a remoção e o commit guardaria de volta no cache a linha anterior.
+ * Uma janela menor continua existindo: uma leitura que lê a linha antes do commit e só a guarda depois da remoção deixa
+ * a versão anterior no cache até expirar. Por isso o cache serve apenas leituras, e as validações de escrita consultam
+ * o banco.
+ */
+package com.cadastroprofissional.simples.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+@Configuration
+@EnableCaching(order = CacheConfig.ORDEM_CACHE)
+@EnableTransactionManagement(order = CacheConfig.ORDEM_TRANSACAO)
+public class CacheConfig {
+
+    /**
+     * A ordem do interceptador de transação, a mesma que ele teria por padrão.
+     */
+    static final int ORDEM_TRANSACAO = Ordered.LOWEST_PRECEDENCE;
+
+    /**
+     * A ordem do interceptador de cache, que o coloca por fora do de transação.
+     */
+    static final int ORDEM_CACHE = ORDEM_TRANSACAO - 1;
+
+}
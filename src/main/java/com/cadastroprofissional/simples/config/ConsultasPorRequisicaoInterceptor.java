@@ -0,0 +1,50 @@
+/**
+ * Registra na métrica {@value MetricasUtil#METRICA_CONSULTAS_REQUISICAO} quantos statements SQL cada requisição executou
+ * na thread que a atendeu. O corpo das respostas em streaming é escrito em outra thread e não entra na contagem.
+ */
+package com.cadastroprofissional.simples.config;
+
+import com.cadastroprofissional.simples.util.MetricasUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@AllArgsConstructor
+public class ConsultasPorRequisicaoInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorConsultasSql.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorConsultasSql.encerrar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int consultas = ContadorConsultasSql.encerrar();
+        if (consultas < 0) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(MetricasUtil.METRICA_CONSULTAS_REQUISICAO)
+                .description("Statements SQL executados por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000.0)
+                .register(this.registry)
+                .record(consultas);
+    }
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Conta os statements SQL preparados pelo Hibernate na thread atual, para medir quantas consultas cada requisição executa.
+ * É registrado como statement inspector do Hibernate e não altera o SQL; fora de uma contagem iniciada não faz nada.
+ */
+package com.cadastroprofissional.simples.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class ContadorConsultasSql implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    /**
+     * Inicia a contagem na thread atual, descartando uma contagem anterior não encerrada.
+     */
+    static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    /**
+     * Encerra a contagem na thread atual.
+     * @return A quantidade de statements preparados desde {@link #iniciar()}, ou -1 se não houver contagem iniciada.
+     */
+    static int encerrar() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? -1 : contador[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Formatos binários das respostas da API bloqueante, escolhidos pelo header Accept: Smile
+ * ({@code application/x-jackson-smile}), CBOR ({@code application/cbor}) e, nas listagens, Protobuf
+ * ({@value ListagemProtobufHttpMessageConverter#MEDIA_TYPE}). Sem Accept, ou com {@code application/json}, a resposta
+ * continua em JSON. Todos os formatos usam o ObjectMapper configurado pelo Spring Boot, então os DTOs têm os mesmos
+ * campos em qualquer formato.
+ */
+package com.cadastroprofissional.simples.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@Profile("!reactive")
+@AllArgsConstructor
+public class FormatosConfig implements WebMvcConfigurer {
+
+    /**
+     * Builder próprio desta configuração, usado pelo conversor de Protobuf.
+     */
+    private final Jackson2ObjectMapperBuilder builder;
+
+    /**
+     * O builder é um bean prototype do Spring Boot: cada conversor recebe o seu, com os módulos e as configurações de
+     * {@code spring.jackson}. Os conversores de Smile e CBOR substituem os padrões do Spring MVC na mesma posição, depois
+     * do JSON.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * O conversor de Protobuf entra no fim da lista, e não como bean: o Spring Boot coloca os conversores declarados
+     * como bean antes do JSON, e com {@code Accept: *}{@code /*} o primeiro conversor capaz de escrever a resposta é o
+     * escolhido.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ListagemProtobufHttpMessageConverter(this.builder));
+    }
+
+    /**
+     * A mesma URL tem uma representação por formato, e o ETag não depende do formato: o {@code Vary: Accept} faz com que
+     * caches guardem cada formato separadamente, para que um 304 nunca valide o corpo de outro formato.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VaryAcceptInterceptor());
+    }
+
+    static class VaryAcceptInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Escreve as listagens de profissionais e contatos em Protobuf ({@value #MEDIA_TYPE}), com as mensagens de
+ * {@value #SCHEMA}. A lista é enviada como uma única mensagem {@code Profissionais} ou {@code Contatos}, cujo campo
+ * repetido {@code itens} contém os DTOs serializados pelo Jackson, sem classes geradas pelo protoc.
+ */
+package com.cadastroprofissional.simples.config;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+public class ListagemProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    public static final String SCHEMA = "proto/listagens.proto";
+
+    private final Map<Class<?>, ObjectWriter> writers;
+
+    /**
+     * @param builder O builder do ObjectMapper da aplicação, para que os DTOs sejam serializados com as mesmas regras do JSON.
+     */
+    public ListagemProtobufHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(MediaType.parseMediaType(MEDIA_TYPE));
+        ObjectMapper mapper = builder.factory(new ProtobufFactory()).build();
+        NativeProtobufSchema schema = carregarSchema();
+        this.writers = Map.of(
+                ProfissionalDTO.class, mapper.writer(schema.forType("Profissionais")),
+                ContatoDTO.class, mapper.writer(schema.forType("Contatos")));
+    }
+
+    private static NativeProtobufSchema carregarSchema() {
+        try (InputStream proto = new ClassPathResource(SCHEMA).getInputStream()) {
+            return ProtobufSchemaLoader.std.loadNative(proto, true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @param type O tipo declarado no controller, por exemplo {@code List<ContatoDTO>}.
+     * @return O writer da mensagem que representa a lista, ou null se o tipo não for uma listagem conhecida.
+     */
+    private ObjectWriter writer(Type type) {
+        ResolvableType tipo = ResolvableType.forType(type);
+        if (!List.class.isAssignableFrom(tipo.toClass())) {
+            return null;
+        }
+        return this.writers.get(tipo.asCollection().resolveGeneric(0));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return type != null && this.writer(type) != null && this.canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object lista, Type type, HttpOutputMessage outputMessage) throws IOException {
+        this.writer(type).writeValue(outputMessage.getBody(), Map.of("itens", lista));
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf é aceito apenas nas respostas das listagens", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf é aceito apenas nas respostas das listagens", inputMessage);
+    }
+
+}
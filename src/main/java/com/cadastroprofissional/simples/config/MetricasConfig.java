@@ -0,0 +1,38 @@
+/**
+ * Configura as métricas da API bloqueante que não são coletadas automaticamente pelo Actuator:
+ * a contagem de statements SQL por requisição.
+ */
+package com.cadastroprofissional.simples.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("!reactive")
+@AllArgsConstructor
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Registra o {@link ContadorConsultasSql} como statement inspector do Hibernate.
+     * @return O customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasSql() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorConsultasSql());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConsultasPorRequisicaoInterceptor(this.meterRegistry));
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Substitui o DataSource do Spring Boot pelo {@link RoteamentoDataSource} quando há réplicas de leitura configuradas em
+ * {@code cadastro.datasource.replicas}. O primário usa {@code spring.datasource}; todos os pools, inclusive os das
+ * réplicas, recebem as mesmas configurações de {@code spring.datasource.hikari} e publicam métricas hikaricp_*.
+ */
+package com.cadastroprofissional.simples.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "cadastro.datasource.replicas[0]", name = "url")
+@EnableConfigurationProperties({ReplicasProperties.class, DataSourceProperties.class})
+public class ReplicasConfig {
+
+    /**
+     * Cria o DataSource com roteamento entre primário e réplicas.
+     * @return O DataSource usado pelo JPA e pelo Flyway; fora de uma transação somente leitura, sempre o primário.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties propriedades, ReplicasProperties replicas, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        String nomePool = Binder.get(environment).bind("spring.datasource.hikari.pool-name", String.class).orElse("cadastro");
+        HikariDataSource primario = pool(environment, meterRegistry, nomePool, propriedades.determineUrl(),
+                propriedades.determineUsername(), propriedades.determinePassword());
+
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        List<ReplicasProperties.Replica> configuradas = replicas.getReplicas();
+        for (int i = 0; i < configuradas.size(); i++) {
+            ReplicasProperties.Replica replica = configuradas.get(i);
+            String nome = nomePool + "-replica-" + (i + 1);
+            HikariDataSource pool = pool(environment, meterRegistry, nome, replica.getUrl(), replica.getUsername(), replica.getPassword());
+            pool.setReadOnly(true);
+            // Uma réplica fora do ar não impede a subida; a verificação periódica a mantém fora do rodízio
+            pool.setInitializationFailTimeout(-1);
+            pools.put(nome, pool);
+        }
+
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, pools, replicas.getAtrasoMaximo(), replicas.getIntervaloVerificacao());
+        roteamento.afterPropertiesSet();
+        return new RoteamentoProxy(roteamento);
+    }
+
+    private static HikariDataSource pool(Environment environment, ObjectProvider<MeterRegistry> meterRegistry, String nome,
+                                         String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(nome);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        return pool;
+    }
+
+    /**
+     * Adia a obtenção da conexão física até o primeiro statement, quando a transação já foi marcada como somente leitura,
+     * e fecha os pools quando o contexto é encerrado.
+     */
+    static class RoteamentoProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final RoteamentoDataSource roteamento;
+
+        RoteamentoProxy(RoteamentoDataSource roteamento) {
+            super(roteamento);
+            this.roteamento = roteamento;
+        }
+
+        @Override
+        public void close() throws Exception {
+            this.roteamento.close();
+        }
+
+    }
+
+}
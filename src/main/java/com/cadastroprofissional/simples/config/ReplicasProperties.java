@@ -0,0 +1,44 @@
+/**
+ * Réplicas de leitura do PostgreSQL, configuradas em {@code cadastro.datasource}. Sem réplicas, todo o tráfego vai para o
+ * banco configurado em {@code spring.datasource}.
+ */
+package com.cadastroprofissional.simples.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "cadastro.datasource")
+public class ReplicasProperties {
+
+    /**
+     * As réplicas que atendem as transações somente leitura.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * O atraso de replicação acima do qual uma réplica deixa de receber leituras até alcançar o primário.
+     */
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+    /**
+     * O intervalo entre as verificações de disponibilidade e atraso das réplicas.
+     */
+    private Duration intervaloVerificacao = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+    }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Encaminha as transações somente leitura ({@code @Transactional(readOnly = true)}) para as réplicas de leitura, em
+ * rodízio, e todo o resto para o primário. As réplicas são verificadas periodicamente: uma réplica que não responde
+ * ou cujo atraso de replicação passa do máximo deixa de receber leituras, que voltam ao primário até ela se recuperar.
+ * Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, pois a conexão
+ * precisa ser obtida depois que a transação foi marcada como somente leitura.
+ */
+package com.cadastroprofissional.simples.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARIO = "primario";
+
+    /**
+     * Atraso de replicação em segundos; zero quando a réplica já aplicou tudo o que recebeu, pois o horário da última
+     * transação aplicada fica parado enquanto o primário não recebe escritas.
+     */
+    private static final String SQL_ATRASO = "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primario;
+
+    private final Map<String, DataSource> replicas;
+
+    private final Duration atrasoMaximo;
+
+    private final Duration intervaloVerificacao;
+
+    private final AtomicInteger rodizio = new AtomicInteger();
+
+    private volatile List<String> disponiveis = List.of();
+
+    private ScheduledExecutorService verificador;
+
+    /**
+     * @param primario O banco que recebe as escritas e as leituras sem réplica disponível.
+     * @param replicas As réplicas de leitura, pelo nome usado nos logs.
+     * @param atrasoMaximo O atraso de replicação acima do qual a réplica deixa de receber leituras.
+     * @param intervaloVerificacao O intervalo entre as verificações das réplicas.
+     */
+    public RoteamentoDataSource(DataSource primario, Map<String, DataSource> replicas, Duration atrasoMaximo, Duration intervaloVerificacao) {
+        this.primario = primario;
+        this.replicas = replicas;
+        this.atrasoMaximo = atrasoMaximo;
+        this.intervaloVerificacao = intervaloVerificacao;
+
+        Map<Object, Object> destinos = new HashMap<>(replicas);
+        destinos.put(PRIMARIO, primario);
+        this.setTargetDataSources(destinos);
+        this.setDefaultTargetDataSource(primario);
+        this.setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        this.verificador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "verificacao-replicas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.verificador.scheduleWithFixedDelay(this::verificarReplicas, 0, this.intervaloVerificacao.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            List<String> candidatas = this.disponiveis;
+            if (!candidatas.isEmpty()) {
+                return candidatas.get(Math.floorMod(this.rodizio.getAndIncrement(), candidatas.size()));
+            }
+        }
+        return PRIMARIO;
+    }
+
+    /**
+     * Consulta a disponibilidade e o atraso de cada réplica e atualiza as que podem receber leituras.
+     */
+    void verificarReplicas() {
+        List<String> disponiveis = new ArrayList<>(this.replicas.size());
+        for (Map.Entry<String, DataSource> replica : this.replicas.entrySet()) {
+            try {
+                double atraso = atraso(replica.getValue());
+                if (atraso * 1000 <= this.atrasoMaximo.toMillis()) {
+                    disponiveis.add(replica.getKey());
+                } else if (this.disponiveis.contains(replica.getKey())) {
+                    log.warn("Réplica {} com atraso de {} s, leituras redirecionadas ao primário", replica.getKey(), atraso);
+                }
+            } catch (SQLException ex) {
+                if (this.disponiveis.contains(replica.getKey())) {
+                    log.warn("Réplica {} indisponível, leituras redirecionadas ao primário: {}", replica.getKey(), ex.getMessage());
+                }
+            }
+        }
+        for (String replica : disponiveis) {
+            if (!this.disponiveis.contains(replica)) {
+                log.info("Réplica {} disponível para leituras", replica);
+            }
+        }
+        this.disponiveis = List.copyOf(disponiveis);
+    }
+
+    /**
+     * @return As réplicas que recebem leituras no momento.
+     */
+    List<String> getDisponiveis() {
+        return this.disponiveis;
+    }
+
+    private static double atraso(DataSource replica) throws SQLException {
+        try (Connection conexao = replica.getConnection(); Statement statement = conexao.createStatement();
+             ResultSet resultado = statement.executeQuery(SQL_ATRASO)) {
+            resultado.next();
+            return resultado.getDouble(1);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.verificador != null) {
+            this.verificador.shutdownNow();
+        }
+        for (DataSource dataSource : this.replicas.values()) {
+            fechar(dataSource);
+        }
+        fechar(this.primario);
+    }
+
+    private static void fechar(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.cadastroprofissional.simples.controller;
+
+import com.cadastroprofissional.simples.controller.openApi.AlteracaoApi;
+import com.cadastroprofissional.simples.service.AlteracaoService;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/alteracoes")
+@Profile("!reactive")
+@AllArgsConstructor
+public class AlteracaoController implements AlteracaoApi {
+
+    private final AlteracaoService service;
+
+    /**
+     * Abre uma conexão do feed de alterações. Cada evento "alteracao" informa o tipo e o ID do registro gravado e a
+     * operação; os dados atuais são obtidos em /profissional/{id} ou /contato/{id}.
+     * Sem Last-Event-ID nem after, apenas as alterações a partir da conexão são enviadas. Um evento "reinicio" indica
+     * que a sequência informada já saiu da retenção e os registros acompanhados devem ser recarregados.
+     *
+     * @param lastEventId O ID do último evento recebido, que tem precedência sobre after.
+     * @param after       A sequência a partir da qual retomar.
+     * @return Um SseEmitter que envia as alterações em ordem de sequência.
+     */
+    @Override
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinarAlteracoes(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                        @RequestParam(required = false) Long after) {
+        return this.service.assinar(lastEventId != null ? lastEventId : after);
+    }
+
+}
@@ -3,11 +3,23 @@ package com.cadastroprofissional.simples.controller;
 import com.cadastroprofissional.simples.controller.openApi.ContatoApi;
 import com.cadastroprofissional.simples.model.Contato;
 import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.RelatorioLoteDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
 import com.cadastroprofissional.simples.model.input.ContatoInput;
 import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
 import com.cadastroprofissional.simples.service.ContatoService;
+import com.cadastroprofissional.simples.util.EtagUtil;
+import com.cadastroprofissional.simples.util.ExportacaoUtil;
+import com.cadastroprofissional.simples.util.LoteUtil;
+import com.cadastroprofissional.simples.util.NdjsonWriter;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,30 +30,96 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/contato")
+@Profile("!reactive")
 @AllArgsConstructor
 public class ContatoController implements ContatoApi {
 
     private final ContatoService service;
 
+    private final ObjectMapper objectMapper;
+
     /**
      * Retorna uma lista de todos os contatos ou uma lista filtrada de contatos com base nos parâmetros fornecidos.
+     * Com o modelo de leitura em memória habilitado, o ETag e as listagens que não são busca por texto são atendidos por ele.
      *
      * @author Matheus Abreu Magalhães
      * @param q      Uma string de consulta opcional para filtrar os contatos.
      * @param fields Uma lista opcional de campos para filtrar os contatos.
+     * @param after  O cursor (ID do último contato recebido) para buscar a próxima página.
+     * @param limit  O tamanho da página. Se after ou limit forem informados, a listagem é paginada
+     *               e o cursor da próxima página é enviado nos headers X-Next-Cursor e Link.
+     * @param request A requisição. O ETag da listagem resume a coleção e vale por URL; se for igual ao header If-None-Match,
+     *               a listagem não é consultada e a resposta é 304 (Not Modified). Sem o modelo em memória, páginas por
+     *               cursor só calculam o ETag quando recebem If-None-Match (ver EtagUtil.listagemNaoModificada).
      * @return Um objeto ResponseEntity contendo a lista de contatos encontrados.
      *         Retorna status HTTP 200 (OK) se a operação for bem-sucedida.
+     *         Retorna status HTTP 304 (Not Modified) se a listagem não mudou desde o ETag informado.
      */
     @Override
     @GetMapping
-    public ResponseEntity<List<ContatoDTO>> findAllContatos(@RequestParam(required = false) String q, @RequestParam(required = false) List<String>fields) {
-        List<ContatoDTO> contatos = service.findAllContatos(q, fields);
-        return ResponseEntity.status(HttpStatus.OK).body(contatos);
+    public ResponseEntity<List<ContatoDTO>> findAllContatos(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields,
+                                                        @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit,
+                                                        WebRequest request) {
+        boolean paginada = after != null || limit != null;
+        if (EtagUtil.listagemNaoModificada(request, paginada, this.service.findVersaoContatosEmMemoria(), this.service::findVersaoContatos)) {
+            return null;
+        }
+
+        if (!paginada) {
+            List<ContatoDTO> contatos = service.findAllContatosEmMemoria(q, fields).orElseGet(() -> service.findAllContatos(q, fields));
+            return ResponseEntity.status(HttpStatus.OK).body(contatos);
+        }
+
+        PaginaDTO<ContatoDTO> pagina = service.findAllContatosEmMemoria(q, fields, after, limit)
+                .orElseGet(() -> service.findAllContatos(q, fields, after, limit));
+        return PaginacaoUtil.responderPagina(pagina);
+    }
+
+    /**
+     * Envia todos os contatos filtrados em formato NDJSON, escrevendo cada registro na resposta à medida que é lido do banco.
+     *
+     * @param q      Uma string de consulta opcional para filtrar os contatos.
+     * @param fields Uma lista opcional de campos para incluir na resposta.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente no stream de saída.
+     */
+    @Override
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamContatos(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(this.objectMapper, out)) {
+                this.service.streamAllContatos(q, fields, writer::write);
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE)).body(body);
+    }
+
+    /**
+     * Exporta todos os contatos filtrados em formato NDJSON ou CSV, escrevendo cada registro na resposta à medida que é
+     * lido do banco. A leitura usa um cursor no servidor, então a memória utilizada não depende da quantidade de registros;
+     * a resposta é comprimida com gzip quando o cliente envia Accept-Encoding: gzip.
+     *
+     * @param formato O formato da exportação, ndjson (padrão) ou csv.
+     * @param q       Uma string de consulta opcional para filtrar os contatos.
+     * @param fields  Uma lista opcional de campos para incluir na exportação; no CSV, são as colunas.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente no stream de saída, como o anexo contatos.csv ou contatos.ndjson.
+     *         Retorna status HTTP 400 (Bad Request) se o formato não for reconhecido.
+     */
+    @Override
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarContatos(@RequestParam(defaultValue = "ndjson") String formato, @RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) List<String> fields) {
+        return ExportacaoUtil.exportar(formato, "contatos", this.objectMapper, ContatoDTO.class, fields,
+                consumidor -> this.service.streamAllContatos(q, fields, consumidor));
     }
 
     /**
@@ -49,14 +127,34 @@ public class ContatoController implements ContatoApi {
      *
      * @author Matheus Abreu Magalhães
      * @param id O ID do contato a ser encontrado.
+     * @param request A requisição. O ETag é a versão do contato somada à do profissional; quando o header If-None-Match
+     *                é enviado, a versão é consultada antes e, se não mudou, a resposta é 304 (Not Modified) sem ler o contato.
+     *                Com o modelo de leitura em memória habilitado, o contato e a versão vêm dele, sem consultar o banco.
      * @return Um objeto ResponseEntity contendo o contato encontrado.
      *         Retorna status HTTP 200 (OK) se o contato for encontrado com sucesso.
+     *         Retorna status HTTP 304 (Not Modified) se o contato não mudou desde o ETag informado.
      *         Retorna status HTTP 404 (Not Found) se o contato não for encontrado.
      */
     @Override
     @GetMapping("/{id}")
-    public ResponseEntity<ContatoDTO> findContatoById(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(this.service.findContatoById(id).toDto());
+    public ResponseEntity<ContatoDTO> findContatoById(@PathVariable Long id, WebRequest request) {
+        Optional<VersionadoDTO<ContatoDTO>> emMemoria = this.service.findContatoEmMemoria(id);
+        if (emMemoria.isPresent()) {
+            if (request.checkNotModified(EtagUtil.etag(emMemoria.get().getVersao()))) {
+                return null;
+            }
+            return ResponseEntity.status(HttpStatus.OK).body(emMemoria.get().getItem());
+        }
+
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(EtagUtil.etag(this.service.findVersaoContato(id)))) {
+            return null;
+        }
+
+        Contato contato = this.service.findContatoById(id);
+        // Sem If-None-Match, apenas adiciona o ETag à resposta; com ele, o ETag já foi definido pela verificação acima
+        request.checkNotModified(EtagUtil.etag(contato.getVersao() + contato.getProfissional().getVersao()));
+        return ResponseEntity.status(HttpStatus.OK).body(contato.toDto());
     }
 
     /**
@@ -74,6 +172,25 @@ public class ContatoController implements ContatoApi {
         return ResponseEntity.status(HttpStatus.CREATED).body(String.format("Contato com id %s criado com sucesso.", cont.getId().toString()));
     }
 
+    /**
+     * Cria contatos em lote a partir de um array JSON ou de um stream NDJSON (um contato por linha).
+     * O corpo é lido sob demanda e gravado em lotes de {@value LoteUtil#TAMANHO_LOTE} contatos, cada um em sua transação.
+     * Um lote cuja gravação falha tem todas as suas linhas rejeitadas, e os seguintes continuam sendo gravados.
+     *
+     * @param body O corpo da requisição.
+     * @return Um objeto ResponseEntity contendo o relatório com o resultado de cada linha.
+     *         Retorna status HTTP 200 (OK) se o corpo for processado, mesmo que algumas linhas sejam rejeitadas.
+     *         Retorna status HTTP 400 (Bad Request) se o JSON for mal formado, com o relatório das linhas gravadas até a linha inválida.
+     * @throws IOException Se o corpo não puder ser lido.
+     */
+    @Override
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    public ResponseEntity<RelatorioLoteDTO> createContatos(InputStream body) throws IOException {
+        RelatorioLoteDTO relatorio = LoteUtil.importar(this.objectMapper.readerFor(ContatoInput.class), body,
+                this.service::createContatos, this.service::createContatosSemFiltro);
+        return ResponseEntity.status(relatorio.isInterrompido() ? HttpStatus.BAD_REQUEST : HttpStatus.OK).body(relatorio);
+    }
+
     /**
      * Atualiza um contato existente com base no ID fornecido e nos dados atualizados.
      *
@@ -2,11 +2,24 @@ package com.cadastroprofissional.simples.controller;
 
 import com.cadastroprofissional.simples.controller.openApi.ProfissionalApi;
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
 import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.RelatorioLoteDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
 import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.service.ContatoService;
 import com.cadastroprofissional.simples.service.ProfissionalService;
+import com.cadastroprofissional.simples.util.EtagUtil;
+import com.cadastroprofissional.simples.util.ExportacaoUtil;
+import com.cadastroprofissional.simples.util.LoteUtil;
+import com.cadastroprofissional.simples.util.NdjsonWriter;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,29 +30,116 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/profissional")
+@Profile("!reactive")
 @AllArgsConstructor
 public class ProfissionalController implements ProfissionalApi {
 
     private final ProfissionalService service;
 
+    private final ContatoService contatoService;
+
+    private final ObjectMapper objectMapper;
+
     /**
      * Retorna uma lista de todos os profissionais.
+     * Com o modelo de leitura em memória habilitado, o ETag e as listagens que não são busca por texto são atendidos por ele.
      *
      * @author Matheus Abreu Magalhães
      * @param q      Uma string de consulta opcional para filtrar os profissionais.
      * @param fields Uma lista opcional de campos para incluir na resposta.
+     * @param after  O cursor (ID do último profissional recebido) para buscar a próxima página.
+     * @param limit  O tamanho da página. Se after ou limit forem informados, a listagem é paginada
+     *               e o cursor da próxima página é enviado nos headers X-Next-Cursor e Link.
+     * @param request A requisição. O ETag da listagem resume a coleção e vale por URL; se for igual ao header If-None-Match,
+     *               a listagem não é consultada e a resposta é 304 (Not Modified). Sem o modelo em memória, páginas por
+     *               cursor só calculam o ETag quando recebem If-None-Match (ver EtagUtil.listagemNaoModificada).
      * @return Um objeto ResponseEntity com uma lista de ProfissionalDTO no corpo da resposta.
      */
     @Override
     @GetMapping
-    public ResponseEntity<List<ProfissionalDTO>> findAllProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields) {
-        List<ProfissionalDTO> profissionais = service.findAllProfissionais(q, fields);
-        return ResponseEntity.status(HttpStatus.OK).body(profissionais);
+    public ResponseEntity<List<ProfissionalDTO>> findAllProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields,
+                                                        @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit,
+                                                        WebRequest request) {
+        boolean paginada = after != null || limit != null;
+        if (EtagUtil.listagemNaoModificada(request, paginada, this.service.findVersaoProfissionaisEmMemoria(), this.service::findVersaoProfissionais)) {
+            return null;
+        }
+
+        if (!paginada) {
+            List<ProfissionalDTO> profissionais = service.findAllProfissionaisEmMemoria(q, fields)
+                    .orElseGet(() -> service.findAllProfissionais(q, fields));
+            return ResponseEntity.status(HttpStatus.OK).body(profissionais);
+        }
+
+        PaginaDTO<ProfissionalDTO> pagina = service.findAllProfissionaisEmMemoria(q, fields, after, limit)
+                .orElseGet(() -> service.findAllProfissionais(q, fields, after, limit));
+        return PaginacaoUtil.responderPagina(pagina);
+    }
+
+    /**
+     * Retorna uma página dos contatos de um profissional, sempre paginada por cursor sobre o ID do contato.
+     * Diferente de buscar os contatos pelo nome do profissional em /contato, traz apenas os contatos deste profissional
+     * e lê apenas as linhas da página, independente do tamanho da tabela.
+     *
+     * @param id     O ID do profissional.
+     * @param fields Uma lista opcional de campos para incluir em cada contato.
+     * @param after  O cursor (ID do último contato recebido) para buscar a próxima página.
+     * @param limit  O tamanho da página. O cursor da próxima página é enviado nos headers X-Next-Cursor e Link.
+     * @return Um objeto ResponseEntity com a página de ContatoDTO no corpo da resposta.
+     *         Retorna status HTTP 200 (OK) se o profissional for encontrado, mesmo que não tenha contatos.
+     *         Retorna status HTTP 404 (Not Found) se o profissional não for encontrado.
+     */
+    @Override
+    @GetMapping("/{id}/contatos")
+    public ResponseEntity<List<ContatoDTO>> findContatosByProfissional(@PathVariable Long id, @RequestParam(required = false) List<String> fields,
+                                                                       @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit) {
+        return PaginacaoUtil.responderPagina(this.contatoService.findContatosByProfissional(id, fields, after, limit));
+    }
+
+    /**
+     * Envia todos os profissionais filtrados em formato NDJSON, escrevendo cada registro na resposta à medida que é lido do banco.
+     *
+     * @param q      Uma string de consulta opcional para filtrar os profissionais.
+     * @param fields Uma lista opcional de campos para incluir na resposta.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente no stream de saída.
+     */
+    @Override
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(this.objectMapper, out)) {
+                this.service.streamAllProfissionais(q, fields, writer::write);
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE)).body(body);
+    }
+
+    /**
+     * Exporta todos os profissionais filtrados em formato NDJSON ou CSV, escrevendo cada registro na resposta à medida que é
+     * lido do banco. A leitura usa um cursor no servidor, então a memória utilizada não depende da quantidade de registros;
+     * a resposta é comprimida com gzip quando o cliente envia Accept-Encoding: gzip.
+     *
+     * @param formato O formato da exportação, ndjson (padrão) ou csv.
+     * @param q       Uma string de consulta opcional para filtrar os profissionais.
+     * @param fields  Uma lista opcional de campos para incluir na exportação; no CSV, são as colunas.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente no stream de saída, como o anexo profissionais.csv ou profissionais.ndjson.
+     *         Retorna status HTTP 400 (Bad Request) se o formato não for reconhecido.
+     */
+    @Override
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarProfissionais(@RequestParam(defaultValue = "ndjson") String formato, @RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) List<String> fields) {
+        return ExportacaoUtil.exportar(formato, "profissionais", this.objectMapper, ProfissionalDTO.class, fields,
+                consumidor -> this.service.streamAllProfissionais(q, fields, consumidor));
     }
 
     /**
@@ -47,14 +147,23 @@ public class ProfissionalController implements ProfissionalApi {
      *
      * @author Matheus Abreu Magalhães
      * @param id O ID do profissional a ser recuperado.
+     * @param request A requisição. O ETag é a versão do profissional, que vem do modelo de leitura em memória, quando
+     *                habilitado, ou do cache; se for igual ao header
+     *                If-None-Match, a resposta é 304 (Not Modified), sem corpo.
      * @return Um objeto ResponseEntity com o ProfissionalDTO correspondente no corpo da resposta, se encontrado.
      *         Retorna status HTTP 200 (OK) se o profissional for encontrado.
+     *         Retorna status HTTP 304 (Not Modified) se o profissional não mudou desde o ETag informado.
      *         Retorna status HTTP 404 (Not Found) se o profissional não for encontrado.
      */
     @Override
     @GetMapping("/{id}")
-    public ResponseEntity<ProfissionalDTO> findProfissionalById(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(this.service.findProfissionalById(id).toDTO());
+    public ResponseEntity<ProfissionalDTO> findProfissionalById(@PathVariable Long id, WebRequest request) {
+        VersionadoDTO<ProfissionalDTO> profissional = this.service.findProfissionalEmMemoria(id)
+                .orElseGet(() -> this.service.findProfissionalVersionado(id));
+        if (request.checkNotModified(EtagUtil.etag(profissional.getVersao()))) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(profissional.getItem());
     }
 
     /**
@@ -72,6 +181,25 @@ public class ProfissionalController implements ProfissionalApi {
         return ResponseEntity.status(HttpStatus.CREATED).body(String.format("Profissional com id %s criado com sucesso.", prof.getId().toString()));
     }
 
+    /**
+     * Cria ou atualiza profissionais em lote a partir de um array JSON ou de um stream NDJSON (um profissional por linha).
+     * Profissionais com o mesmo nome e data de nascimento de um já cadastrado atualizam o registro existente.
+     * O corpo é lido sob demanda e gravado em lotes de {@value LoteUtil#TAMANHO_LOTE} profissionais, cada um em sua transação.
+     * Um lote cuja gravação falha tem todas as suas linhas rejeitadas, e os seguintes continuam sendo gravados.
+     *
+     * @param body O corpo da requisição.
+     * @return Um objeto ResponseEntity contendo o relatório com o resultado de cada linha e a vazão em linhas por segundo.
+     *         Retorna status HTTP 200 (OK) se o corpo for processado, mesmo que algumas linhas sejam rejeitadas.
+     *         Retorna status HTTP 400 (Bad Request) se o JSON for mal formado, com o relatório das linhas gravadas até a linha inválida.
+     * @throws IOException Se o corpo não puder ser lido.
+     */
+    @Override
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    public ResponseEntity<RelatorioLoteDTO> upsertProfissionais(InputStream body) throws IOException {
+        RelatorioLoteDTO relatorio = LoteUtil.importar(this.objectMapper.readerFor(ProfissionalInput.class), body, this.service::upsertProfissionais);
+        return ResponseEntity.status(relatorio.isInterrompido() ? HttpStatus.BAD_REQUEST : HttpStatus.OK).body(relatorio);
+    }
+
     /**
      * Atualiza as informações de um profissional existente com base no ID fornecido.
      *
@@ -0,0 +1,28 @@
+package com.cadastroprofissional.simples.controller.openApi;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Alteração")
+public interface AlteracaoApi {
+
+    /**
+     * Acompanha as alterações de profissionais e contatos em formato Server-Sent Events.
+     *
+     * @param lastEventId Opcional. O ID do último evento recebido, enviado pelo EventSource ao se reconectar.
+     * @param after       Opcional. A sequência a partir da qual retomar, usada quando o header Last-Event-ID não é enviado.
+     * @return Um SseEmitter que envia um evento "alteracao" por registro gravado, com a sequência como ID.
+     *         Retorna status HTTP 200 (OK) com o fluxo de eventos, que fica aberto até o timeout configurado.
+     */
+    @Operation(summary = "Acompanha as alterações de profissionais e contatos",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Fluxo de eventos iniciado com sucesso")
+            })
+    SseEmitter assinarAlteracoes(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                 @RequestParam(required = false) Long after);
+
+}
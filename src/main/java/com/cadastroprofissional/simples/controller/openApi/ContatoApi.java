@@ -2,16 +2,24 @@ package com.cadastroprofissional.simples.controller.openApi;
 
 import com.cadastroprofissional.simples.model.Contato;
 import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.RelatorioLoteDTO;
 import com.cadastroprofissional.simples.model.input.ContatoInput;
 import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Tag(name = "Contato")
@@ -23,36 +31,78 @@ public interface ContatoApi {
      * @author Matheus Abreu Magalhães
      * @param q      Opcional. Uma string de consulta para filtrar os contatos.
      * @param fields Opcional. Uma lista de campos para incluir na resposta.
+     * @param after  Opcional. O cursor (ID do último contato recebido) para buscar a próxima página.
+     * @param limit  Opcional. O tamanho da página; quando after ou limit são informados a listagem é paginada.
+     * @param request A requisição, usada para comparar o header If-None-Match com o ETag da listagem.
      * @return Um objeto ResponseEntity contendo uma lista de objetos ContatoDTO.
      *         Retorna status HTTP 200 (OK) se a listagem for encontrada com sucesso.
+     *         Retorna status HTTP 304 (Not Modified) se a listagem não mudou desde o ETag informado.
      *         Retorna status HTTP 400 (Bad Request) se houver um problema ao buscar a lista.
      *         Retorna status HTTP 404 (Not Found) se os contatos não forem encontrados.
      */
     @Operation(summary = "Lista os contatos",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Listagem encontrada com sucesso"),
+                    @ApiResponse(responseCode = "304", description = "Listagem não modificada desde o ETag informado em If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Houve um problema ao buscar a lista"),
                     @ApiResponse(responseCode = "404", description = "Contatos não encontrados")
             })
-    ResponseEntity<List<ContatoDTO>> findAllContatos(@RequestParam(required = false) String q, @RequestParam(required = false) List<String>fields);
+    ResponseEntity<List<ContatoDTO>> findAllContatos(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields,
+                                                 @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit,
+                                                 WebRequest request);
+
+    /**
+     * Envia os contatos em formato NDJSON, um registro por linha, à medida que são lidos do banco de dados.
+     *
+     * @param q      Opcional. Uma string de consulta para filtrar os contatos.
+     * @param fields Opcional. Uma lista de campos para incluir na resposta.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente na resposta.
+     *         Retorna status HTTP 200 (OK) se a listagem for iniciada com sucesso.
+     */
+    @Operation(summary = "Lista os contatos em streaming (NDJSON)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Listagem iniciada com sucesso")
+            })
+    ResponseEntity<StreamingResponseBody> streamContatos(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields);
+
+    /**
+     * Exporta os contatos em formato NDJSON ou CSV, escrevendo cada registro na resposta à medida que é lido do banco de dados.
+     *
+     * @param formato Opcional. O formato da exportação, ndjson (padrão) ou csv.
+     * @param q       Opcional. Uma string de consulta para filtrar os contatos.
+     * @param fields  Opcional. Uma lista de campos para incluir na exportação.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente na resposta, como anexo.
+     *         Retorna status HTTP 200 (OK) se a exportação for iniciada com sucesso.
+     *         Retorna status HTTP 400 (Bad Request) se o formato não for reconhecido.
+     */
+    @Operation(summary = "Exporta os contatos (NDJSON ou CSV)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Formato não reconhecido")
+            })
+    ResponseEntity<StreamingResponseBody> exportarContatos(@RequestParam(defaultValue = "ndjson") String formato, @RequestParam(required = false) String q,
+                                                    @RequestParam(required = false) List<String> fields);
 
     /**
      * Busca um contato pelo ID.
      *
      * @author Matheus Abreu Magalhães
      * @param id O ID do contato a ser buscado.
+     * @param request A requisição, usada para comparar o header If-None-Match com o ETag do registro.
      * @return Um objeto ResponseEntity contendo o contato encontrado.
      *         Retorna status HTTP 200 (OK) se o contato for encontrado com sucesso.
+     *         Retorna status HTTP 304 (Not Modified) se o contato não mudou desde o ETag informado.
      *         Retorna status HTTP 400 (Bad Request) se houver um problema ao buscar o contato.
      *         Retorna status HTTP 404 (Not Found) se o contato não for encontrado.
      */
     @Operation(summary = "Busca contato pelo id",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Contato encontrado com sucesso"),
+                    @ApiResponse(responseCode = "304", description = "Registro não modificado desde o ETag informado em If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Houve um problema ao buscar o contato"),
                     @ApiResponse(responseCode = "404", description = "Contato não encontrado")
             })
-    ResponseEntity<ContatoDTO> findContatoById(@PathVariable Long id);
+    ResponseEntity<ContatoDTO> findContatoById(@PathVariable Long id, WebRequest request);
 
     /**
      * Cria um novo contato com base nos dados fornecidos no corpo da solicitação.
@@ -72,6 +122,26 @@ public interface ContatoApi {
             })
     ResponseEntity<String> createContato(@RequestBody ContatoInput input);
 
+    /**
+     * Cria contatos em lote a partir de um array JSON ou de um stream NDJSON, um contato por linha.
+     *
+     * @param body O corpo da requisição com os contatos a serem criados.
+     * @return Um objeto ResponseEntity contendo o relatório com o resultado de cada linha.
+     *         Retorna status HTTP 200 (OK) se o corpo for processado, mesmo que algumas linhas sejam rejeitadas.
+     *         Retorna status HTTP 400 (Bad Request) se o JSON for mal formado, com o relatório das linhas gravadas até a linha inválida.
+     * @throws IOException Se o corpo não puder ser lido.
+     */
+    @Operation(summary = "Cria contatos em lote",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ContatoInput.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ContatoInput.class))
+            }),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lote processado, com o resultado de cada linha"),
+                    @ApiResponse(responseCode = "400", description = "JSON mal formado; o relatório traz as linhas gravadas até a linha inválida")
+            })
+    ResponseEntity<RelatorioLoteDTO> createContatos(InputStream body) throws IOException;
+
     /**
      * Atualiza um contato existente com base no ID fornecido e nos dados fornecidos no corpo da solicitação.
      *
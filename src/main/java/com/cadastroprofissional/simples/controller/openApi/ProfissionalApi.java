@@ -1,16 +1,25 @@
 package com.cadastroprofissional.simples.controller.openApi;
 
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
 import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.RelatorioLoteDTO;
 import com.cadastroprofissional.simples.model.input.ProfissionalInput;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Tag(name = "Profissional")
@@ -22,36 +31,97 @@ public interface ProfissionalApi {
      * @author Matheus Abreu Magalhães
      * @param q      Consulta opcional para filtrar os profissionais.
      * @param fields Lista opcional de campos a serem selecionados para cada profissional.
+     * @param after  Cursor opcional (ID do último profissional recebido) para buscar a próxima página.
+     * @param limit  Tamanho opcional da página; quando after ou limit são informados a listagem é paginada.
+     * @param request A requisição, usada para comparar o header If-None-Match com o ETag da listagem.
      * @return Um objeto ResponseEntity contendo uma lista de objetos ProfissionalDTO.
      *         Retorna status HTTP 200 (OK) se a listagem for encontrada com sucesso.
+     *         Retorna status HTTP 304 (Not Modified) se a listagem não mudou desde o ETag informado.
      *         Retorna status HTTP 400 (Bad Request) se houver um problema ao buscar a lista.
      *         Retorna status HTTP 404 (Not Found) se nenhum profissional for encontrado.
      */
     @Operation(summary = "Lista os profissionais",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Listagem encontrada com sucesso"),
+                    @ApiResponse(responseCode = "304", description = "Listagem não modificada desde o ETag informado em If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Houve um problema ao buscar a lista"),
                     @ApiResponse(responseCode = "404", description = "Profissionais não encontrados")
             })
-    ResponseEntity<List<ProfissionalDTO>> findAllProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) List<String>fields);
+    ResponseEntity<List<ProfissionalDTO>> findAllProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields,
+                                                 @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit,
+                                                 WebRequest request);
+
+    /**
+     * Envia os profissionais em formato NDJSON, um registro por linha, à medida que são lidos do banco de dados.
+     *
+     * @param q      Opcional. Uma string de consulta para filtrar os profissionais.
+     * @param fields Opcional. Uma lista de campos para incluir na resposta.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente na resposta.
+     *         Retorna status HTTP 200 (OK) se a listagem for iniciada com sucesso.
+     */
+    @Operation(summary = "Lista os profissionais em streaming (NDJSON)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Listagem iniciada com sucesso")
+            })
+    ResponseEntity<StreamingResponseBody> streamProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) List<String> fields);
+
+    /**
+     * Exporta os profissionais em formato NDJSON ou CSV, escrevendo cada registro na resposta à medida que é lido do banco de dados.
+     *
+     * @param formato Opcional. O formato da exportação, ndjson (padrão) ou csv.
+     * @param q       Opcional. Uma string de consulta para filtrar os profissionais.
+     * @param fields  Opcional. Uma lista de campos para incluir na exportação.
+     * @return Um objeto ResponseEntity cujo corpo é escrito diretamente na resposta, como anexo.
+     *         Retorna status HTTP 200 (OK) se a exportação for iniciada com sucesso.
+     *         Retorna status HTTP 400 (Bad Request) se o formato não for reconhecido.
+     */
+    @Operation(summary = "Exporta os profissionais (NDJSON ou CSV)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Formato não reconhecido")
+            })
+    ResponseEntity<StreamingResponseBody> exportarProfissionais(@RequestParam(defaultValue = "ndjson") String formato, @RequestParam(required = false) String q,
+                                                    @RequestParam(required = false) List<String> fields);
 
     /**
      * Busca um profissional pelo ID.
      *
      * @author Matheus Abreu Magalhães
      * @param id O ID do profissional a ser buscado.
+     * @param request A requisição, usada para comparar o header If-None-Match com o ETag do registro.
      * @return Um objeto ResponseEntity contendo um objeto ProfissionalDTO correspondente ao profissional encontrado.
      *         Retorna status HTTP 200 (OK) se o profissional for encontrado com sucesso.
+     *         Retorna status HTTP 304 (Not Modified) se o profissional não mudou desde o ETag informado.
      *         Retorna status HTTP 400 (Bad Request) se houver um problema ao buscar o profissional.
      *         Retorna status HTTP 404 (Not Found) se o profissional não for encontrado.
      */
     @Operation(summary = "Busca profissional pelo id",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Profissional encontrado com sucesso"),
+                    @ApiResponse(responseCode = "304", description = "Registro não modificado desde o ETag informado em If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Houve um problema ao buscar o profissional"),
                     @ApiResponse(responseCode = "404", description = "Profissional não encontrado")
             })
-    ResponseEntity<ProfissionalDTO> findProfissionalById(@PathVariable Long id);
+    ResponseEntity<ProfissionalDTO> findProfissionalById(@PathVariable Long id, WebRequest request);
+
+    /**
+     * Lista os contatos de um profissional, paginados por cursor sobre o ID do contato.
+     *
+     * @param id     O ID do profissional.
+     * @param fields Lista opcional de campos a serem selecionados para cada contato.
+     * @param after  Cursor opcional (ID do último contato recebido) para buscar a próxima página.
+     * @param limit  Tamanho opcional da página.
+     * @return Um objeto ResponseEntity contendo uma lista de objetos ContatoDTO.
+     *         Retorna status HTTP 200 (OK) se o profissional for encontrado, mesmo que não tenha contatos.
+     *         Retorna status HTTP 404 (Not Found) se o profissional não for encontrado.
+     */
+    @Operation(summary = "Lista os contatos de um profissional",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Página de contatos encontrada com sucesso"),
+                    @ApiResponse(responseCode = "404", description = "Profissional não encontrado")
+            })
+    ResponseEntity<List<ContatoDTO>> findContatosByProfissional(@PathVariable Long id, @RequestParam(required = false) List<String> fields,
+                                                        @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit);
 
     /**
      * Cria um novo profissional.
@@ -71,6 +141,27 @@ public interface ProfissionalApi {
             })
     ResponseEntity<String> createProfissional(@RequestBody ProfissionalInput input);
 
+    /**
+     * Cria ou atualiza profissionais em lote a partir de um array JSON ou de um stream NDJSON, um profissional por linha.
+     * O nome e a data de nascimento identificam um profissional já cadastrado.
+     *
+     * @param body O corpo da requisição com os profissionais a serem gravados.
+     * @return Um objeto ResponseEntity contendo o relatório com o resultado de cada linha e a vazão em linhas por segundo.
+     *         Retorna status HTTP 200 (OK) se o corpo for processado, mesmo que algumas linhas sejam rejeitadas.
+     *         Retorna status HTTP 400 (Bad Request) se o JSON for mal formado, com o relatório das linhas gravadas até a linha inválida.
+     * @throws IOException Se o corpo não puder ser lido.
+     */
+    @Operation(summary = "Cria ou atualiza profissionais em lote",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProfissionalInput.class))),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ProfissionalInput.class))
+            }),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lote processado, com o resultado de cada linha"),
+                    @ApiResponse(responseCode = "400", description = "JSON mal formado; o relatório traz as linhas gravadas até a linha inválida")
+            })
+    ResponseEntity<RelatorioLoteDTO> upsertProfissionais(InputStream body) throws IOException;
+
     /**
      * Atualiza um profissional existente pelo ID.
      *
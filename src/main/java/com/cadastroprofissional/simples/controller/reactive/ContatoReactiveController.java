@@ -0,0 +1,107 @@
+package com.cadastroprofissional.simples.controller.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.input.ContatoInput;
+import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.service.reactive.ContatoReactiveService;
+import com.cadastroprofissional.simples.util.NdjsonWriter;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/contato")
+@Profile("reactive")
+@AllArgsConstructor
+public class ContatoReactiveController {
+
+    private final ContatoReactiveService service;
+
+    /**
+     * Lista os contatos, enviando cada registro à medida que é lido do banco. Com {@code Accept: application/x-ndjson}
+     * cada contato é enviado em uma linha; caso contrário a resposta é um array JSON.
+     *
+     * @param q     Uma string de consulta opcional para filtrar os contatos.
+     * @param after O cursor (ID do último contato recebido) para continuar a listagem.
+     * @param limit O tamanho da página. Se after ou limit forem informados, a listagem é paginada; o cursor da
+     *              próxima página é o ID do último contato recebido.
+     * @return Os contatos encontrados.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    public Flux<ContatoDTO> findAllContatos(@RequestParam(required = false) String q, @RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit) {
+        return this.service.findAllContatos(q, after, limit);
+    }
+
+    /**
+     * Envia todos os contatos filtrados em formato NDJSON, com o mesmo contrato da listagem em streaming da API bloqueante.
+     *
+     * @param q Uma string de consulta opcional para filtrar os contatos.
+     * @return Os contatos encontrados.
+     */
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public Flux<ContatoDTO> streamContatos(@RequestParam(required = false) String q) {
+        return this.service.findAllContatos(q, null, null);
+    }
+
+    /**
+     * Retorna um contato com base no ID fornecido.
+     *
+     * @param id O ID do contato a ser encontrado.
+     * @return O ContatoDTO correspondente, com o nome do profissional.
+     */
+    @GetMapping("/{id}")
+    public Mono<ContatoDTO> findContatoById(@PathVariable Long id) {
+        return this.service.findContatoDtoById(id);
+    }
+
+    /**
+     * Cria um novo contato com base nos dados fornecidos.
+     *
+     * @param input Os dados do novo contato a serem criados.
+     * @return Uma mensagem indicando o sucesso da criação do contato, com status HTTP 201 (Created).
+     */
+    @PostMapping
+    public Mono<ResponseEntity<String>> createContato(@RequestBody ContatoInput input) {
+        return this.service.createContato(input).map(cont -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(String.format("Contato com id %s criado com sucesso.", cont.getId().toString())));
+    }
+
+    /**
+     * Atualiza um contato existente com base no ID fornecido e nos dados atualizados.
+     *
+     * @param id    O ID do contato a ser atualizado.
+     * @param input Os novos dados do contato.
+     * @return Uma mensagem indicando o sucesso da atualização do contato, com status HTTP 201 (Created).
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<String>> updateContato(@PathVariable Long id, @RequestBody ContatoUpdateInput input) {
+        return this.service.updateContato(id, input).map(cont -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(String.format("Contato com id %s atualizado com sucesso.", cont.getId().toString())));
+    }
+
+    /**
+     * Exclui um contato com base no ID fornecido.
+     *
+     * @param id O ID do contato a ser excluído.
+     * @return Uma resposta com status HTTP 204 (No Content) se o contato for excluído com sucesso.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteContato(@PathVariable Long id) {
+        return this.service.deleteContato(id).thenReturn(ResponseEntity.status(HttpStatus.NO_CONTENT).body("Contato excluído com sucesso."));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.cadastroprofissional.simples.controller.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.model.reactive.ProfissionalRegistro;
+import com.cadastroprofissional.simples.service.reactive.ProfissionalReactiveService;
+import com.cadastroprofissional.simples.util.NdjsonWriter;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/profissional")
+@Profile("reactive")
+@AllArgsConstructor
+public class ProfissionalReactiveController {
+
+    private final ProfissionalReactiveService service;
+
+    /**
+     * Lista os profissionais, enviando cada registro à medida que é lido do banco. Com {@code Accept: application/x-ndjson}
+     * cada profissional é enviado em uma linha; caso contrário a resposta é um array JSON.
+     *
+     * @param q     Uma string de consulta opcional para filtrar os profissionais.
+     * @param after O cursor (ID do último profissional recebido) para continuar a listagem.
+     * @param limit O tamanho da página. Se after ou limit forem informados, a listagem é paginada; o cursor da
+     *              próxima página é o ID do último profissional recebido.
+     * @return Os profissionais encontrados.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    public Flux<ProfissionalDTO> findAllProfissionais(@RequestParam(required = false) String q, @RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit) {
+        return this.service.findAllProfissionais(q, after, limit);
+    }
+
+    /**
+     * Envia todos os profissionais filtrados em formato NDJSON, com o mesmo contrato da listagem em streaming da API bloqueante.
+     *
+     * @param q Uma string de consulta opcional para filtrar os profissionais.
+     * @return Os profissionais encontrados.
+     */
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public Flux<ProfissionalDTO> streamProfissionais(@RequestParam(required = false) String q) {
+        return this.service.findAllProfissionais(q, null, null);
+    }
+
+    /**
+     * Retorna um profissional com base no ID fornecido.
+     *
+     * @param id O ID do profissional a ser recuperado.
+     * @return O ProfissionalDTO correspondente.
+     */
+    @GetMapping("/{id}")
+    public Mono<ProfissionalDTO> findProfissionalById(@PathVariable Long id) {
+        return this.service.findProfissionalById(id).map(ProfissionalRegistro::toDTO);
+    }
+
+    /**
+     * Cria um novo profissional com base nos dados fornecidos no corpo da solicitação.
+     *
+     * @param input Os dados do profissional a serem utilizados para a criação.
+     * @return Uma mensagem indicando o sucesso da criação e o ID do profissional criado, com status HTTP 201 (Created).
+     */
+    @PostMapping
+    public Mono<ResponseEntity<String>> createProfissional(@RequestBody ProfissionalInput input) {
+        return this.service.createProfissional(input).map(prof -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(String.format("Profissional com id %s criado com sucesso.", prof.getId().toString())));
+    }
+
+    /**
+     * Atualiza as informações de um profissional existente com base no ID fornecido.
+     *
+     * @param id    O ID do profissional a ser atualizado.
+     * @param input Os novos dados do profissional.
+     * @return Uma mensagem indicando o sucesso da atualização, com status HTTP 201 (Created).
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<String>> updateProfissional(@PathVariable Long id, @RequestBody ProfissionalInput input) {
+        return this.service.updateProfissional(id, input).map(prof -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(String.format("Profissional com id %s atualizado com sucesso.", prof.getId().toString())));
+    }
+
+    /**
+     * Exclui um profissional existente com base no ID fornecido.
+     *
+     * @param id O ID do profissional a ser excluído.
+     * @return Uma resposta com status HTTP 204 (No Content) se o profissional for excluído com sucesso.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteProfissional(@PathVariable Long id) {
+        return this.service.deleteProfissional(id).thenReturn(ResponseEntity.status(HttpStatus.NO_CONTENT).body("Profissional excluído com sucesso."));
+    }
+
+}
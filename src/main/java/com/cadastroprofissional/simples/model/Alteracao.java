@@ -0,0 +1,59 @@
+/**
+ * Representa uma linha do registro de alterações (outbox transacional): um profissional ou contato gravado por uma
+ * transação já confirmada, publicado pelo feed de alterações em ordem de sequência.
+ * As linhas são inseridas em batch por {@link com.cadastroprofissional.simples.repository.AlteracaoRepositoryCustom}.
+ */
+package com.cadastroprofissional.simples.model;
+
+import com.cadastroprofissional.simples.model.dto.AlteracaoDTO;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "ALTERACAO")
+public class Alteracao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "SEQUENCIA")
+    private Long sequencia;
+
+    @Column(name = "ENTIDADE", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EntidadeAlteracaoEnum entidade;
+
+    @Column(name = "ENTIDADE_ID", nullable = false)
+    private Long entidadeId;
+
+    @Column(name = "OPERACAO", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OperacaoAlteracaoEnum operacao;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+
+    /**
+     * Converte esta entidade Alteracao em um objeto AlteracaoDTO.
+     * @return Um objeto AlteracaoDTO contendo os dados desta alteração.
+     */
+    public AlteracaoDTO toDto() {
+        return new AlteracaoDTO(this.sequencia, this.entidade, this.entidadeId, this.operacao, this.createdDate);
+    }
+
+}
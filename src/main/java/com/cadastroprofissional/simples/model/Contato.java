@@ -8,12 +8,16 @@ import com.cadastroprofissional.simples.model.dto.ContatoDTO;
 import com.cadastroprofissional.simples.model.input.ContatoInput;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,11 +28,17 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "CONTATO")
+@Table(name = "CONTATO", uniqueConstraints = @UniqueConstraint(name = Contato.UK_TELEFONE, columnNames = "CONTATO"))
 public class Contato {
 
+    /**
+     * Nome da restrição de unicidade do telefone, usado para identificar a violação ao gravar um telefone já cadastrado.
+     */
+    public static final String UK_TELEFONE = "UK_CONTATO_CONTATO";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CONTATO_SEQ")
+    @SequenceGenerator(name = "CONTATO_SEQ", sequenceName = "CONTATO_SEQ", allocationSize = 50)
     @Column(name = "CONTATO_ID")
     private Long id;
 
@@ -41,10 +51,14 @@ public class Contato {
     @Column(name = "CREATED_DATE")
     private LocalDate createdDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "PROFISSIONAL_ID")
     private Profissional profissional;
 
+    @Version
+    @Column(name = "VERSAO")
+    private Long versao;
+
     /**
      * Converte esta entidade Contato em um objeto ContatoDTO.
      * @return Um objeto ContatoDTO contendo os dados deste contato.
@@ -15,7 +15,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -31,7 +33,8 @@ import java.util.List;
 public class Profissional {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "PROFISSIONAL_SEQ")
+    @SequenceGenerator(name = "PROFISSIONAL_SEQ", sequenceName = "PROFISSIONAL_SEQ", allocationSize = 50)
     @Column(name = "PROFISSIONAL_ID")
     private Long id;
 
@@ -54,6 +57,10 @@ public class Profissional {
     @OneToMany(mappedBy = "profissional")
     private List<Contato> contatos;
 
+    @Version
+    @Column(name = "VERSAO")
+    private Long versao;
+
     /**
      * Converte esta entidade Profissional em um objeto ProfissionalDTO.
      * @return Um objeto ProfissionalDTO contendo os dados deste profissional.
@@ -0,0 +1,34 @@
+/**
+ * Representa um objeto de transferência de dados (DTO) para uma alteração publicada pelo feed de alterações.
+ * O evento informa apenas qual registro mudou; os dados atuais são obtidos nos endpoints do próprio registro.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlteracaoDTO {
+
+    private Long sequencia;
+
+    private EntidadeAlteracaoEnum entidade;
+
+    private Long id;
+
+    private OperacaoAlteracaoEnum operacao;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime createdDate;
+
+}
@@ -0,0 +1,20 @@
+/**
+ * Representa uma página de resultados obtida por paginação baseada em cursor (keyset).
+ * O cursor corresponde ao ID do último registro retornado e deve ser enviado no parâmetro "after" da próxima requisição.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+
+    private Long proximoCursor;
+
+}
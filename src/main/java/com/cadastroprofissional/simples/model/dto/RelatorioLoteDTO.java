@@ -0,0 +1,67 @@
+/**
+ * Representa o relatório de uma importação em lote, com o resultado de cada linha recebida.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class RelatorioLoteDTO {
+
+    private int total;
+
+    private int gravados;
+
+    private int rejeitados;
+
+    private long duracaoMs;
+
+    private long linhasPorSegundo;
+
+    /**
+     * true se a importação foi interrompida por um JSON mal formado; as linhas seguintes à rejeitada não foram lidas.
+     */
+    private boolean interrompido;
+
+    private final List<ResultadoLinhaLoteDTO> linhas = new ArrayList<>();
+
+    /**
+     * Acrescenta ao relatório os resultados de um lote processado.
+     * @param resultados Os resultados das linhas do lote.
+     */
+    public void adicionar(List<ResultadoLinhaLoteDTO> resultados) {
+        for (ResultadoLinhaLoteDTO resultado : resultados) {
+            if (resultado.getStatus() == StatusLinhaLoteEnum.REJEITADO) {
+                this.rejeitados++;
+            } else {
+                this.gravados++;
+            }
+        }
+        this.total += resultados.size();
+        this.linhas.addAll(resultados);
+    }
+
+    /**
+     * Rejeita a linha em que a leitura da entrada falhou e marca a importação como interrompida.
+     * @param resultado O resultado da linha rejeitada.
+     */
+    public void interromper(ResultadoLinhaLoteDTO resultado) {
+        this.adicionar(List.of(resultado));
+        this.interrompido = true;
+    }
+
+    /**
+     * Registra a duração total da importação e calcula a vazão em linhas por segundo.
+     * @param duracaoNanos O tempo decorrido desde o início da leitura da entrada, em nanossegundos.
+     */
+    public void finalizar(long duracaoNanos) {
+        this.duracaoMs = TimeUnit.NANOSECONDS.toMillis(duracaoNanos);
+        this.linhasPorSegundo = duracaoNanos == 0 ? 0 : this.total * TimeUnit.SECONDS.toNanos(1) / duracaoNanos;
+    }
+
+}
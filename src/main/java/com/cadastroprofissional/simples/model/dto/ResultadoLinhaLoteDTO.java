@@ -0,0 +1,45 @@
+/**
+ * Representa o resultado do processamento de uma linha de uma importação em lote.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoLinhaLoteDTO {
+
+    private int linha;
+
+    private StatusLinhaLoteEnum status;
+
+    private Long id;
+
+    private String mensagem;
+
+    /**
+     * Cria o resultado de uma linha gravada com sucesso.
+     * @param linha O número da linha na entrada, começando em 1.
+     * @param status O status da gravação.
+     * @param id O ID do registro gravado.
+     * @return O resultado da linha.
+     */
+    public static ResultadoLinhaLoteDTO gravado(int linha, StatusLinhaLoteEnum status, Long id) {
+        return new ResultadoLinhaLoteDTO(linha, status, id, null);
+    }
+
+    /**
+     * Cria o resultado de uma linha rejeitada.
+     * @param linha O número da linha na entrada, começando em 1.
+     * @param mensagem O motivo da rejeição.
+     * @return O resultado da linha.
+     */
+    public static ResultadoLinhaLoteDTO rejeitado(int linha, String mensagem) {
+        return new ResultadoLinhaLoteDTO(linha, StatusLinhaLoteEnum.REJEITADO, null, mensagem);
+    }
+
+}
@@ -0,0 +1,21 @@
+/**
+ * Resume o estado de uma listagem: a quantidade de registros, a soma dos IDs e a soma das versões. Uma inclusão ou exclusão
+ * altera a quantidade ou a soma dos IDs, e qualquer alteração incrementa a versão do registro, então o resumo muda sempre
+ * que o conteúdo da listagem muda.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VersaoColecaoDTO {
+
+    private long quantidade;
+
+    private long somaIds;
+
+    private long somaVersoes;
+
+}
@@ -0,0 +1,17 @@
+/**
+ * Acompanha um DTO da versão do registro de onde ele veio, usada como ETag da resposta.
+ */
+package com.cadastroprofissional.simples.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VersionadoDTO<T> {
+
+    private T item;
+
+    private long versao;
+
+}
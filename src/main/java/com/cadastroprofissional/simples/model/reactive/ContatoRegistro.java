@@ -0,0 +1,55 @@
+/**
+ * Representa um contato na pilha reativa.
+ * Esta classe mapeia a mesma tabela da entidade {@link com.cadastroprofissional.simples.model.Contato} para o Spring Data R2DBC;
+ * o profissional é referenciado apenas pelo ID, pois o R2DBC não suporta associações.
+ */
+package com.cadastroprofissional.simples.model.reactive;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Table("CONTATO")
+public class ContatoRegistro implements Persistable<Long> {
+
+    @Id
+    @Column("CONTATO_ID")
+    private Long id;
+
+    @Column("NOME")
+    private String nome;
+
+    @Column("CONTATO")
+    private String contato;
+
+    @Column("CREATED_DATE")
+    private LocalDate createdDate;
+
+    @Column("PROFISSIONAL_ID")
+    private Long profissionalId;
+
+    @Version
+    @Column("VERSAO")
+    private Long versao;
+
+    /**
+     * Indica que o registro ainda não existe no banco, para que o save faça insert mesmo com o ID já preenchido.
+     */
+    @Transient
+    private boolean novo;
+
+    @Override
+    public boolean isNew() {
+        return this.novo;
+    }
+
+}
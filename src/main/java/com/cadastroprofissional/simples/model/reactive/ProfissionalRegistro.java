@@ -0,0 +1,68 @@
+/**
+ * Representa um profissional na pilha reativa.
+ * Esta classe mapeia a mesma tabela da entidade {@link com.cadastroprofissional.simples.model.Profissional} para o Spring Data R2DBC,
+ * que não suporta associações nem geração de ID por sequence; por isso o ID é reservado antes do insert.
+ */
+package com.cadastroprofissional.simples.model.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Table("PROFISSIONAL")
+public class ProfissionalRegistro implements Persistable<Long> {
+
+    @Id
+    @Column("PROFISSIONAL_ID")
+    private Long id;
+
+    @Column("NOME")
+    private String nome;
+
+    @Column("ATIVO")
+    private boolean ativo = true;
+
+    @Column("CARGO")
+    private CargoEnum cargo;
+
+    @Column("DATA_NASCIMENTO")
+    private LocalDate dataNascimento;
+
+    @Column("CREATED_DATE")
+    private LocalDate createdDate;
+
+    @Version
+    @Column("VERSAO")
+    private Long versao;
+
+    /**
+     * Indica que o registro ainda não existe no banco, para que o save faça insert mesmo com o ID já preenchido.
+     */
+    @Transient
+    private boolean novo;
+
+    @Override
+    public boolean isNew() {
+        return this.novo;
+    }
+
+    /**
+     * Converte este registro em um objeto ProfissionalDTO.
+     * @return Um objeto ProfissionalDTO contendo os dados deste profissional.
+     */
+    public ProfissionalDTO toDTO() {
+        return ProfissionalDTO.builder().id(this.id).nome(this.nome).ativo(this.ativo).cargo(this.cargo.getDescricao()).dataNascimento(this.dataNascimento).createdDate(this.createdDate).build();
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Repositório do registro de alterações lido pelo feed de alterações.
+ */
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.Alteracao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlteracaoRepository extends JpaRepository<Alteracao, Long>, AlteracaoRepositoryCustom {
+
+    /**
+     * Busca as alterações seguintes a uma sequência, em ordem de sequência.
+     * @param sequencia A última sequência já lida.
+     * @param limit A quantidade máxima de alterações.
+     * @return As alterações com sequência maior que a informada.
+     */
+    List<Alteracao> findBySequenciaGreaterThanOrderBySequencia(Long sequencia, Limit limit);
+
+    /**
+     * Busca as alterações de um intervalo de sequências, em ordem de sequência.
+     * @param sequencia A última sequência já lida.
+     * @param ate A última sequência do intervalo, inclusive.
+     * @param limit A quantidade máxima de alterações.
+     * @return As alterações com sequência maior que {@code sequencia} e até {@code ate}.
+     */
+    @Query("SELECT a FROM Alteracao a WHERE a.sequencia > :sequencia AND a.sequencia <= :ate ORDER BY a.sequencia")
+    List<Alteracao> findIntervalo(@Param("sequencia") Long sequencia, @Param("ate") Long ate, Limit limit);
+
+    /**
+     * @return A maior sequência gravada, vazio se o registro estiver vazio.
+     */
+    @Query("SELECT MAX(a.sequencia) FROM Alteracao a")
+    Optional<Long> findUltimaSequencia();
+
+    /**
+     * @return A menor sequência ainda retida, vazio se o registro estiver vazio.
+     */
+    @Query("SELECT MIN(a.sequencia) FROM Alteracao a")
+    Optional<Long> findPrimeiraSequencia();
+
+    /**
+     * Exclui as alterações gravadas antes da data informada, sem carregá-las.
+     * @param limite A data a partir da qual as alterações são mantidas.
+     * @return A quantidade de alterações excluídas.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Alteracao a WHERE a.createdDate < :limite")
+    int deleteAnteriores(@Param("limite") LocalDateTime limite);
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Gravação do registro de alterações na transação dos serviços e consulta das transações abertas no banco, usada pelo
+ * feed de alterações para decidir quando uma lacuna na sequência é uma transação desfeita.
+ */
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+
+import java.util.Collection;
+
+public interface AlteracaoRepositoryCustom {
+
+    /**
+     * Insere uma alteração para cada registro informado, em um único batch JDBC na conexão da transação atual, para que
+     * as alterações sejam confirmadas ou desfeitas junto com a gravação que as gerou.
+     * A sequência de cada linha é obtida do banco no próprio insert.
+     * @param entidade O tipo dos registros alterados.
+     * @param operacao A operação feita nos registros.
+     * @param ids Os IDs dos registros alterados.
+     */
+    void registrar(EntidadeAlteracaoEnum entidade, OperacaoAlteracaoEnum operacao, Collection<Long> ids);
+
+    /**
+     * @return O próximo ID de transação a ser atribuído pelo banco: toda transação de escrita já iniciada tem ID menor.
+     */
+    long findProximaTransacao();
+
+    /**
+     * @return O ID da transação de escrita mais antiga ainda aberta, ou o próximo ID a ser atribuído se não houver
+     *         nenhuma. Transações somente leitura não recebem ID e não são consideradas.
+     */
+    long findTransacaoMaisAntiga();
+
+}
@@ -0,0 +1,55 @@
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public class AlteracaoRepositoryCustomImpl implements AlteracaoRepositoryCustom {
+
+    private static final String SQL_INSERT = "INSERT INTO ALTERACAO (ENTIDADE, ENTIDADE_ID, OPERACAO, CREATED_DATE) VALUES (?, ?, ?, ?)";
+
+    private static final String SQL_PROXIMA_TRANSACAO = "SELECT CAST(CAST(pg_snapshot_xmax(pg_current_snapshot()) AS TEXT) AS BIGINT)";
+
+    private static final String SQL_TRANSACAO_MAIS_ANTIGA = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void registrar(EntidadeAlteracaoEnum entidade, OperacaoAlteracaoEnum operacao, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        this.entityManager.unwrap(Session.class).doWork(conexao -> {
+            try (PreparedStatement insert = conexao.prepareStatement(SQL_INSERT)) {
+                for (Long id : ids) {
+                    insert.setString(1, entidade.name());
+                    insert.setLong(2, id);
+                    insert.setString(3, operacao.name());
+                    insert.setTimestamp(4, agora);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public long findProximaTransacao() {
+        return ((Number) this.entityManager.createNativeQuery(SQL_PROXIMA_TRANSACAO).getSingleResult()).longValue();
+    }
+
+    @Override
+    public long findTransacaoMaisAntiga() {
+        return ((Number) this.entityManager.createNativeQuery(SQL_TRANSACAO_MAIS_ANTIGA).getSingleResult()).longValue();
+    }
+
+}
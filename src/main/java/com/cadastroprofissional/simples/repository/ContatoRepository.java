@@ -4,42 +4,52 @@
 package com.cadastroprofissional.simples.repository;
 
 import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface ContatoRepository extends JpaRepository<Contato, Long> {
+public interface ContatoRepository extends JpaRepository<Contato, Long>, ContatoRepositoryCustom {
 
     /**
      * Encontra um contato pelo ID, garantindo que o profissional associado esteja ativo.
+     * O profissional é carregado na mesma consulta, pois é usado na conversão para DTO.
      * @param contatoId O ID do contato a ser encontrado.
      * @return Um Optional contendo o contato, se encontrado.
      */
+    @EntityGraph(attributePaths = "profissional")
     Optional<Contato> findContatoByIdAndProfissionalAtivoIsTrue(Long contatoId);
 
     /**
-     * Realiza uma busca personalizada por contatos com base em uma string de consulta.
-     * @param q A string de consulta.
-     * @return Uma lista de contatos que correspondem à consulta.
+     * Retorna, entre os números informados, os que já estão cadastrados, em uma única consulta.
+     * @param contatos Os números de contato a serem verificados.
+     * @return Os números que já existem no banco de dados.
      */
-    @Query("SELECT c FROM Contato c WHERE " +
-            "(LOWER(c.nome) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(c.contato) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "CAST(c.createdDate AS string) LIKE CONCAT('%', :q, '%') OR " +
-            "LOWER(c.profissional.nome) LIKE LOWER(CONCAT('%', :q, '%')))" +
-            "OR :q IS NULL")
-    List<Contato> findByAnyColumn(@Param("q") String q);
+    @Query("SELECT c.contato FROM Contato c WHERE c.contato IN :contatos")
+    Set<String> findContatosExistentes(@Param("contatos") Collection<String> contatos);
 
     /**
-     * Verifica se um contato já existe com base no número de contato.
-     * @param contato O número de contato a ser verificado.
-     * @return Verdadeiro se o contato existir, falso caso contrário.
+     * Retorna a versão do contato somada à do seu profissional, pois o DTO do contato inclui dados do profissional.
+     * As versões só crescem e o profissional de um contato não muda, então a soma muda sempre que um dos dois muda.
+     * @param contatoId O ID do contato.
+     * @return Um Optional contendo a versão, vazio se o contato não existir ou o profissional estiver inativo.
      */
-    Boolean existsContatoByContato(String contato);
+    @Query("SELECT c.versao + p.versao FROM Contato c JOIN c.profissional p WHERE c.id = :contatoId AND p.ativo = true")
+    Optional<Long> findVersao(@Param("contatoId") Long contatoId);
+
+    /**
+     * Resume o estado da listagem de contatos de profissionais ativos em uma única agregação, sem ler os registros.
+     * @return A quantidade, a soma dos IDs e a soma das versões dos contatos, cada uma somada à do seu profissional.
+     */
+    @Query("SELECT new com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO(COUNT(c), COALESCE(SUM(c.id), 0L), COALESCE(SUM(c.versao + p.versao), 0L))"
+            + " FROM Contato c JOIN c.profissional p WHERE p.ativo = true")
+    VersaoColecaoDTO findVersaoColecao();
 
 }
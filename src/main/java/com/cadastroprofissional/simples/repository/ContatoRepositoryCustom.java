@@ -0,0 +1,55 @@
+/**
+ * Consultas de listagem de contatos que projetam apenas os campos solicitados.
+ */
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ContatoRepositoryCustom {
+
+    /**
+     * Realiza uma busca por contatos de profissionais ativos com base em uma string de consulta.
+     * A consulta é interpretada por {@link com.cadastroprofissional.simples.util.TermoBusca}: dígitos buscam por prefixo
+     * de telefone, datas por igualdade da data de criação e texto por trecho do nome do contato ou do profissional,
+     * ordenado por relevância.
+     * @param q A string de consulta, opcional.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @return Uma lista de contatos contendo apenas os campos solicitados.
+     */
+    List<ContatoDTO> findByAnyColumn(String q, List<String> fields);
+
+    /**
+     * Busca uma página de contatos com paginação por cursor (keyset) sobre o ID, sempre ordenada pelo ID.
+     * @param q A string de consulta, opcional, interpretada como em {@link #findByAnyColumn(String, List)}.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @param after O ID do último contato da página anterior (0 para a primeira página).
+     * @param limit O tamanho da página.
+     * @return A página de contatos e o cursor da próxima página, null quando não há mais registros.
+     */
+    PaginaDTO<ContatoDTO> findPageByAnyColumn(String q, List<String> fields, long after, int limit);
+
+    /**
+     * Busca uma página dos contatos de um profissional ativo com paginação por cursor (keyset) sobre o ID, sempre
+     * ordenada pelo ID. Atendida pelo índice (PROFISSIONAL_ID, CONTATO_ID), lê apenas as linhas da página.
+     * @param profissionalId O ID do profissional.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @param after O ID do último contato da página anterior (0 para a primeira página).
+     * @param limit O tamanho da página.
+     * @return A página de contatos e o cursor da próxima página, null quando não há mais registros.
+     */
+    PaginaDTO<ContatoDTO> findPageByProfissional(long profissionalId, List<String> fields, long after, int limit);
+
+    /**
+     * Percorre os contatos que correspondem à consulta como um stream sobre o cursor JDBC, ordenado pelo ID.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * @param q A string de consulta, opcional, interpretada como em {@link #findByAnyColumn(String, List)}.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @return Um stream de contatos contendo apenas os campos solicitados.
+     */
+    Stream<ContatoDTO> streamByAnyColumn(String q, List<String> fields);
+
+}
@@ -0,0 +1,97 @@
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public class ContatoRepositoryCustomImpl implements ContatoRepositoryCustom {
+
+    static final ProjecaoJpql<ContatoDTO> PROJECAO = new ProjecaoJpql<>(ContatoDTO::new, "c.id")
+            .campo("id", "c.id", (dto, valor) -> dto.setId((Long) valor))
+            .campo("nome", "c.nome", (dto, valor) -> dto.setNome((String) valor))
+            .campo("contato", "c.contato", (dto, valor) -> dto.setContato((String) valor))
+            .campo("createdDate", "c.createdDate", (dto, valor) -> dto.setCreatedDate((LocalDate) valor))
+            .campo("profissional", "p.nome", (dto, valor) -> dto.setProfissional((String) valor));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ContatoDTO> findByAnyColumn(String q, List<String> fields) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        TermoBusca termo = TermoBusca.of(q);
+        return this.criarConsulta(campos, termo, 0L, termo.getTipo() == TipoBuscaEnum.TEXTO)
+                .getResultList().stream().map(tupla -> PROJECAO.converter(tupla, campos)).collect(Collectors.toList());
+    }
+
+    @Override
+    public PaginaDTO<ContatoDTO> findPageByAnyColumn(String q, List<String> fields, long after, int limit) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        List<Tuple> tuplas = this.criarConsulta(campos, TermoBusca.of(q), after, false).setMaxResults(limit).getResultList();
+        return pagina(tuplas, campos, limit);
+    }
+
+    @Override
+    public PaginaDTO<ContatoDTO> findPageByProfissional(long profissionalId, List<String> fields, long after, int limit) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        String jpql = PROJECAO.select(campos)
+                + " FROM Contato c JOIN c.profissional p WHERE p.id = :profissionalId AND p.ativo = true AND c.id > :after ORDER BY c.id";
+        List<Tuple> tuplas = this.entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("profissionalId", profissionalId)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .getResultList();
+        return pagina(tuplas, campos, limit);
+    }
+
+    @Override
+    public Stream<ContatoDTO> streamByAnyColumn(String q, List<String> fields) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        return this.criarConsulta(campos, TermoBusca.of(q), 0L, false).setHint(HINT_FETCH_SIZE, 500)
+                .getResultStream().map(tupla -> PROJECAO.converter(tupla, campos));
+    }
+
+    private static PaginaDTO<ContatoDTO> pagina(List<Tuple> tuplas, List<String> campos, int limit) {
+        Long proximoCursor = tuplas.size() == limit ? ProjecaoJpql.id(tuplas.get(tuplas.size() - 1)) : null;
+        return new PaginaDTO<>(tuplas.stream().map(tupla -> PROJECAO.converter(tupla, campos)).collect(Collectors.toList()), proximoCursor);
+    }
+
+    private TypedQuery<Tuple> criarConsulta(List<String> campos, TermoBusca termo, long after, boolean ranquear) {
+        StringBuilder jpql = new StringBuilder(PROJECAO.select(campos))
+                .append(" FROM Contato c JOIN c.profissional p WHERE p.ativo = true AND c.id > :after");
+
+        switch (termo.getTipo()) {
+            case TELEFONE -> jpql.append(" AND c.contato LIKE :prefixo ESCAPE '\\'");
+            case DATA -> jpql.append(" AND c.createdDate = :data");
+            // Um OR entre colunas das duas tabelas só é avaliado depois do join, linha a linha; a união de duas buscas
+            // em uma tabela cada usa os índices trigram de CONTATO.NOME e PROFISSIONAL.NOME
+            case TEXTO -> jpql.append(" AND c.id IN (SELECT cn.id FROM Contato cn WHERE LOWER(cn.nome) LIKE :padrao ESCAPE '\\'")
+                    .append(" UNION SELECT cp.id FROM Contato cp JOIN cp.profissional pn WHERE LOWER(pn.nome) LIKE :padrao ESCAPE '\\')");
+            case VAZIO -> { }
+        }
+
+        if (ranquear) {
+            jpql.append(" ORDER BY GREATEST(FUNCTION('word_similarity', :termo, LOWER(c.nome)), FUNCTION('word_similarity', :termo, LOWER(p.nome))) DESC, c.id");
+        } else {
+            jpql.append(" ORDER BY c.id");
+        }
+
+        TypedQuery<Tuple> query = this.entityManager.createQuery(jpql.toString(), Tuple.class);
+        query.setParameter("after", after);
+        ProjecaoJpql.parametros(query, termo, ranquear);
+        return query;
+    }
+
+}
@@ -1,16 +1,19 @@
 package com.cadastroprofissional.simples.repository;
 
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface ProfissionalRepository extends JpaRepository<Profissional, Long> {
+public interface ProfissionalRepository extends JpaRepository<Profissional, Long>, ProfissionalRepositoryCustom {
 
     /**
      * Busca um profissional pelo ID e verifica se está ativo.
@@ -20,16 +23,26 @@ public interface ProfissionalRepository extends JpaRepository<Profissional, Long
     Optional<Profissional> findProfissionalByIdAndAtivoIsTrue(Long profissionalId);
 
     /**
-     * Busca profissionais com base em uma string de consulta.
-     * @param q A string de consulta.
-     * @return Uma lista de profissionais que correspondem à consulta.
+     * Retorna, entre os IDs informados, os que pertencem a profissionais ativos, em uma única consulta.
+     * @param ids Os IDs dos profissionais a serem verificados.
+     * @return Os IDs dos profissionais ativos.
      */
-    @Query("SELECT p FROM Profissional p WHERE " +
-            "(LOWER(p.nome) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(p.cargo) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "CAST(p.dataNascimento AS string) LIKE CONCAT('%', :q, '%') OR " +
-            "CAST(p.createdDate AS string) LIKE CONCAT('%', :q, '%'))" +
-            "OR :q IS NULL AND p.ativo = true")
-    List<Profissional> findByAnyColumn(@Param("q") String q);
+    @Query("SELECT p.id FROM Profissional p WHERE p.ativo = true AND p.id IN :ids")
+    Set<Long> findIdsAtivos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca, em uma única consulta, os profissionais ativos e inativos com algum dos nomes informados.
+     * @param nomes Os nomes dos profissionais.
+     * @return Os profissionais encontrados.
+     */
+    List<Profissional> findByNomeIn(Collection<String> nomes);
+
+    /**
+     * Resume o estado da listagem de profissionais ativos em uma única agregação, sem ler os registros.
+     * @return A quantidade, a soma dos IDs e a soma das versões dos profissionais ativos.
+     */
+    @Query("SELECT new com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO(COUNT(p), COALESCE(SUM(p.id), 0L), COALESCE(SUM(p.versao), 0L))"
+            + " FROM Profissional p WHERE p.ativo = true")
+    VersaoColecaoDTO findVersaoColecao();
 
 }
@@ -0,0 +1,54 @@
+/**
+ * Consultas de listagem de profissionais que projetam apenas os campos solicitados e o bloqueio da chave natural usado
+ * pela importação em lote.
+ */
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProfissionalRepositoryCustom {
+
+    /**
+     * Busca profissionais ativos com base em uma string de consulta.
+     * A consulta é interpretada por {@link com.cadastroprofissional.simples.util.TermoBusca}: dígitos buscam profissionais
+     * com telefone iniciado por eles, datas por igualdade da data de nascimento ou de criação e texto por trecho do nome
+     * ou do cargo, ordenado por relevância.
+     * @param q A string de consulta, opcional.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @return Uma lista de profissionais contendo apenas os campos solicitados.
+     */
+    List<ProfissionalDTO> findByAnyColumn(String q, List<String> fields);
+
+    /**
+     * Busca uma página de profissionais ativos com paginação por cursor (keyset) sobre o ID, sempre ordenada pelo ID.
+     * @param q A string de consulta, opcional, interpretada como em {@link #findByAnyColumn(String, List)}.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @param after O ID do último profissional da página anterior (0 para a primeira página).
+     * @param limit O tamanho da página.
+     * @return A página de profissionais e o cursor da próxima página, null quando não há mais registros.
+     */
+    PaginaDTO<ProfissionalDTO> findPageByAnyColumn(String q, List<String> fields, long after, int limit);
+
+    /**
+     * Percorre os profissionais ativos que correspondem à consulta como um stream sobre o cursor JDBC, ordenado pelo ID.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * @param q A string de consulta, opcional, interpretada como em {@link #findByAnyColumn(String, List)}.
+     * @param fields Os campos a serem lidos do banco; todos quando vazio ou null.
+     * @return Um stream de profissionais contendo apenas os campos solicitados.
+     */
+    Stream<ProfissionalDTO> streamByAnyColumn(String q, List<String> fields);
+
+    /**
+     * Bloqueia as chaves naturais informadas até o fim da transação atual, com advisory locks do PostgreSQL, para que
+     * duas transações nunca gravem a mesma chave ao mesmo tempo. Os bloqueios são obtidos sempre na mesma ordem, o que
+     * evita deadlocks entre lotes com chaves em comum.
+     * @param chaves As chaves naturais (nome e data de nascimento) do lote.
+     */
+    void bloquearChavesNaturais(Collection<String> chaves);
+
+}
@@ -0,0 +1,108 @@
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public class ProfissionalRepositoryCustomImpl implements ProfissionalRepositoryCustom {
+
+    static final ProjecaoJpql<ProfissionalDTO> PROJECAO = new ProjecaoJpql<>(ProfissionalDTO::new, "p.id")
+            .campo("id", "p.id", (dto, valor) -> dto.setId((Long) valor))
+            .campo("nome", "p.nome", (dto, valor) -> dto.setNome((String) valor))
+            .campo("ativo", "p.ativo", (dto, valor) -> dto.setAtivo((Boolean) valor))
+            .campo("cargo", "p.cargo", (dto, valor) -> dto.setCargo(((CargoEnum) valor).getDescricao()))
+            .campo("dataNascimento", "p.dataNascimento", (dto, valor) -> dto.setDataNascimento((LocalDate) valor))
+            .campo("createdDate", "p.createdDate", (dto, valor) -> dto.setCreatedDate((LocalDate) valor));
+
+    /**
+     * Cada chave vira um advisory lock no espaço da tabela PROFISSIONAL, obtido em ordem crescente do hash; chaves com o
+     * mesmo hash compartilham o bloqueio.
+     */
+    private static final String SQL_BLOQUEIO = "SELECT pg_advisory_xact_lock(hashtext('PROFISSIONAL'), H) FROM "
+            + "(SELECT DISTINCT hashtext(K) AS H FROM unnest(?) AS K ORDER BY H) AS CHAVES";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProfissionalDTO> findByAnyColumn(String q, List<String> fields) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        TermoBusca termo = TermoBusca.of(q);
+        return this.criarConsulta(campos, termo, 0L, termo.getTipo() == TipoBuscaEnum.TEXTO)
+                .getResultList().stream().map(tupla -> PROJECAO.converter(tupla, campos)).collect(Collectors.toList());
+    }
+
+    @Override
+    public PaginaDTO<ProfissionalDTO> findPageByAnyColumn(String q, List<String> fields, long after, int limit) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        List<Tuple> tuplas = this.criarConsulta(campos, TermoBusca.of(q), after, false).setMaxResults(limit).getResultList();
+
+        Long proximoCursor = tuplas.size() == limit ? ProjecaoJpql.id(tuplas.get(tuplas.size() - 1)) : null;
+        return new PaginaDTO<>(tuplas.stream().map(tupla -> PROJECAO.converter(tupla, campos)).collect(Collectors.toList()), proximoCursor);
+    }
+
+    @Override
+    public Stream<ProfissionalDTO> streamByAnyColumn(String q, List<String> fields) {
+        List<String> campos = PROJECAO.selecionar(fields);
+        return this.criarConsulta(campos, TermoBusca.of(q), 0L, false).setHint(HINT_FETCH_SIZE, 500)
+                .getResultStream().map(tupla -> PROJECAO.converter(tupla, campos));
+    }
+
+    @Override
+    public void bloquearChavesNaturais(Collection<String> chaves) {
+        if (chaves.isEmpty()) {
+            return;
+        }
+        this.entityManager.unwrap(Session.class).doWork(conexao -> {
+            try (PreparedStatement bloqueio = conexao.prepareStatement(SQL_BLOQUEIO)) {
+                bloqueio.setArray(1, conexao.createArrayOf("text", chaves.toArray()));
+                try (ResultSet bloqueados = bloqueio.executeQuery()) {
+                    while (bloqueados.next()) {
+                        // Cada linha lida é um bloqueio obtido
+                    }
+                }
+            }
+        });
+    }
+
+    private TypedQuery<Tuple> criarConsulta(List<String> campos, TermoBusca termo, long after, boolean ranquear) {
+        StringBuilder jpql = new StringBuilder(PROJECAO.select(campos))
+                .append(" FROM Profissional p WHERE p.ativo = true AND p.id > :after");
+
+        switch (termo.getTipo()) {
+            case TELEFONE -> jpql.append(" AND EXISTS (SELECT 1 FROM Contato c WHERE c.profissional = p AND c.contato LIKE :prefixo ESCAPE '\\')");
+            case DATA -> jpql.append(" AND (p.dataNascimento = :data OR p.createdDate = :data)");
+            case TEXTO -> jpql.append(" AND (LOWER(p.nome) LIKE :padrao ESCAPE '\\' OR LOWER(p.cargo) LIKE :padrao ESCAPE '\\')");
+            case VAZIO -> { }
+        }
+
+        if (ranquear) {
+            jpql.append(" ORDER BY GREATEST(FUNCTION('word_similarity', :termo, LOWER(p.nome)), FUNCTION('word_similarity', :termo, LOWER(p.cargo))) DESC, p.id");
+        } else {
+            jpql.append(" ORDER BY p.id");
+        }
+
+        TypedQuery<Tuple> query = this.entityManager.createQuery(jpql.toString(), Tuple.class);
+        query.setParameter("after", after);
+        ProjecaoJpql.parametros(query, termo, ranquear);
+        return query;
+    }
+
+}
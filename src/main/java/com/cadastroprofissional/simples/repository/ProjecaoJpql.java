@@ -0,0 +1,124 @@
+/**
+ * Monta consultas JPQL de listagem que selecionam apenas as colunas dos campos solicitados no parâmetro "fields",
+ * convertendo cada linha diretamente no DTO sem carregar a entidade.
+ */
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.util.TermoBusca;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+class ProjecaoJpql<T> {
+
+    private final Supplier<T> fabrica;
+
+    private final String caminhoId;
+
+    private final Map<String, String> caminhos = new LinkedHashMap<>();
+
+    private final Map<String, BiConsumer<T, Object>> setters = new LinkedHashMap<>();
+
+    /**
+     * Construtor da projeção.
+     * @param fabrica Cria um DTO vazio para cada linha.
+     * @param caminhoId O caminho JPQL do ID, sempre selecionado por ser a chave do cursor.
+     */
+    ProjecaoJpql(Supplier<T> fabrica, String caminhoId) {
+        this.fabrica = fabrica;
+        this.caminhoId = caminhoId;
+    }
+
+    /**
+     * Registra um campo que pode ser solicitado no parâmetro "fields".
+     * @param nome O nome do campo no DTO.
+     * @param caminho O caminho JPQL da coluna.
+     * @param setter Atribui o valor lido ao DTO.
+     * @return Esta projeção.
+     */
+    ProjecaoJpql<T> campo(String nome, String caminho, BiConsumer<T, Object> setter) {
+        this.caminhos.put(nome, caminho);
+        this.setters.put(nome, setter);
+        return this;
+    }
+
+    /**
+     * Filtra os campos solicitados mantendo apenas os conhecidos, sem repetição.
+     * @param fields Os campos solicitados, opcional.
+     * @return Os campos a selecionar; todos quando nenhum campo conhecido for solicitado.
+     */
+    List<String> selecionar(List<String> fields) {
+        List<String> campos = new ArrayList<>();
+        if (fields != null) {
+            for (String field : fields) {
+                if (field != null && this.caminhos.containsKey(field) && !campos.contains(field)) {
+                    campos.add(field);
+                }
+            }
+        }
+        return campos.isEmpty() ? new ArrayList<>(this.caminhos.keySet()) : campos;
+    }
+
+    /**
+     * Monta a cláusula SELECT; o ID é sempre a primeira coluna.
+     * @param campos Os campos selecionados.
+     * @return A lista de expressões da cláusula SELECT.
+     */
+    String select(List<String> campos) {
+        StringBuilder select = new StringBuilder("SELECT ").append(this.caminhoId);
+        for (String campo : campos) {
+            select.append(", ").append(this.caminhos.get(campo));
+        }
+        return select.toString();
+    }
+
+    /**
+     * Converte uma linha no DTO, atribuindo apenas os campos selecionados.
+     * @param tupla A linha retornada pela consulta montada com {@link #select(List)}.
+     * @param campos Os campos selecionados.
+     * @return O DTO preenchido.
+     */
+    T converter(Tuple tupla, List<String> campos) {
+        T dto = this.fabrica.get();
+        for (int i = 0; i < campos.size(); i++) {
+            this.setters.get(campos.get(i)).accept(dto, tupla.get(i + 1));
+        }
+        return dto;
+    }
+
+    /**
+     * Lê o ID de uma linha, usado como cursor da próxima página.
+     * @param tupla A linha retornada pela consulta montada com {@link #select(List)}.
+     * @return O ID do registro.
+     */
+    static Long id(Tuple tupla) {
+        return tupla.get(0, Long.class);
+    }
+
+    /**
+     * Atribui os parâmetros usados pelo filtro do tipo do termo de busca.
+     * @param query A consulta.
+     * @param termo O termo de busca.
+     * @param ranquear Se a consulta ordena pela relevância do termo.
+     */
+    static void parametros(Query query, TermoBusca termo, boolean ranquear) {
+        switch (termo.getTipo()) {
+            case TELEFONE -> query.setParameter("prefixo", termo.getPrefixo());
+            case DATA -> query.setParameter("data", termo.getData());
+            case TEXTO -> {
+                query.setParameter("padrao", termo.getPadrao());
+                if (ranquear) {
+                    query.setParameter("termo", termo.getValor());
+                }
+            }
+            case VAZIO -> { }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * Conjunto de {@code long} com endereçamento aberto e sondagem linear, em um único array, sem objetos por elemento.
+ * O valor 0 marca as posições livres e não pode ser guardado. A remoção desloca os elementos seguintes da mesma
+ * sequência de sondagem, sem marcadores de remoção, então a tabela não se degrada com exclusões.
+ * O conjunto não é thread-safe; o acesso é coordenado por quem o utiliza.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import java.util.function.LongConsumer;
+
+final class ConjuntoLong {
+
+    private long[] valores;
+
+    private int mascara;
+
+    private int tamanho;
+
+    /**
+     * @param capacidade A quantidade de elementos esperada, que cabe sem redimensionar a tabela.
+     */
+    ConjuntoLong(int capacidade) {
+        this.valores = new long[Math.max(16, Integer.highestOneBit(Math.max(1, capacidade) * 2 - 1) << 1)];
+        this.mascara = this.valores.length - 1;
+    }
+
+    boolean contem(long valor) {
+        for (int i = this.indice(valor); this.valores[i] != 0; i = (i + 1) & this.mascara) {
+            if (this.valores[i] == valor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return false se o valor já estava no conjunto.
+     */
+    boolean adicionar(long valor) {
+        int i = this.indice(valor);
+        for (; this.valores[i] != 0; i = (i + 1) & this.mascara) {
+            if (this.valores[i] == valor) {
+                return false;
+            }
+        }
+        this.valores[i] = valor;
+        // Mantém a tabela no máximo metade ocupada, para que as sequências de sondagem fiquem curtas
+        if (++this.tamanho * 2 > this.valores.length) {
+            this.redimensionar(this.valores.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return false se o valor não estava no conjunto.
+     */
+    boolean remover(long valor) {
+        int i = this.indice(valor);
+        while (this.valores[i] != valor) {
+            if (this.valores[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & this.mascara;
+        }
+
+        // Traz para a posição liberada os elementos seguintes cuja posição ideal não fica entre ela e a posição atual deles
+        int livre = i;
+        for (int j = (i + 1) & this.mascara; this.valores[j] != 0; j = (j + 1) & this.mascara) {
+            int ideal = this.indice(this.valores[j]);
+            boolean entre = livre <= j ? livre < ideal && ideal <= j : livre < ideal || ideal <= j;
+            if (!entre) {
+                this.valores[livre] = this.valores[j];
+                livre = j;
+            }
+        }
+        this.valores[livre] = 0;
+        this.tamanho--;
+        return true;
+    }
+
+    int tamanho() {
+        return this.tamanho;
+    }
+
+    void paraCada(LongConsumer consumidor) {
+        for (long valor : this.valores) {
+            if (valor != 0) {
+                consumidor.accept(valor);
+            }
+        }
+    }
+
+    /**
+     * Mistura os bits do valor (finalizador do SplitMix64), para que valores próximos, como telefones em sequência, se
+     * espalhem pela tabela.
+     */
+    static long espalhar(long valor) {
+        long x = valor;
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+
+    private int indice(long valor) {
+        return (int) espalhar(valor) & this.mascara;
+    }
+
+    private void redimensionar(int capacidade) {
+        long[] anteriores = this.valores;
+        this.valores = new long[capacidade];
+        this.mascara = capacidade - 1;
+        for (long valor : anteriores) {
+            if (valor != 0) {
+                int i = this.indice(valor);
+                while (this.valores[i] != 0) {
+                    i = (i + 1) & this.mascara;
+                }
+                this.valores[i] = valor;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,272 @@
+/**
+ * Tabela de contatos do modelo de leitura em memória. O telefone, que só tem dígitos, fica em um {@code long} com a
+ * quantidade de dígitos ao lado, para preservar zeros à esquerda. Telefones gravados antes da forma canônica, com
+ * pontuação, ficam como texto em uma coluna à parte, quase sempre vazia. O profissional fica pelo ID e o nome dele é
+ * lido da {@link ProfissionaisMemoria} ao montar o DTO, como faz o JOIN da consulta JPQL.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class ContatosMemoria extends TabelaMemoria {
+
+    static final String[] CAMPOS = {"id", "nome", "contato", "createdDate", "profissional"};
+
+    /**
+     * Quantidade máxima de dígitos que cabe em um {@code long} sem estouro.
+     */
+    private static final int DIGITOS_LONG = 18;
+
+    private static final long[] POTENCIAS_10 = new long[DIGITOS_LONG + 1];
+
+    static {
+        POTENCIAS_10[0] = 1L;
+        for (int i = 1; i < POTENCIAS_10.length; i++) {
+            POTENCIAS_10[i] = POTENCIAS_10[i - 1] * 10;
+        }
+    }
+
+    private String[] nomes;
+
+    private long[] telefones;
+
+    private byte[] digitos;
+
+    private String[] telefonesTexto;
+
+    private int[] criacoes;
+
+    private long[] profissionais;
+
+    private long[] versoes;
+
+    /**
+     * Grava um contato, ignorando a gravação se a versão em memória já for mais nova, e atualiza o resumo da listagem
+     * de contatos mantido pela tabela de profissionais.
+     * @return false se a gravação foi ignorada.
+     */
+    boolean gravar(long id, String nome, String telefone, LocalDate createdDate, long profissionalId, long versao, ProfissionaisMemoria profissionais) {
+        int posicao = this.posicao(id);
+        if (posicao >= 0) {
+            if (this.versoes[posicao] > versao) {
+                return false;
+            }
+            profissionais.contabilizarContato(this.profissionais[posicao], -1, id, this.versoes[posicao]);
+        } else {
+            posicao = this.reservar(id);
+        }
+        profissionais.contabilizarContato(profissionalId, 1, id, versao);
+
+        this.nomes[posicao] = nome;
+        if (canonico(telefone)) {
+            this.telefones[posicao] = Long.parseLong(telefone);
+            this.digitos[posicao] = (byte) telefone.length();
+            this.telefonesTexto[posicao] = null;
+        } else {
+            this.digitos[posicao] = -1;
+            this.telefonesTexto[posicao] = telefone;
+        }
+        this.criacoes[posicao] = dia(createdDate);
+        this.profissionais[posicao] = profissionalId;
+        this.versoes[posicao] = versao;
+        return true;
+    }
+
+    void remover(long id, ProfissionaisMemoria profissionais) {
+        int posicao = this.posicao(id);
+        if (posicao >= 0) {
+            profissionais.contabilizarContato(this.profissionais[posicao], -1, id, this.versoes[posicao]);
+            this.excluir(posicao);
+        }
+    }
+
+    /**
+     * @return A versão do contato somada à do profissional, ou -1 se o contato não existir ou o profissional estiver inativo.
+     */
+    long versao(long id, ProfissionaisMemoria profissionais) {
+        int posicao = this.posicao(id);
+        if (posicao < 0) {
+            return -1L;
+        }
+        int profissional = profissionais.posicaoAtivo(this.profissionais[posicao]);
+        return profissional < 0 ? -1L : this.versoes[posicao] + profissionais.versao(profissional);
+    }
+
+    /**
+     * Monta o DTO do contato.
+     * @param posicao A posição do contato.
+     * @param mascara Os campos a preencher, de {@link #mascara(String[], List)}.
+     * @param profissionais A tabela de profissionais.
+     * @param profissional A posição do profissional do contato na tabela de profissionais.
+     * @return O DTO do contato.
+     */
+    ContatoDTO dto(int posicao, int mascara, ProfissionaisMemoria profissionais, int profissional) {
+        ContatoDTO dto = new ContatoDTO();
+        if ((mascara & 1) != 0) {
+            dto.setId(this.ids[posicao]);
+        }
+        if ((mascara & 1 << 1) != 0) {
+            dto.setNome(this.nomes[posicao]);
+        }
+        if ((mascara & 1 << 2) != 0) {
+            dto.setContato(this.telefone(posicao));
+        }
+        if ((mascara & 1 << 3) != 0) {
+            dto.setCreatedDate(data(this.criacoes[posicao]));
+        }
+        if ((mascara & 1 << 4) != 0) {
+            dto.setProfissional(profissionais.nome(profissional));
+        }
+        return dto;
+    }
+
+    /**
+     * Busca um contato de profissional ativo pelo ID.
+     * @return O DTO com todos os campos, ou null se o contato não existir ou o profissional estiver inativo.
+     */
+    ContatoDTO buscar(long id, ProfissionaisMemoria profissionais) {
+        int posicao = this.posicao(id);
+        if (posicao < 0) {
+            return null;
+        }
+        int profissional = profissionais.posicaoAtivo(this.profissionais[posicao]);
+        return profissional < 0 ? null : this.dto(posicao, mascara(CAMPOS, null), profissionais, profissional);
+    }
+
+    /**
+     * Lista os contatos de profissionais ativos em ordem de ID, com os mesmos filtros da consulta JPQL para termos que não são texto.
+     * @param termo O termo de busca, de qualquer tipo exceto texto.
+     * @param mascara Os campos a preencher, de {@link #mascara(String[], List)}.
+     * @param after O ID a partir do qual os contatos são listados (exclusivo).
+     * @param limite A quantidade máxima de contatos.
+     * @param profissionais A tabela de profissionais.
+     * @return A página de contatos.
+     */
+    PaginaDTO<ContatoDTO> pagina(TermoBusca termo, int mascara, long after, int limite, ProfissionaisMemoria profissionais) {
+        List<ContatoDTO> itens = new ArrayList<>(Math.min(limite, this.tamanho));
+        long ultimo = 0L;
+
+        String prefixo = termo.getTipo() == TipoBuscaEnum.TELEFONE ? termo.getValor() : null;
+        long valorPrefixo = prefixo == null ? 0L : valor(prefixo);
+        int dia = termo.getData() == null ? DATA_NULA : dia(termo.getData());
+
+        for (int posicao = this.inicio(after); posicao < this.tamanho && itens.size() < limite; posicao++) {
+            if ((prefixo != null && !this.comecaCom(posicao, prefixo, valorPrefixo)) || (dia != DATA_NULA && this.criacoes[posicao] != dia)) {
+                continue;
+            }
+            int profissional = profissionais.posicaoAtivo(this.profissionais[posicao]);
+            if (profissional >= 0) {
+                itens.add(this.dto(posicao, mascara, profissionais, profissional));
+                ultimo = this.ids[posicao];
+            }
+        }
+        return new PaginaDTO<>(itens, itens.size() == limite ? ultimo : null);
+    }
+
+    /**
+     * Retorna os IDs dos profissionais com algum contato cujo telefone começa com o prefixo, usados pelo filtro de
+     * telefone da listagem de profissionais.
+     * @param prefixo Os dígitos do prefixo.
+     * @return Os IDs dos profissionais, ordenados e sem repetição.
+     */
+    long[] profissionaisComPrefixo(String prefixo) {
+        long valor = valor(prefixo);
+        long[] encontrados = new long[16];
+        int quantidade = 0;
+        for (int posicao = 0; posicao < this.tamanho; posicao++) {
+            if (this.comecaCom(posicao, prefixo, valor)) {
+                if (quantidade == encontrados.length) {
+                    encontrados = Arrays.copyOf(encontrados, quantidade * 2);
+                }
+                encontrados[quantidade++] = this.profissionais[posicao];
+            }
+        }
+
+        Arrays.sort(encontrados, 0, quantidade);
+        int distintos = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (distintos == 0 || encontrados[distintos - 1] != encontrados[i]) {
+                encontrados[distintos++] = encontrados[i];
+            }
+        }
+        return Arrays.copyOf(encontrados, distintos);
+    }
+
+    /**
+     * Compara os primeiros dígitos do telefone com o prefixo sem convertê-lo em texto.
+     * @param prefixo Os dígitos do prefixo.
+     * @param valorPrefixo O valor numérico do prefixo, de {@link #valor(String)}.
+     */
+    private boolean comecaCom(int posicao, String prefixo, long valorPrefixo) {
+        if (this.digitos[posicao] < 0) {
+            return this.telefonesTexto[posicao] != null && this.telefonesTexto[posicao].startsWith(prefixo);
+        }
+        int sobra = this.digitos[posicao] - prefixo.length();
+        return sobra >= 0 && this.telefones[posicao] / POTENCIAS_10[sobra] == valorPrefixo;
+    }
+
+    /**
+     * @return O valor numérico do prefixo, ou -1 se ele tiver mais dígitos que qualquer telefone canônico.
+     */
+    private static long valor(String prefixo) {
+        return prefixo.length() > DIGITOS_LONG ? -1L : Long.parseLong(prefixo);
+    }
+
+    private static boolean canonico(String telefone) {
+        if (telefone == null || telefone.isEmpty() || telefone.length() > DIGITOS_LONG) {
+            return false;
+        }
+        for (int i = 0; i < telefone.length(); i++) {
+            if (telefone.charAt(i) < '0' || telefone.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String telefone(int posicao) {
+        if (this.digitos[posicao] < 0) {
+            return this.telefonesTexto[posicao];
+        }
+        String telefone = Long.toString(this.telefones[posicao]);
+        int zeros = this.digitos[posicao] - telefone.length();
+        return zeros > 0 ? "0".repeat(zeros) + telefone : telefone;
+    }
+
+    @Override
+    protected void redimensionar(int capacidade) {
+        this.nomes = this.nomes == null ? new String[capacidade] : Arrays.copyOf(this.nomes, capacidade);
+        this.telefones = this.telefones == null ? new long[capacidade] : Arrays.copyOf(this.telefones, capacidade);
+        this.digitos = this.digitos == null ? new byte[capacidade] : Arrays.copyOf(this.digitos, capacidade);
+        this.telefonesTexto = this.telefonesTexto == null ? new String[capacidade] : Arrays.copyOf(this.telefonesTexto, capacidade);
+        this.criacoes = this.criacoes == null ? new int[capacidade] : Arrays.copyOf(this.criacoes, capacidade);
+        this.profissionais = this.profissionais == null ? new long[capacidade] : Arrays.copyOf(this.profissionais, capacidade);
+        this.versoes = this.versoes == null ? new long[capacidade] : Arrays.copyOf(this.versoes, capacidade);
+    }
+
+    @Override
+    protected void deslocar(int de, int para, int quantidade) {
+        System.arraycopy(this.nomes, de, this.nomes, para, quantidade);
+        System.arraycopy(this.telefones, de, this.telefones, para, quantidade);
+        System.arraycopy(this.digitos, de, this.digitos, para, quantidade);
+        System.arraycopy(this.telefonesTexto, de, this.telefonesTexto, para, quantidade);
+        System.arraycopy(this.criacoes, de, this.criacoes, para, quantidade);
+        System.arraycopy(this.profissionais, de, this.profissionais, para, quantidade);
+        System.arraycopy(this.versoes, de, this.versoes, para, quantidade);
+    }
+
+    @Override
+    protected void limpar(int posicao) {
+        this.nomes[posicao] = null;
+        this.telefonesTexto[posicao] = null;
+    }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Base das estruturas em memória mantidas a partir das gravações dos serviços: as leituras e as escritas são
+ * coordenadas por uma trava de leitura e escrita, e as alterações só são aplicadas após o commit da transação que as fez.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+abstract class EstruturaMemoria {
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Aplica a alteração quando a transação atual for confirmada; se ela for desfeita, a alteração é descartada.
+     * Fora de uma transação, aplica imediatamente.
+     */
+    protected void aposCommit(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.escrever(alteracao);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                EstruturaMemoria.this.escrever(alteracao);
+            }
+        });
+    }
+
+    protected <T> T ler(Supplier<T> leitura) {
+        Lock lock = this.trava.readLock();
+        lock.lock();
+        try {
+            return leitura.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected void escrever(Runnable alteracao) {
+        Lock lock = this.trava.writeLock();
+        lock.lock();
+        try {
+            alteracao.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
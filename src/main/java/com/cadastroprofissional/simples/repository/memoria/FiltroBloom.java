@@ -0,0 +1,65 @@
+/**
+ * Filtro de Bloom em blocos: cada valor escolhe um bloco de 512 bits, do tamanho de uma linha de cache, e marca nele
+ * 7 bits. Verificar um valor lê uma única linha de cache. Com 10 bits por elemento da capacidade, a taxa de falsos
+ * positivos fica em torno de 1% enquanto a capacidade não for ultrapassada.
+ * Não há falsos negativos nem remoção de valores, e o filtro não é thread-safe.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+final class FiltroBloom {
+
+    private static final int BITS_POR_ELEMENTO = 10;
+
+    private static final int FUNCOES = 7;
+
+    private static final int PALAVRAS_POR_BLOCO = 8;
+
+    private static final int BITS_POR_BLOCO = PALAVRAS_POR_BLOCO * Long.SIZE;
+
+    private final long[] palavras;
+
+    private final int blocos;
+
+    /**
+     * @param capacidade A quantidade de elementos para a qual o filtro é dimensionado.
+     */
+    FiltroBloom(int capacidade) {
+        this.blocos = Math.max(1, (int) (((long) capacidade * BITS_POR_ELEMENTO + BITS_POR_BLOCO - 1) / BITS_POR_BLOCO));
+        this.palavras = new long[this.blocos * PALAVRAS_POR_BLOCO];
+    }
+
+    void adicionar(long valor) {
+        long hash = ConjuntoLong.espalhar(valor);
+        int inicio = this.bloco(hash);
+        // Cada função usa 9 bits do hash para escolher um dos 512 bits do bloco
+        for (int i = 0; i < FUNCOES; i++) {
+            int bit = (int) (hash >>> (i * 9)) & (BITS_POR_BLOCO - 1);
+            this.palavras[inicio + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @return false se o valor certamente não foi adicionado; true se ele pode ter sido.
+     */
+    boolean talvezContenha(long valor) {
+        long hash = ConjuntoLong.espalhar(valor);
+        int inicio = this.bloco(hash);
+        for (int i = 0; i < FUNCOES; i++) {
+            int bit = (int) (hash >>> (i * 9)) & (BITS_POR_BLOCO - 1);
+            if ((this.palavras[inicio + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Escolhe o bloco com um segundo hash, independente dos bits usados dentro do bloco.
+     * @return A posição da primeira palavra do bloco.
+     */
+    private int bloco(long hash) {
+        long segundo = ConjuntoLong.espalhar(hash) >>> 32;
+        return (int) ((segundo * this.blocos) >>> 32) * PALAVRAS_POR_BLOCO;
+    }
+
+}
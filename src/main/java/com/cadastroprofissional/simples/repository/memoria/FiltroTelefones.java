@@ -0,0 +1,186 @@
+/**
+ * Filtro opcional dos telefones já cadastrados, usado pela importação em lote para consultar no banco apenas os
+ * telefones que podem estar repetidos. É habilitado com {@code cadastro.filtro-telefones.habilitado=true}.
+ * Cada telefone vira um {@code long} e passa primeiro por um {@link FiltroBloom}, que descarta a maior parte dos
+ * telefones novos lendo uma linha de cache; os que ele aceita são conferidos em um {@link ConjuntoLong} exato, e só os
+ * que estão no conjunto são consultados no banco, que continua sendo a referência para exclusões feitas fora desta
+ * instância. O conjunto é carregado do banco na subida e acompanha, após o commit, as gravações de {@code ContatoService}.
+ * Telefones gravados por outra instância ou direto no banco não estão no conjunto: um lote com um deles falha no commit
+ * pela restrição de unicidade e é gravado de novo consultando todos os seus telefones no banco, o que rejeita apenas a
+ * linha repetida e registra o telefone no conjunto.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import com.cadastroprofissional.simples.util.MetricasUtil;
+import com.cadastroprofissional.simples.util.TelefoneUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Slf4j
+@Repository
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "cadastro.filtro-telefones", name = "habilitado", havingValue = "true")
+public class FiltroTelefones extends EstruturaMemoria implements SmartInitializingSingleton {
+
+    private static final String SQL_TELEFONES = "SELECT CONTATO FROM CONTATO";
+
+    private static final int CAPACIDADE_MINIMA = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private ConjuntoLong telefones = new ConjuntoLong(CAPACIDADE_MINIMA);
+
+    private FiltroBloom filtro = new FiltroBloom(CAPACIDADE_MINIMA);
+
+    private int capacidade = CAPACIDADE_MINIMA;
+
+    /**
+     * Telefones removidos do conjunto desde a última reconstrução do filtro, cujos bits continuam marcados.
+     */
+    private int removidos;
+
+    public FiltroTelefones(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Carrega os telefones depois que todos os beans foram criados, quando o schema já foi migrado e antes de o servidor
+     * web começar a aceitar requisições.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long inicio = System.nanoTime();
+        ConjuntoLong telefones = new ConjuntoLong(CAPACIDADE_MINIMA);
+        this.jdbcTemplate.query(SQL_TELEFONES, (RowCallbackHandler) linha -> {
+            long chave = chave(linha.getString(1));
+            if (chave > 0) {
+                telefones.adicionar(chave);
+            }
+        });
+
+        this.escrever(() -> {
+            this.telefones = telefones;
+            this.reconstruir();
+        });
+        log.info("Filtro de telefones carregado com {} telefones em {} ms", telefones.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Separa, entre os telefones informados, os que podem estar cadastrados e precisam ser consultados no banco.
+     * @param telefones Os telefones na forma canônica.
+     * @return Os telefones que podem estar cadastrados; os demais certamente não estão, a menos que tenham sido gravados
+     *         fora desta instância.
+     */
+    public Set<String> possiveisCadastrados(Collection<String> telefones) {
+        return this.ler(() -> {
+            Set<String> possiveis = new HashSet<>();
+            int ausentes = 0;
+            int falsosPositivos = 0;
+            for (String telefone : telefones) {
+                long chave = chave(telefone);
+                if (chave > 0 && !this.filtro.talvezContenha(chave)) {
+                    ausentes++;
+                } else if (chave > 0 && !this.telefones.contem(chave)) {
+                    falsosPositivos++;
+                } else {
+                    possiveis.add(telefone);
+                }
+            }
+
+            MetricasUtil.FILTRO_TELEFONES_AUSENTES.increment(ausentes);
+            MetricasUtil.FILTRO_TELEFONES_FALSOS_POSITIVOS.increment(falsosPositivos);
+            MetricasUtil.FILTRO_TELEFONES_POSSIVEIS.increment(possiveis.size());
+            if (possiveis.isEmpty() && !telefones.isEmpty()) {
+                MetricasUtil.FILTRO_TELEFONES_CONSULTAS_EVITADAS.increment();
+            }
+            return possiveis;
+        });
+    }
+
+    /**
+     * Registra telefones gravados após o commit da transação atual.
+     * @param telefones Os telefones na forma canônica.
+     */
+    public void registrar(Collection<String> telefones) {
+        this.aposCommit(() -> telefones.forEach(this::adicionar));
+    }
+
+    /**
+     * Troca o telefone de um contato alterado após o commit da transação atual.
+     * @param anterior O telefone antes da alteração.
+     * @param atual O telefone gravado.
+     */
+    public void substituir(String anterior, String atual) {
+        this.aposCommit(() -> {
+            this.retirar(anterior);
+            this.adicionar(atual);
+        });
+    }
+
+    /**
+     * Remove o telefone de um contato excluído após o commit da transação atual.
+     * @param telefone O telefone do contato.
+     */
+    public void remover(String telefone) {
+        this.aposCommit(() -> this.retirar(telefone));
+    }
+
+    /**
+     * Converte um telefone canônico em um {@code long}: um dígito 1 seguido dos dígitos do telefone, para que telefones
+     * com zero à esquerda não se confundam com os de um dígito a menos.
+     * @return A chave do telefone, ou -1 se ele não tiver apenas dígitos na quantidade de um telefone válido.
+     */
+    static long chave(String telefone) {
+        if (telefone == null || telefone.length() < TelefoneUtil.DIGITOS_MINIMO || telefone.length() > TelefoneUtil.DIGITOS_MAXIMO) {
+            return -1L;
+        }
+        long chave = 1L;
+        for (int i = 0; i < telefone.length(); i++) {
+            char c = telefone.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            chave = chave * 10 + (c - '0');
+        }
+        return chave;
+    }
+
+    private void adicionar(String telefone) {
+        long chave = chave(telefone);
+        if (chave > 0 && this.telefones.adicionar(chave)) {
+            this.filtro.adicionar(chave);
+            if (this.telefones.tamanho() > this.capacidade) {
+                this.reconstruir();
+            }
+        }
+    }
+
+    private void retirar(String telefone) {
+        long chave = chave(telefone);
+        if (chave > 0 && this.telefones.remover(chave) && ++this.removidos > this.capacidade / 2) {
+            this.reconstruir();
+        }
+    }
+
+    /**
+     * Recria o filtro a partir do conjunto com o dobro da quantidade atual de capacidade, quando a capacidade é
+     * ultrapassada ou quando os bits de telefones removidos já elevariam a taxa de falsos positivos.
+     */
+    private void reconstruir() {
+        this.capacidade = Math.max(CAPACIDADE_MINIMA, this.telefones.tamanho() * 2);
+        FiltroBloom filtro = new FiltroBloom(this.capacidade);
+        this.telefones.paraCada(filtro::adicionar);
+        this.filtro = filtro;
+        this.removidos = 0;
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Modelo de leitura opcional que mantém profissionais e contatos em memória, em colunas de tipos primitivos indexadas
+ * pelo ID, e atende as buscas por ID, as listagens e os ETags sem abrir transação, sem consultar o banco e sem montar
+ * entidades. É habilitado com {@code cadastro.modelo-leitura.memoria=true}.
+ * As tabelas são carregadas do banco na subida, antes de o servidor aceitar requisições, e depois acompanham as
+ * gravações feitas por {@code ProfissionalService} e {@code ContatoService}, aplicadas após o commit de cada transação.
+ * Gravações feitas por outra instância da aplicação ou direto no banco não são vistas até a próxima subida.
+ * Buscas por texto continuam no banco, pois são ordenadas pela similaridade do pg_trgm.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Repository
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "cadastro.modelo-leitura", name = "memoria", havingValue = "true")
+public class ModeloLeituraMemoria extends EstruturaMemoria implements SmartInitializingSingleton {
+
+    private static final String SQL_PROFISSIONAIS = "SELECT PROFISSIONAL_ID, NOME, ATIVO, CARGO, DATA_NASCIMENTO, CREATED_DATE, VERSAO"
+            + " FROM PROFISSIONAL ORDER BY PROFISSIONAL_ID";
+
+    private static final String SQL_CONTATOS = "SELECT CONTATO_ID, NOME, CONTATO, CREATED_DATE, PROFISSIONAL_ID, VERSAO"
+            + " FROM CONTATO ORDER BY CONTATO_ID";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private ProfissionaisMemoria profissionais = new ProfissionaisMemoria();
+
+    private ContatosMemoria contatos = new ContatosMemoria();
+
+    public ModeloLeituraMemoria(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Carrega as tabelas depois que todos os beans foram criados, quando o schema já foi migrado e antes de o servidor
+     * web começar a aceitar requisições. As tabelas novas substituem as atuais de uma vez.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long inicio = System.nanoTime();
+        ProfissionaisMemoria profissionais = new ProfissionaisMemoria();
+        ContatosMemoria contatos = new ContatosMemoria();
+        this.jdbcTemplate.query(SQL_PROFISSIONAIS, (RowCallbackHandler) linha -> profissionais.gravar(linha.getLong(1), linha.getString(2),
+                linha.getBoolean(3), CargoEnum.porNome(linha.getString(4)), linha.getObject(5, LocalDate.class),
+                linha.getObject(6, LocalDate.class), linha.getLong(7)));
+        this.jdbcTemplate.query(SQL_CONTATOS, (RowCallbackHandler) linha -> contatos.gravar(linha.getLong(1), linha.getString(2),
+                linha.getString(3), linha.getObject(4, LocalDate.class), linha.getLong(5), linha.getLong(6), profissionais));
+
+        this.escrever(() -> {
+            this.profissionais = profissionais;
+            this.contatos = contatos;
+        });
+        log.info("Modelo de leitura em memória carregado com {} profissionais e {} contatos em {} ms", profissionais.tamanho,
+                contatos.tamanho, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Busca um profissional ativo pelo ID.
+     * @param id O ID do profissional.
+     * @return O profissional com a sua versão, ou null se ele não existir ou estiver inativo.
+     */
+    public VersionadoDTO<ProfissionalDTO> buscarProfissional(long id) {
+        return this.ler(() -> {
+            int posicao = this.profissionais.posicaoAtivo(id);
+            return posicao < 0 ? null : new VersionadoDTO<>(this.profissionais.dto(posicao, TabelaMemoria.mascara(ProfissionaisMemoria.CAMPOS, null)),
+                    this.profissionais.versao(posicao));
+        });
+    }
+
+    /**
+     * Lista os profissionais ativos, com os mesmos filtros e a mesma ordem de {@code ProfissionalRepository.findPageByAnyColumn}.
+     * @param q A string de consulta para filtrar os profissionais.
+     * @param fields Uma lista de campos a serem incluídos nos resultados.
+     * @param after O ID a partir do qual os profissionais são listados (exclusivo).
+     * @param limit A quantidade máxima de profissionais.
+     * @return A página de profissionais, ou null se a consulta for uma busca por texto, que é atendida pelo banco.
+     */
+    public PaginaDTO<ProfissionalDTO> listarProfissionais(String q, List<String> fields, long after, int limit) {
+        TermoBusca termo = TermoBusca.of(q);
+        if (termo.getTipo() == TipoBuscaEnum.TEXTO) {
+            return null;
+        }
+        int mascara = TabelaMemoria.mascara(ProfissionaisMemoria.CAMPOS, fields);
+        return this.ler(() -> this.profissionais.pagina(termo, mascara, after, limit, this.contatos));
+    }
+
+    /**
+     * @return O mesmo resumo de {@code ProfissionalRepository.findVersaoColecao()}, mantido a cada gravação.
+     */
+    public VersaoColecaoDTO versaoProfissionais() {
+        return this.ler(this.profissionais::versaoColecao);
+    }
+
+    /**
+     * Busca um contato de profissional ativo pelo ID.
+     * @param id O ID do contato.
+     * @return O contato com a sua versão somada à do profissional, ou null se ele não existir ou o profissional estiver inativo.
+     */
+    public VersionadoDTO<ContatoDTO> buscarContato(long id) {
+        return this.ler(() -> {
+            ContatoDTO contato = this.contatos.buscar(id, this.profissionais);
+            return contato == null ? null : new VersionadoDTO<>(contato, this.contatos.versao(id, this.profissionais));
+        });
+    }
+
+    /**
+     * Lista os contatos de profissionais ativos, com os mesmos filtros e a mesma ordem de {@code ContatoRepository.findPageByAnyColumn}.
+     * @param q A string de consulta para filtrar os contatos.
+     * @param fields Uma lista de campos a serem incluídos nos resultados.
+     * @param after O ID a partir do qual os contatos são listados (exclusivo).
+     * @param limit A quantidade máxima de contatos.
+     * @return A página de contatos, ou null se a consulta for uma busca por texto, que é atendida pelo banco.
+     */
+    public PaginaDTO<ContatoDTO> listarContatos(String q, List<String> fields, long after, int limit) {
+        TermoBusca termo = TermoBusca.of(q);
+        if (termo.getTipo() == TipoBuscaEnum.TEXTO) {
+            return null;
+        }
+        int mascara = TabelaMemoria.mascara(ContatosMemoria.CAMPOS, fields);
+        return this.ler(() -> this.contatos.pagina(termo, mascara, after, limit, this.profissionais));
+    }
+
+    /**
+     * @return O mesmo resumo de {@code ContatoRepository.findVersaoColecao()}, mantido a cada gravação.
+     */
+    public VersaoColecaoDTO versaoContatos() {
+        return this.ler(this.profissionais::versaoColecaoContatos);
+    }
+
+    /**
+     * Registra profissionais criados ou alterados, inclusive desativados, após o commit da transação atual.
+     * O estado é lido das entidades no commit, quando as versões já foram incrementadas pelo flush.
+     * @param gravados Os profissionais gravados.
+     */
+    public void registrarProfissionais(Collection<Profissional> gravados) {
+        this.aposCommit(() -> {
+            for (Profissional profissional : gravados) {
+                this.profissionais.gravar(profissional.getId(), profissional.getNome(), profissional.isAtivo(), profissional.getCargo(),
+                        profissional.getDataNascimento(), profissional.getCreatedDate(), profissional.getVersao());
+            }
+        });
+    }
+
+    /**
+     * Registra contatos criados ou alterados após o commit da transação atual.
+     * @param gravados Os contatos gravados.
+     */
+    public void registrarContatos(Collection<Contato> gravados) {
+        this.aposCommit(() -> {
+            for (Contato contato : gravados) {
+                this.contatos.gravar(contato.getId(), contato.getNome(), contato.getContato(), contato.getCreatedDate(),
+                        contato.getProfissional().getId(), contato.getVersao(), this.profissionais);
+            }
+        });
+    }
+
+    /**
+     * Remove um contato excluído após o commit da transação atual.
+     * @param contatoId O ID do contato.
+     */
+    public void removerContato(long contatoId) {
+        this.aposCommit(() -> this.contatos.remover(contatoId, this.profissionais));
+    }
+
+}
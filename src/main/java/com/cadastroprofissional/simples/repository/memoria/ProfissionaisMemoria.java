@@ -0,0 +1,241 @@
+/**
+ * Tabela de profissionais do modelo de leitura em memória, inclusive os inativos, para que uma gravação atrasada não
+ * reative um profissional já desativado. Nome, cargo (ordinal), datas (dia da época) e versão ficam em colunas
+ * primitivas; a quantidade, a soma dos IDs e a soma das versões dos ativos são mantidas a cada gravação, então o ETag
+ * da listagem não percorre a tabela. O mesmo resumo é mantido para os contatos dos profissionais ativos, com a
+ * quantidade e as somas dos contatos de cada profissional em colunas próprias.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class ProfissionaisMemoria extends TabelaMemoria {
+
+    static final String[] CAMPOS = {"id", "nome", "ativo", "cargo", "dataNascimento", "createdDate"};
+
+    private static final CargoEnum[] CARGOS = CargoEnum.values();
+
+    private String[] nomes;
+
+    private boolean[] ativos;
+
+    private byte[] cargos;
+
+    private int[] nascimentos;
+
+    private int[] criacoes;
+
+    private long[] versoes;
+
+    private int[] contatos;
+
+    private long[] somaIdsContatos;
+
+    private long[] somaVersoesContatos;
+
+    private int ativosQuantidade;
+
+    private long somaIds;
+
+    private long somaVersoes;
+
+    private long contatosQuantidade;
+
+    private long contatosSomaIds;
+
+    private long contatosSomaVersoes;
+
+    /**
+     * Grava um profissional, ignorando a gravação se a versão em memória já for mais nova.
+     * @return false se a gravação foi ignorada.
+     */
+    boolean gravar(long id, String nome, boolean ativo, CargoEnum cargo, LocalDate dataNascimento, LocalDate createdDate, long versao) {
+        int posicao = this.posicao(id);
+        if (posicao >= 0) {
+            if (this.versoes[posicao] > versao) {
+                return false;
+            }
+            this.contabilizar(posicao, -1);
+        } else {
+            posicao = this.reservar(id);
+            this.contatos[posicao] = 0;
+            this.somaIdsContatos[posicao] = 0L;
+            this.somaVersoesContatos[posicao] = 0L;
+        }
+
+        this.nomes[posicao] = nome;
+        this.ativos[posicao] = ativo;
+        this.cargos[posicao] = cargo == null ? -1 : (byte) cargo.ordinal();
+        this.nascimentos[posicao] = dia(dataNascimento);
+        this.criacoes[posicao] = dia(createdDate);
+        this.versoes[posicao] = versao;
+        this.contabilizar(posicao, 1);
+        return true;
+    }
+
+    /**
+     * Soma ou subtrai um contato do resumo do seu profissional e, se o profissional estiver ativo, do resumo da listagem
+     * de contatos. Um contato de um profissional que ainda não está na tabela reserva a posição dele como inativo, com
+     * versão -1, até ele ser gravado.
+     * @param profissionalId O ID do profissional do contato.
+     * @param sinal 1 para somar, -1 para subtrair.
+     * @param contatoId O ID do contato.
+     * @param versaoContato A versão do contato.
+     */
+    void contabilizarContato(long profissionalId, int sinal, long contatoId, long versaoContato) {
+        int posicao = this.posicao(profissionalId);
+        if (posicao < 0) {
+            this.gravar(profissionalId, null, false, null, null, null, -1L);
+            posicao = this.posicao(profissionalId);
+        }
+        this.contatos[posicao] += sinal;
+        this.somaIdsContatos[posicao] += sinal * contatoId;
+        this.somaVersoesContatos[posicao] += sinal * versaoContato;
+        if (this.ativos[posicao]) {
+            this.contatosQuantidade += sinal;
+            this.contatosSomaIds += sinal * contatoId;
+            this.contatosSomaVersoes += sinal * (versaoContato + this.versoes[posicao]);
+        }
+    }
+
+    /**
+     * @return A posição do profissional se ele existir e estiver ativo, caso contrário um valor negativo.
+     */
+    int posicaoAtivo(long id) {
+        int posicao = this.posicao(id);
+        return posicao >= 0 && this.ativos[posicao] ? posicao : -1;
+    }
+
+    String nome(int posicao) {
+        return this.nomes[posicao];
+    }
+
+    long versao(int posicao) {
+        return this.versoes[posicao];
+    }
+
+    ProfissionalDTO dto(int posicao, int mascara) {
+        ProfissionalDTO dto = new ProfissionalDTO();
+        if ((mascara & 1) != 0) {
+            dto.setId(this.ids[posicao]);
+        }
+        if ((mascara & 1 << 1) != 0) {
+            dto.setNome(this.nomes[posicao]);
+        }
+        if ((mascara & 1 << 2) != 0) {
+            dto.setAtivo(this.ativos[posicao]);
+        }
+        if ((mascara & 1 << 3) != 0 && this.cargos[posicao] >= 0) {
+            dto.setCargo(CARGOS[this.cargos[posicao]].getDescricao());
+        }
+        if ((mascara & 1 << 4) != 0) {
+            dto.setDataNascimento(data(this.nascimentos[posicao]));
+        }
+        if ((mascara & 1 << 5) != 0) {
+            dto.setCreatedDate(data(this.criacoes[posicao]));
+        }
+        return dto;
+    }
+
+    /**
+     * Lista os profissionais ativos em ordem de ID, com os mesmos filtros da consulta JPQL para termos que não são texto.
+     * @param termo O termo de busca, de qualquer tipo exceto texto.
+     * @param mascara Os campos a preencher, de {@link #mascara(String[], List)}.
+     * @param after O ID a partir do qual os profissionais são listados (exclusivo).
+     * @param limite A quantidade máxima de profissionais.
+     * @param contatos A tabela de contatos, usada pelo filtro de telefone.
+     * @return A página de profissionais.
+     */
+    PaginaDTO<ProfissionalDTO> pagina(TermoBusca termo, int mascara, long after, int limite, ContatosMemoria contatos) {
+        List<ProfissionalDTO> itens = new ArrayList<>(Math.min(limite, this.ativosQuantidade));
+        long ultimo = 0L;
+
+        if (termo.getTipo() == TipoBuscaEnum.TELEFONE) {
+            long[] candidatos = contatos.profissionaisComPrefixo(termo.getValor());
+            int inicio = Arrays.binarySearch(candidatos, after);
+            for (int i = inicio >= 0 ? inicio + 1 : -inicio - 1; i < candidatos.length && itens.size() < limite; i++) {
+                int posicao = this.posicaoAtivo(candidatos[i]);
+                if (posicao >= 0) {
+                    itens.add(this.dto(posicao, mascara));
+                    ultimo = candidatos[i];
+                }
+            }
+        } else {
+            int dia = termo.getData() == null ? DATA_NULA : dia(termo.getData());
+            for (int posicao = this.inicio(after); posicao < this.tamanho && itens.size() < limite; posicao++) {
+                if (this.ativos[posicao] && (dia == DATA_NULA || this.nascimentos[posicao] == dia || this.criacoes[posicao] == dia)) {
+                    itens.add(this.dto(posicao, mascara));
+                    ultimo = this.ids[posicao];
+                }
+            }
+        }
+        return new PaginaDTO<>(itens, itens.size() == limite ? ultimo : null);
+    }
+
+    VersaoColecaoDTO versaoColecao() {
+        return new VersaoColecaoDTO(this.ativosQuantidade, this.somaIds, this.somaVersoes);
+    }
+
+    /**
+     * @return O mesmo resumo de {@code ContatoRepository.findVersaoColecao()}: cada versão de contato somada à do seu profissional.
+     */
+    VersaoColecaoDTO versaoColecaoContatos() {
+        return new VersaoColecaoDTO(this.contatosQuantidade, this.contatosSomaIds, this.contatosSomaVersoes);
+    }
+
+    /**
+     * Soma ou subtrai o profissional e os seus contatos dos resumos das listagens, se estiver ativo.
+     */
+    private void contabilizar(int posicao, int sinal) {
+        if (this.ativos[posicao]) {
+            this.ativosQuantidade += sinal;
+            this.somaIds += sinal * this.ids[posicao];
+            this.somaVersoes += sinal * this.versoes[posicao];
+            this.contatosQuantidade += sinal * this.contatos[posicao];
+            this.contatosSomaIds += sinal * this.somaIdsContatos[posicao];
+            this.contatosSomaVersoes += sinal * (this.somaVersoesContatos[posicao] + this.contatos[posicao] * this.versoes[posicao]);
+        }
+    }
+
+    @Override
+    protected void redimensionar(int capacidade) {
+        this.nomes = this.nomes == null ? new String[capacidade] : Arrays.copyOf(this.nomes, capacidade);
+        this.ativos = this.ativos == null ? new boolean[capacidade] : Arrays.copyOf(this.ativos, capacidade);
+        this.cargos = this.cargos == null ? new byte[capacidade] : Arrays.copyOf(this.cargos, capacidade);
+        this.nascimentos = this.nascimentos == null ? new int[capacidade] : Arrays.copyOf(this.nascimentos, capacidade);
+        this.criacoes = this.criacoes == null ? new int[capacidade] : Arrays.copyOf(this.criacoes, capacidade);
+        this.versoes = this.versoes == null ? new long[capacidade] : Arrays.copyOf(this.versoes, capacidade);
+        this.contatos = this.contatos == null ? new int[capacidade] : Arrays.copyOf(this.contatos, capacidade);
+        this.somaIdsContatos = this.somaIdsContatos == null ? new long[capacidade] : Arrays.copyOf(this.somaIdsContatos, capacidade);
+        this.somaVersoesContatos = this.somaVersoesContatos == null ? new long[capacidade] : Arrays.copyOf(this.somaVersoesContatos, capacidade);
+    }
+
+    @Override
+    protected void deslocar(int de, int para, int quantidade) {
+        System.arraycopy(this.nomes, de, this.nomes, para, quantidade);
+        System.arraycopy(this.ativos, de, this.ativos, para, quantidade);
+        System.arraycopy(this.cargos, de, this.cargos, para, quantidade);
+        System.arraycopy(this.nascimentos, de, this.nascimentos, para, quantidade);
+        System.arraycopy(this.criacoes, de, this.criacoes, para, quantidade);
+        System.arraycopy(this.versoes, de, this.versoes, para, quantidade);
+        System.arraycopy(this.contatos, de, this.contatos, para, quantidade);
+        System.arraycopy(this.somaIdsContatos, de, this.somaIdsContatos, para, quantidade);
+        System.arraycopy(this.somaVersoesContatos, de, this.somaVersoesContatos, para, quantidade);
+    }
+
+    @Override
+    protected void limpar(int posicao) {
+        this.nomes[posicao] = null;
+    }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Base das tabelas do modelo de leitura em memória: os IDs ficam em um {@code long[]} ordenado e cada coluna em um array
+ * próprio, na mesma posição do ID. A busca pelo ID é uma busca binária sobre tipos primitivos, sem boxing, e a ordem dos
+ * arrays já é a ordem das listagens e da paginação por cursor.
+ * As tabelas não são thread-safe; o acesso é coordenado por {@link ModeloLeituraMemoria}.
+ */
+package com.cadastroprofissional.simples.repository.memoria;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+abstract class TabelaMemoria {
+
+    /**
+     * Valor gravado nas colunas de data quando a data é null.
+     */
+    static final int DATA_NULA = Integer.MIN_VALUE;
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    protected long[] ids = new long[CAPACIDADE_INICIAL];
+
+    protected int tamanho;
+
+    /**
+     * Cria as colunas da subclasse com a capacidade inicial.
+     */
+    protected TabelaMemoria() {
+        this.redimensionar(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Busca a posição de um ID.
+     * @param id O ID procurado.
+     * @return A posição do ID, ou um valor negativo se não existir, como em {@link Arrays#binarySearch(long[], long)}.
+     */
+    final int posicao(long id) {
+        return Arrays.binarySearch(this.ids, 0, this.tamanho, id);
+    }
+
+    /**
+     * Retorna a posição do primeiro ID maior que o cursor.
+     * @param after O ID do último registro da página anterior, ou 0 para a primeira página.
+     * @return A posição a partir da qual a página é lida.
+     */
+    final int inicio(long after) {
+        int posicao = this.posicao(after);
+        return posicao >= 0 ? posicao + 1 : -posicao - 1;
+    }
+
+    /**
+     * Retorna a posição de um ID, abrindo espaço para ele na ordem se ainda não existir.
+     * Como os IDs vêm de sequences, quase sempre o novo ID é o maior e nenhuma posição é deslocada.
+     * @param id O ID.
+     * @return A posição do ID; as colunas de um ID novo precisam ser preenchidas pelo chamador.
+     */
+    final int reservar(long id) {
+        int posicao = this.posicao(id);
+        if (posicao >= 0) {
+            return posicao;
+        }
+        posicao = -posicao - 1;
+
+        if (this.tamanho == this.ids.length) {
+            int capacidade = this.tamanho + (this.tamanho >> 1);
+            this.ids = Arrays.copyOf(this.ids, capacidade);
+            this.redimensionar(capacidade);
+        }
+        if (posicao < this.tamanho) {
+            System.arraycopy(this.ids, posicao, this.ids, posicao + 1, this.tamanho - posicao);
+            this.deslocar(posicao, posicao + 1, this.tamanho - posicao);
+        }
+        this.ids[posicao] = id;
+        this.tamanho++;
+        return posicao;
+    }
+
+    /**
+     * Remove um ID e as suas colunas.
+     * @param posicao A posição do ID, obtida com {@link #posicao(long)}.
+     */
+    final void excluir(int posicao) {
+        int seguintes = this.tamanho - posicao - 1;
+        System.arraycopy(this.ids, posicao + 1, this.ids, posicao, seguintes);
+        this.deslocar(posicao + 1, posicao, seguintes);
+        this.tamanho--;
+        this.limpar(this.tamanho);
+    }
+
+    /**
+     * Aumenta a capacidade de todas as colunas da subclasse.
+     * @param capacidade A nova capacidade.
+     */
+    protected abstract void redimensionar(int capacidade);
+
+    /**
+     * Desloca um trecho de todas as colunas da subclasse, como {@link System#arraycopy}.
+     */
+    protected abstract void deslocar(int de, int para, int quantidade);
+
+    /**
+     * Libera as referências guardadas em uma posição que deixou de ser usada.
+     */
+    protected abstract void limpar(int posicao);
+
+    /**
+     * Converte os campos solicitados no parâmetro "fields" em uma máscara de bits sobre os campos da tabela.
+     * @param campos Os campos conhecidos pela tabela, na ordem dos bits.
+     * @param fields Os campos solicitados, opcional.
+     * @return A máscara dos campos solicitados; todos quando nenhum campo conhecido for solicitado.
+     */
+    static int mascara(String[] campos, List<String> fields) {
+        int mascara = 0;
+        if (fields != null) {
+            for (int i = 0; i < campos.length; i++) {
+                if (fields.contains(campos[i])) {
+                    mascara |= 1 << i;
+                }
+            }
+        }
+        return mascara == 0 ? (1 << campos.length) - 1 : mascara;
+    }
+
+    static int dia(LocalDate data) {
+        return data == null ? DATA_NULA : Math.toIntExact(data.toEpochDay());
+    }
+
+    static LocalDate data(int dia) {
+        return dia == DATA_NULA ? null : LocalDate.ofEpochDay(dia);
+    }
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Prepara as consultas de listagem da pilha reativa, com os mesmos filtros por tipo de termo de busca das consultas JPQL.
+ */
+package com.cadastroprofissional.simples.repository.reactive;
+
+import com.cadastroprofissional.simples.util.TermoBusca;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+class ConsultaReativa {
+
+    /**
+     * Quantidade de linhas pedidas ao banco por vez; as linhas seguintes só são buscadas conforme a demanda do assinante.
+     */
+    static final int TAMANHO_FETCH = 500;
+
+    private ConsultaReativa() {
+    }
+
+    /**
+     * Cria a consulta com o cursor e os parâmetros usados pelo filtro do tipo do termo de busca.
+     * @param databaseClient O cliente R2DBC.
+     * @param sql A consulta, com os parâmetros :after e, conforme o tipo do termo, :prefixo, :data ou :padrao.
+     * @param after O ID a partir do qual os registros são listados (exclusivo).
+     * @param termo O termo de busca.
+     * @return A consulta pronta para ser executada.
+     */
+    static DatabaseClient.GenericExecuteSpec preparar(DatabaseClient databaseClient, String sql, long after, TermoBusca termo) {
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(TAMANHO_FETCH))
+                .bind("after", after);
+
+        return switch (termo.getTipo()) {
+            case TELEFONE -> consulta.bind("prefixo", termo.getPrefixo());
+            case DATA -> consulta.bind("data", termo.getData());
+            case TEXTO -> consulta.bind("padrao", termo.getPadrao());
+            case VAZIO -> consulta;
+        };
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.cadastroprofissional.simples.repository.reactive;
+
+import com.cadastroprofissional.simples.model.reactive.ContatoRegistro;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ContatoReactiveRepository extends R2dbcRepository<ContatoRegistro, Long>, ContatoReactiveRepositoryCustom {
+
+    /**
+     * Busca um contato pelo ID, desde que o seu profissional esteja ativo.
+     * @param contatoId O ID do contato a ser buscado.
+     * @return Um Mono com o contato, vazio se não for encontrado.
+     */
+    @Query("SELECT C.* FROM CONTATO C JOIN PROFISSIONAL P ON P.PROFISSIONAL_ID = C.PROFISSIONAL_ID WHERE P.ATIVO = TRUE AND C.CONTATO_ID = :contatoId")
+    Mono<ContatoRegistro> findByIdAndProfissionalAtivoIsTrue(Long contatoId);
+
+    /**
+     * Reserva um ID na mesma sequence usada pelo Hibernate, como em {@link ProfissionalReactiveRepository#reservarId()}.
+     * @return O ID reservado.
+     */
+    @Query("SELECT NEXTVAL('CONTATO_SEQ')")
+    Mono<Long> reservarId();
+
+}
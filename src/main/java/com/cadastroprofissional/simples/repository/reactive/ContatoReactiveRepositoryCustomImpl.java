@@ -0,0 +1,44 @@
+package com.cadastroprofissional.simples.repository.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+public class ContatoReactiveRepositoryCustomImpl implements ContatoReactiveRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<ContatoDTO> streamByAnyColumn(String q, long after) {
+        TermoBusca termo = TermoBusca.of(q);
+        StringBuilder sql = new StringBuilder("SELECT C.CONTATO_ID, C.NOME, C.CONTATO, C.CREATED_DATE, P.NOME AS PROFISSIONAL")
+                .append(" FROM CONTATO C JOIN PROFISSIONAL P ON P.PROFISSIONAL_ID = C.PROFISSIONAL_ID")
+                .append(" WHERE P.ATIVO = TRUE AND C.CONTATO_ID > :after");
+
+        switch (termo.getTipo()) {
+            case TELEFONE -> sql.append(" AND C.CONTATO LIKE :prefixo ESCAPE '\\'");
+            case DATA -> sql.append(" AND C.CREATED_DATE = :data");
+            // A mesma união de buscas em uma tabela cada do ContatoRepositoryCustomImpl, para usar os índices trigram
+            case TEXTO -> sql.append(" AND C.CONTATO_ID IN (SELECT CONTATO_ID FROM CONTATO WHERE LOWER(NOME) LIKE :padrao ESCAPE '\\'")
+                    .append(" UNION SELECT CP.CONTATO_ID FROM CONTATO CP JOIN PROFISSIONAL PN ON PN.PROFISSIONAL_ID = CP.PROFISSIONAL_ID")
+                    .append(" WHERE LOWER(PN.NOME) LIKE :padrao ESCAPE '\\')");
+            case VAZIO -> { }
+        }
+        sql.append(" ORDER BY C.CONTATO_ID");
+
+        return ConsultaReativa.preparar(this.databaseClient, sql.toString(), after, termo)
+                .map(row -> new ContatoDTO(
+                        row.get("CONTATO_ID", Long.class),
+                        row.get("NOME", String.class),
+                        row.get("CONTATO", String.class),
+                        row.get("CREATED_DATE", LocalDate.class),
+                        row.get("PROFISSIONAL", String.class)))
+                .all();
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.cadastroprofissional.simples.repository.reactive;
+
+import com.cadastroprofissional.simples.model.reactive.ProfissionalRegistro;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ProfissionalReactiveRepository extends R2dbcRepository<ProfissionalRegistro, Long>, ProfissionalReactiveRepositoryCustom {
+
+    /**
+     * Busca um profissional pelo ID e verifica se está ativo.
+     * @param profissionalId O ID do profissional a ser buscado.
+     * @return Um Mono com o profissional, vazio se não for encontrado.
+     */
+    Mono<ProfissionalRegistro> findByIdAndAtivoIsTrue(Long profissionalId);
+
+    /**
+     * Reserva um ID na mesma sequence usada pelo Hibernate. Com o otimizador pooled, o valor retornado é o topo de um
+     * bloco que nenhuma outra instância recebe, então pode ser usado diretamente sem colidir com os IDs gerados pelo JPA.
+     * @return O ID reservado.
+     */
+    @Query("SELECT NEXTVAL('PROFISSIONAL_SEQ')")
+    Mono<Long> reservarId();
+
+}
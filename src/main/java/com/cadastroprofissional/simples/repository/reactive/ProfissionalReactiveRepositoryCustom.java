@@ -0,0 +1,20 @@
+/**
+ * Consultas de listagem reativa de profissionais.
+ */
+package com.cadastroprofissional.simples.repository.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import reactor.core.publisher.Flux;
+
+public interface ProfissionalReactiveRepositoryCustom {
+
+    /**
+     * Lista os profissionais ativos que correspondem à consulta, ordenados pelo ID, linha a linha conforme a demanda do assinante.
+     * A consulta é interpretada por {@link com.cadastroprofissional.simples.util.TermoBusca}, como na listagem JPA.
+     * @param q A string de consulta, opcional.
+     * @param after O ID do último profissional recebido (0 para começar do início).
+     * @return Os profissionais encontrados.
+     */
+    Flux<ProfissionalDTO> streamByAnyColumn(String q, long after);
+
+}
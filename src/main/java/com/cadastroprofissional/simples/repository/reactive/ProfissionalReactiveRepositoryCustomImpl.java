@@ -0,0 +1,43 @@
+package com.cadastroprofissional.simples.repository.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+public class ProfissionalReactiveRepositoryCustomImpl implements ProfissionalReactiveRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<ProfissionalDTO> streamByAnyColumn(String q, long after) {
+        TermoBusca termo = TermoBusca.of(q);
+        StringBuilder sql = new StringBuilder("SELECT P.PROFISSIONAL_ID, P.NOME, P.ATIVO, P.CARGO, P.DATA_NASCIMENTO, P.CREATED_DATE")
+                .append(" FROM PROFISSIONAL P WHERE P.ATIVO = TRUE AND P.PROFISSIONAL_ID > :after");
+
+        switch (termo.getTipo()) {
+            case TELEFONE -> sql.append(" AND EXISTS (SELECT 1 FROM CONTATO C WHERE C.PROFISSIONAL_ID = P.PROFISSIONAL_ID AND C.CONTATO LIKE :prefixo ESCAPE '\\')");
+            case DATA -> sql.append(" AND (P.DATA_NASCIMENTO = :data OR P.CREATED_DATE = :data)");
+            case TEXTO -> sql.append(" AND (LOWER(P.NOME) LIKE :padrao ESCAPE '\\' OR LOWER(P.CARGO) LIKE :padrao ESCAPE '\\')");
+            case VAZIO -> { }
+        }
+        sql.append(" ORDER BY P.PROFISSIONAL_ID");
+
+        return ConsultaReativa.preparar(this.databaseClient, sql.toString(), after, termo)
+                .map(row -> ProfissionalDTO.builder()
+                        .id(row.get("PROFISSIONAL_ID", Long.class))
+                        .nome(row.get("NOME", String.class))
+                        .ativo(row.get("ATIVO", Boolean.class))
+                        .cargo(CargoEnum.valueOf(row.get("CARGO", String.class)).getDescricao())
+                        .dataNascimento(row.get("DATA_NASCIMENTO", LocalDate.class))
+                        .createdDate(row.get("CREATED_DATE", LocalDate.class))
+                        .build())
+                .all();
+    }
+
+}
@@ -0,0 +1,402 @@
+/**
+ * Feed de alterações: publica via Server-Sent Events as linhas do registro de alterações, gravadas pelos serviços na
+ * mesma transação dos profissionais e contatos (outbox transacional). Cada evento tem como ID a sequência da alteração,
+ * e quem se reconecta informando o último ID recebido recebe antes, lidas do banco, as alterações que perdeu.
+ * Uma única thread lê o registro em rodadas, a cada {@code cadastro.alteracoes.intervalo}: publica as alterações
+ * novas, admite as conexões novas, agenda o heartbeat e remove as alterações mais antigas que a retenção. Ela não
+ * escreve nas conexões: cada conexão tem uma fila limitada a {@code cadastro.alteracoes.tamanho-fila} eventos, enviada
+ * por uma tarefa própria, e a conexão que não acompanha as alterações é encerrada em vez de atrasar as demais.
+ * As sequências são obtidas na gravação, mas as transações podem ser confirmadas em outra ordem; por isso a publicação
+ * para em uma lacuna e a aguarda por pelo menos {@code cadastro.alteracoes.espera-lacuna} e até que terminem as
+ * transações de escrita abertas quando ela foi encontrada, entre as quais está a que obteve a sequência que falta.
+ * Só então a lacuna é tratada como transação desfeita, ou depois de {@code cadastro.alteracoes.espera-lacuna-maxima}.
+ * Uma alteração confirmada depois disso só é entregue a quem se reconectar de antes dela.
+ */
+package com.cadastroprofissional.simples.service;
+
+import com.cadastroprofissional.simples.config.AlteracoesProperties;
+import com.cadastroprofissional.simples.model.Alteracao;
+import com.cadastroprofissional.simples.model.dto.AlteracaoDTO;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
+import com.cadastroprofissional.simples.util.MetricasUtil;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+@Profile("!reactive")
+@EnableConfigurationProperties(AlteracoesProperties.class)
+public class AlteracaoService implements SmartInitializingSingleton, DisposableBean {
+
+    /**
+     * Nome do evento de cada alteração.
+     */
+    static final String EVENTO_ALTERACAO = "alteracao";
+
+    /**
+     * Nome do evento enviado a quem se reconecta de uma sequência que já saiu da retenção: o cliente deve recarregar os
+     * registros que acompanha, pois parte das alterações não pode mais ser entregue.
+     */
+    static final String EVENTO_REINICIO = "reinicio";
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private static final Duration INTERVALO_HEARTBEAT = Duration.ofSeconds(15);
+
+    private static final Duration INTERVALO_LIMPEZA = Duration.ofHours(1);
+
+    private final AlteracaoRepository repository;
+
+    private final AlteracoesProperties propriedades;
+
+    /**
+     * Conexões que recebem as alterações publicadas. Só a thread do feed as inclui e enfileira eventos; os callbacks das
+     * conexões e as tarefas de envio apenas as removem.
+     */
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Conexões aguardando a próxima rodada para receber as alterações perdidas e passar a receber as novas.
+     */
+    private final Queue<Assinante> novos = new ConcurrentLinkedQueue<>();
+
+    // Estado da thread do feed
+    private long ultimaPublicada;
+
+    private long lacunaDesde = -1L;
+
+    /**
+     * O próximo ID de transação no momento em que a lacuna atual foi encontrada; a lacuna pode ser ignorada quando não
+     * houver mais transação aberta com ID menor.
+     */
+    private long lacunaTransacoes;
+
+    private long ultimoHeartbeat = System.nanoTime();
+
+    private long ultimaLimpeza;
+
+    private ScheduledExecutorService relay;
+
+    /**
+     * Executa as tarefas de envio das conexões, no máximo uma por vez para cada conexão.
+     */
+    private Executor envio;
+
+    public AlteracaoService(AlteracaoRepository repository, AlteracoesProperties propriedades) {
+        this.repository = repository;
+        this.propriedades = propriedades;
+        Metrics.globalRegistry.gaugeCollectionSize(MetricasUtil.METRICA_ALTERACOES_ASSINANTES, Tags.empty(), this.assinantes);
+    }
+
+    /**
+     * Começa a publicar a partir da última alteração gravada, depois que o schema foi migrado; as anteriores só são
+     * entregues a quem se conectar informando o último evento recebido.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.iniciar(this.repository.findUltimaSequencia().orElse(0L), Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "feed-alteracoes-envio");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        this.relay = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "feed-alteracoes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = this.propriedades.getIntervalo().toMillis();
+        this.relay.scheduleWithFixedDelay(this::rodada, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    void iniciar(long ultimaPublicada, Executor envio) {
+        this.ultimaPublicada = ultimaPublicada;
+        this.envio = envio;
+        this.ultimaLimpeza = System.nanoTime() - INTERVALO_LIMPEZA.toNanos();
+    }
+
+    /**
+     * Abre uma conexão do feed de alterações.
+     * @param ultimaSequencia A sequência do último evento recebido; null para receber apenas as alterações a partir de agora.
+     * @return O emitter da conexão, que passa a receber eventos na próxima rodada do feed.
+     */
+    public SseEmitter assinar(Long ultimaSequencia) {
+        SseEmitter emitter = new SseEmitter(this.propriedades.getTimeout().toMillis());
+        this.assinar(emitter, ultimaSequencia);
+        return emitter;
+    }
+
+    void assinar(SseEmitter emitter, Long ultimaSequencia) {
+        Assinante assinante = new Assinante(emitter, ultimaSequencia, this.propriedades.getTamanhoFila());
+        emitter.onCompletion(() -> this.desconectar(assinante));
+        emitter.onError(erro -> this.desconectar(assinante));
+        emitter.onTimeout(emitter::complete);
+        this.novos.add(assinante);
+    }
+
+    /**
+     * Uma rodada do feed. Falhas são registradas e a próxima rodada tenta novamente do mesmo ponto.
+     */
+    void rodada() {
+        try {
+            this.publicarNovas();
+            this.admitirNovos();
+            this.enviarHeartbeat();
+            this.limpar();
+        } catch (RuntimeException ex) {
+            log.warn("Falha na rodada do feed de alterações, nova tentativa em {}: {}", this.propriedades.getIntervalo(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Publica, em ordem de sequência, as alterações seguintes à última publicada, parando na primeira lacuna ainda
+     * dentro da espera.
+     */
+    private void publicarNovas() {
+        List<Alteracao> alteracoes;
+        do {
+            alteracoes = this.repository.findBySequenciaGreaterThanOrderBySequencia(this.ultimaPublicada, Limit.of(TAMANHO_LOTE));
+            for (Alteracao alteracao : alteracoes) {
+                if (alteracao.getSequencia() != this.ultimaPublicada + 1 && !this.lacunaExpirada(alteracao.getSequencia())) {
+                    return;
+                }
+                this.lacunaDesde = -1L;
+                this.ultimaPublicada = alteracao.getSequencia();
+                AlteracaoDTO dto = alteracao.toDto();
+                for (Assinante assinante : this.assinantes) {
+                    this.enfileirar(assinante, evento(dto));
+                }
+                MetricasUtil.ALTERACOES_PUBLICADAS.increment();
+            }
+        } while (alteracoes.size() == TAMANHO_LOTE);
+    }
+
+    /**
+     * @param proxima A sequência seguinte à lacuna.
+     * @return true se a lacuna antes da sequência informada já foi aguardada pela espera mínima e as transações de
+     *         escrita abertas quando ela foi encontrada terminaram, ou se já foi aguardada pela espera máxima.
+     */
+    private boolean lacunaExpirada(long proxima) {
+        long agora = System.nanoTime();
+        if (this.lacunaDesde < 0) {
+            this.lacunaDesde = agora;
+            this.lacunaTransacoes = this.repository.findProximaTransacao();
+        }
+        long aguardado = agora - this.lacunaDesde;
+        if (aguardado < this.propriedades.getEsperaLacuna().toNanos()) {
+            return false;
+        }
+        if (aguardado < this.propriedades.getEsperaLacunaMaxima().toNanos()) {
+            if (this.repository.findTransacaoMaisAntiga() < this.lacunaTransacoes) {
+                return false;
+            }
+            log.info("Sequências {} a {} do registro de alterações não confirmadas pelas transações que as obtiveram, tratadas como desfeitas",
+                    this.ultimaPublicada + 1, proxima - 1);
+        } else {
+            log.warn("Sequências {} a {} do registro de alterações não confirmadas em {}, tratadas como desfeitas",
+                    this.ultimaPublicada + 1, proxima - 1, this.propriedades.getEsperaLacunaMaxima());
+        }
+        MetricasUtil.ALTERACOES_LACUNAS.increment();
+        return true;
+    }
+
+    /**
+     * Inclui as conexões novas entre as que recebem as próximas alterações. As alterações perdidas, até a última
+     * publicada, são enviadas pela tarefa de envio da conexão antes dos eventos enfileirados.
+     */
+    private void admitirNovos() {
+        for (Assinante assinante = this.novos.poll(); assinante != null; assinante = this.novos.poll()) {
+            assinante.reproduzirAte = this.ultimaPublicada;
+            this.assinantes.add(assinante);
+            this.agendar(assinante);
+        }
+    }
+
+    /**
+     * Envia à conexão as alterações posteriores à última que ela recebeu, lidas do banco, até a última publicada quando
+     * ela foi admitida.
+     */
+    private void reproduzir(Assinante assinante) throws IOException {
+        Long cursor = assinante.ultimaSequencia;
+        long ate = assinante.reproduzirAte;
+        if (cursor == null || cursor >= ate) {
+            return;
+        }
+
+        long primeira = this.repository.findPrimeiraSequencia().orElse(ate + 1);
+        if (cursor < primeira - 1) {
+            assinante.emitter.send(SseEmitter.event().id(String.valueOf(ate)).name(EVENTO_REINICIO).data(""));
+            return;
+        }
+
+        List<Alteracao> alteracoes;
+        do {
+            alteracoes = this.repository.findIntervalo(cursor, ate, Limit.of(TAMANHO_LOTE));
+            for (Alteracao alteracao : alteracoes) {
+                assinante.emitter.send(evento(alteracao.toDto()));
+                cursor = alteracao.getSequencia();
+            }
+        } while (alteracoes.size() == TAMANHO_LOTE);
+    }
+
+    private void enviarHeartbeat() {
+        long agora = System.nanoTime();
+        if (agora - this.ultimoHeartbeat >= INTERVALO_HEARTBEAT.toNanos()) {
+            this.ultimoHeartbeat = agora;
+            for (Assinante assinante : this.assinantes) {
+                this.enfileirar(assinante, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private void limpar() {
+        long agora = System.nanoTime();
+        if (agora - this.ultimaLimpeza >= INTERVALO_LIMPEZA.toNanos()) {
+            this.ultimaLimpeza = agora;
+            int excluidas = this.repository.deleteAnteriores(LocalDateTime.now().minus(this.propriedades.getRetencao()));
+            log.debug("{} alterações anteriores à retenção de {} excluídas", excluidas, this.propriedades.getRetencao());
+        }
+    }
+
+    /**
+     * Coloca o evento na fila da conexão e agenda o seu envio. Se a fila estiver cheia, a conexão é encerrada: o cliente
+     * se reconecta a partir do último evento recebido e lê do banco as alterações que perdeu.
+     */
+    private void enfileirar(Assinante assinante, SseEmitter.SseEventBuilder evento) {
+        if (assinante.fila.offer(evento)) {
+            this.agendar(assinante);
+            return;
+        }
+        log.info("Conexão do feed de alterações com {} eventos pendentes encerrada", assinante.fila.size());
+        MetricasUtil.ALTERACOES_ATRASADOS.increment();
+        this.desconectar(assinante);
+        assinante.fila.clear();
+        // Fora da thread do feed, pois o encerramento aguarda o envio em andamento terminar
+        this.envio.execute(assinante.emitter::complete);
+    }
+
+    private void agendar(Assinante assinante) {
+        if (assinante.agendado.compareAndSet(false, true)) {
+            this.envio.execute(() -> this.enviarPendentes(assinante));
+        }
+    }
+
+    /**
+     * Tarefa de envio de uma conexão: na primeira execução envia as alterações perdidas, e depois os eventos da fila.
+     * Uma conexão lenta ocupa apenas a sua tarefa.
+     */
+    private void enviarPendentes(Assinante assinante) {
+        try {
+            if (!assinante.reproduzido && !assinante.encerrado) {
+                assinante.emitter.send(SseEmitter.event().comment("conectado"));
+                this.reproduzir(assinante);
+                assinante.reproduzido = true;
+            }
+            for (SseEmitter.SseEventBuilder evento = assinante.fila.poll(); evento != null && !assinante.encerrado; evento = assinante.fila.poll()) {
+                assinante.emitter.send(evento);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // O container notifica o erro ao emitter, que encerra a conexão
+            this.desconectar(assinante);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao enviar as alterações perdidas a uma conexão do feed, encerrada: {}", ex.getMessage());
+            this.desconectar(assinante);
+            assinante.emitter.complete();
+        } finally {
+            assinante.agendado.set(false);
+        }
+        // Eventos enfileirados depois da última leitura da fila e antes de a tarefa ser liberada
+        if (!assinante.encerrado && !assinante.fila.isEmpty()) {
+            this.agendar(assinante);
+        }
+    }
+
+    private void desconectar(Assinante assinante) {
+        assinante.encerrado = true;
+        this.assinantes.remove(assinante);
+        this.novos.remove(assinante);
+    }
+
+    /**
+     * Monta o evento de uma alteração. O builder acumula o texto do evento, então cada conexão recebe o seu.
+     */
+    private static SseEmitter.SseEventBuilder evento(AlteracaoDTO alteracao) {
+        return SseEmitter.event()
+                .id(String.valueOf(alteracao.getSequencia()))
+                .name(EVENTO_ALTERACAO)
+                .data(alteracao, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.relay != null) {
+            this.relay.shutdownNow();
+        }
+        if (this.envio instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        for (Assinante assinante : this.assinantes) {
+            assinante.emitter.complete();
+        }
+    }
+
+    private static final class Assinante {
+
+        private final SseEmitter emitter;
+
+        private final Long ultimaSequencia;
+
+        /**
+         * Os eventos aguardando envio, enfileirados pela thread do feed.
+         */
+        private final BlockingQueue<SseEmitter.SseEventBuilder> fila;
+
+        /**
+         * Se há uma tarefa de envio agendada ou em execução para a conexão.
+         */
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        /**
+         * A última sequência publicada quando a conexão foi admitida, até a qual as alterações perdidas são lidas do banco.
+         */
+        private volatile long reproduzirAte;
+
+        private volatile boolean encerrado;
+
+        // Estado da tarefa de envio
+        private boolean reproduzido;
+
+        private Assinante(SseEmitter emitter, Long ultimaSequencia, int tamanhoFila) {
+            this.emitter = emitter;
+            this.ultimaSequencia = ultimaSequencia;
+            this.fila = new LinkedBlockingQueue<>(tamanhoFila);
+        }
+
+    }
+
+}
@@ -2,29 +2,70 @@ package com.cadastroprofissional.simples.service;
 
 import com.cadastroprofissional.simples.model.Contato;
 import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
 import com.cadastroprofissional.simples.model.input.ContatoInput;
 import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
 import com.cadastroprofissional.simples.repository.ContatoRepository;
+import com.cadastroprofissional.simples.repository.memoria.FiltroTelefones;
+import com.cadastroprofissional.simples.repository.memoria.ModeloLeituraMemoria;
 import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.MetricasUtil;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
+import com.cadastroprofissional.simples.util.TelefoneUtil;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
 import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
 import com.cadastroprofissional.simples.util.exception.TelefoneInvalidoException;
 import com.cadastroprofissional.simples.util.exception.TelefoneJaCadastradoException;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricasUtil.METRICA_SERVICO, histogram = true)
+@Profile("!reactive")
 @AllArgsConstructor
 public class ContatoService {
 
     private final ContatoRepository repository;
 
+    /**
+     * O registro de alterações publicado pelo feed de alterações, gravado na mesma transação dos contatos.
+     */
+    private final AlteracaoRepository alteracaoRepository;
+
     private final ProfissionalService profissionalService;
 
+    /**
+     * O modelo de leitura em memória, presente apenas com {@code cadastro.modelo-leitura.memoria=true}.
+     */
+    private final Optional<ModeloLeituraMemoria> modeloLeitura;
+
+    /**
+     * O filtro dos telefones cadastrados, presente apenas com {@code cadastro.filtro-telefones.habilitado=true}.
+     */
+    private final Optional<FiltroTelefones> filtroTelefones;
+
     /**
      * Retorna um contato com base no ID fornecido, se existir.
      *
@@ -33,101 +74,306 @@ public class ContatoService {
      * @return O objeto Contato correspondente ao ID fornecido.
      * @throws EntidadeNaoExistenteException Se o contato não existir no repositório.
      */
+    @Transactional(readOnly = true)
     public Contato findContatoById(Long contatoId) {
         return this.repository.findContatoByIdAndProfissionalAtivoIsTrue(contatoId).orElseThrow(() -> new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_CONTATO_NOT_EXISTS));
     }
 
+    /**
+     * Busca um contato pelo ID no modelo de leitura em memória, sem abrir transação.
+     *
+     * @param contatoId O ID do contato a ser encontrado.
+     * @return O contato com a sua versão somada à do seu profissional, ou vazio se o modelo de leitura em memória estiver desabilitado.
+     * @throws EntidadeNaoExistenteException Se o modelo estiver habilitado e o contato não for encontrado.
+     */
+    public Optional<VersionadoDTO<ContatoDTO>> findContatoEmMemoria(Long contatoId) {
+        if (this.modeloLeitura.isEmpty()) {
+            return Optional.empty();
+        }
+        VersionadoDTO<ContatoDTO> contato = this.modeloLeitura.get().buscarContato(contatoId);
+        if (contato == null) {
+            throw new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_CONTATO_NOT_EXISTS);
+        }
+        return Optional.of(contato);
+    }
+
+    /**
+     * Retorna a versão de um contato somada à do seu profissional, sem carregar as entidades.
+     * Permite responder a requisições condicionais sem ler o contato.
+     *
+     * @param contatoId O ID do contato.
+     * @return A versão do contato somada à do seu profissional.
+     * @throws EntidadeNaoExistenteException Se o contato não existir no repositório.
+     */
+    @Transactional(readOnly = true)
+    public long findVersaoContato(Long contatoId) {
+        return this.repository.findVersao(contatoId).orElseThrow(() -> new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_CONTATO_NOT_EXISTS));
+    }
+
+    /**
+     * Resume o estado da listagem de contatos de profissionais ativos, usado como ETag das listagens.
+     * A agregação não lê os registros, então é bem mais barata que a própria listagem.
+     *
+     * @return A quantidade, a soma dos IDs e a soma das versões dos contatos.
+     */
+    @Transactional(readOnly = true)
+    public VersaoColecaoDTO findVersaoContatos() {
+        return this.repository.findVersaoColecao();
+    }
+
+    /**
+     * Resume o estado da listagem de contatos pelo modelo de leitura em memória, sem abrir transação.
+     *
+     * @return O resumo, ou vazio se o modelo em memória estiver desabilitado.
+     */
+    public Optional<VersaoColecaoDTO> findVersaoContatosEmMemoria() {
+        return this.modeloLeitura.map(ModeloLeituraMemoria::versaoContatos);
+    }
+
     /**
      * Retorna uma lista de contatos filtrada com base nos parâmetros fornecidos.
+     * Apenas as colunas dos campos solicitados são lidas do banco de dados.
      *
      * @author Matheus Abreu Magalhães
      * @param q A string de consulta para filtrar os contatos.
      * @param fields Uma lista de campos pelos quais os contatos devem ser filtrados.
      * @return Uma lista de objetos ContatoDTO filtrada com base nos parâmetros fornecidos.
      */
+    @Transactional(readOnly = true)
     public List<ContatoDTO> findAllContatos(String q, List<String> fields) {
-        List<ContatoDTO> contatosFiltrados = this.repository.findByAnyColumn(q).stream().map(cont -> cont.toDto()).collect(Collectors.toList());
-
-        List<ContatoDTO> contatosSelecionados = new ArrayList<>();
-
-        if(fields != null && !fields.isEmpty()){
-            for (ContatoDTO contato : contatosFiltrados) {
-
-                ContatoDTO contatoSelecionado = new ContatoDTO();
-
-                for (String field : fields) {
-                    if(field != null) {
-                        switch (field) {
-                            case "id" -> contatoSelecionado.setId(contato.getId());
-                            case "nome" -> contatoSelecionado.setNome(contato.getNome());
-                            case "contato" -> contatoSelecionado.setContato(contato.getContato());
-                            case "createdDate" -> contatoSelecionado.setCreatedDate(contato.getCreatedDate());
-                            case "profissional" -> contatoSelecionado.setProfissional(contato.getProfissional());
-                        }
-                    }
-                }
-                contatosSelecionados.add(contatoSelecionado);
-            }
+        List<ContatoDTO> contatos = this.repository.findByAnyColumn(q, fields);
+        MetricasUtil.LINHAS_CONTATOS.record(contatos.size());
+        return contatos;
+    }
+
+    /**
+     * Lista os contatos pelo modelo de leitura em memória, sem abrir transação.
+     *
+     * @param q A string de consulta para filtrar os contatos.
+     * @param fields Uma lista de campos pelos quais os contatos devem ser filtrados.
+     * @return Os contatos, ou vazio se o modelo em memória estiver desabilitado ou a consulta for uma busca por texto.
+     */
+    public Optional<List<ContatoDTO>> findAllContatosEmMemoria(String q, List<String> fields) {
+        return this.modeloLeitura.map(modelo -> modelo.listarContatos(q, fields, 0L, Integer.MAX_VALUE)).map(pagina -> {
+            MetricasUtil.LINHAS_CONTATOS.record(pagina.getItens().size());
+            return pagina.getItens();
+        });
+    }
+
+    /**
+     * Retorna uma página de contatos usando paginação por cursor (keyset) sobre o ID.
+     *
+     * @param q A string de consulta para filtrar os contatos.
+     * @param fields Uma lista de campos pelos quais os contatos devem ser filtrados.
+     * @param after O ID do último contato recebido na página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de contatos na página, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return A página de contatos e o cursor da próxima página, que é null quando não há mais registros.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ContatoDTO> findAllContatos(String q, List<String> fields, Long after, Integer limit) {
+        PaginaDTO<ContatoDTO> pagina = this.repository.findPageByAnyColumn(q, fields, PaginacaoUtil.cursor(after), PaginacaoUtil.tamanhoPagina(limit));
+        MetricasUtil.LINHAS_CONTATOS.record(pagina.getItens().size());
+        return pagina;
+    }
+
+    /**
+     * Retorna uma página de contatos pelo modelo de leitura em memória, sem abrir transação.
+     *
+     * @param q A string de consulta para filtrar os contatos.
+     * @param fields Uma lista de campos pelos quais os contatos devem ser filtrados.
+     * @param after O ID do último contato recebido na página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de contatos na página, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return A página, ou vazio se o modelo em memória estiver desabilitado ou a consulta for uma busca por texto.
+     */
+    public Optional<PaginaDTO<ContatoDTO>> findAllContatosEmMemoria(String q, List<String> fields, Long after, Integer limit) {
+        return this.modeloLeitura.map(modelo -> modelo.listarContatos(q, fields, PaginacaoUtil.cursor(after), PaginacaoUtil.tamanhoPagina(limit)))
+                .map(pagina -> {
+                    MetricasUtil.LINHAS_CONTATOS.record(pagina.getItens().size());
+                    return pagina;
+                });
+    }
+
+    /**
+     * Retorna uma página dos contatos de um profissional ativo, usando paginação por cursor (keyset) sobre o ID.
+     * A consulta percorre o índice (PROFISSIONAL_ID, CONTATO_ID) a partir do cursor, então o custo depende do tamanho da
+     * página, e não da quantidade de contatos cadastrados.
+     * A existência do profissional é verificada na mesma réplica da listagem, sem passar pelo cache de profissionais,
+     * que só é preenchido pelo primário.
+     *
+     * @param profissionalId O ID do profissional.
+     * @param fields Uma lista de campos a serem incluídos nos contatos.
+     * @param after O ID do último contato recebido na página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de contatos na página, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return A página de contatos e o cursor da próxima página, que é null quando não há mais registros.
+     * @throws EntidadeNaoExistenteException Se o profissional não existir ou estiver inativo.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ContatoDTO> findContatosByProfissional(Long profissionalId, List<String> fields, Long after, Integer limit) {
+        if (this.profissionalService.findIdsAtivos(List.of(profissionalId)).isEmpty()) {
+            throw new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS);
         }
+        PaginaDTO<ContatoDTO> pagina = this.repository.findPageByProfissional(profissionalId, fields, PaginacaoUtil.cursor(after),
+                PaginacaoUtil.tamanhoPagina(limit));
+        MetricasUtil.LINHAS_CONTATOS.record(pagina.getItens().size());
+        return pagina;
+    }
 
-        if(contatosSelecionados != null && !contatosSelecionados.isEmpty()) {
-            return contatosSelecionados;
-        }else {
-            return contatosFiltrados;
+    /**
+     * Percorre todos os contatos filtrados, entregando cada um ao consumidor à medida que é lido do cursor JDBC.
+     * A memória utilizada não depende do tamanho da tabela.
+     *
+     * @param q A string de consulta para filtrar os contatos.
+     * @param fields Uma lista de campos pelos quais os contatos devem ser filtrados.
+     * @param consumidor O consumidor que recebe cada contato.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllContatos(String q, List<String> fields, Consumer<ContatoDTO> consumidor) {
+        try (Stream<ContatoDTO> contatos = this.repository.streamByAnyColumn(q, fields)) {
+            contatos.forEach(consumidor);
         }
     }
 
     /**
      * Cria um novo contato com base nos dados fornecidos.
+     * O telefone é gravado na forma canônica, apenas com dígitos. A duplicidade é detectada pela restrição de unicidade
+     * do banco no próprio insert, sem consulta prévia e sem janela para inserções concorrentes.
+     * A existência do profissional é verificada no banco, e não no cache de profissionais, que pode guardar por alguns
+     * minutos um profissional excluído ao mesmo tempo que era lido; o contato é associado a uma referência a ele.
      *
      * @author Matheus Abreu Magalhães
      * @param input O objeto ContatoInput contendo os dados do novo contato a ser criado.
      * @return O objeto Contato recém-criado.
      * @throws TelefoneInvalidoException Se o telefone fornecido for inválido.
      * @throws TelefoneJaCadastradoException Se o telefone fornecido já estiver cadastrado para outro contato.
+     * @throws EntidadeNaoExistenteException Se o profissional não existir ou estiver inativo.
      */
+    @Transactional
     public Contato createContato(ContatoInput input) {
-        this.profissionalService.findProfissionalById(input.getProfissional());
-
-        if (!this.validarTelefone(input.getContato())) {
+        String telefone = TelefoneUtil.normalizar(input.getContato());
+        if (telefone == null) {
             throw new TelefoneInvalidoException(MensagemUtil.MSG_TELEFONE_INVALIDO);
         }
-
-        if(this.validaTelefoneExistente(input.getContato())) {
-            throw new TelefoneJaCadastradoException(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO);
+        if (input.getProfissional() == null || this.profissionalService.findIdsAtivos(List.of(input.getProfissional())).isEmpty()) {
+            throw new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS);
         }
 
+        input.setContato(telefone);
         Contato contato = new Contato(input);
+        contato.setProfissional(this.profissionalService.getReferencia(input.getProfissional()));
         contato.setCreatedDate(LocalDate.now());
-        return this.repository.save(contato);
+        Contato gravado = this.gravar(contato);
+        this.registrar(gravado.getId(), OperacaoAlteracaoEnum.CRIADO);
+        this.filtroTelefones.ifPresent(filtro -> filtro.registrar(List.of(telefone)));
+        return gravado;
+    }
+
+    /**
+     * Cria os contatos de um lote em uma única transação, com as mesmas regras de {@link #createContato(ContatoInput)}.
+     * A existência dos profissionais e a duplicidade dos telefones são verificadas com uma consulta cada para todo o lote,
+     * e os contatos válidos são inseridos em batch no commit. Linhas inválidas são rejeitadas sem interromper as demais.
+     * Com o filtro de telefones habilitado, só os telefones que ele não descarta são consultados, e a consulta é evitada
+     * quando ele descarta todos.
+     * Se outra transação gravar o mesmo telefone ao mesmo tempo, ou se o telefone tiver sido gravado fora desta instância
+     * e o filtro o descartar, a restrição de unicidade faz o commit do lote falhar; o lote é então gravado de novo por
+     * {@link #createContatosSemFiltro(List, int)}.
+     *
+     * @param inputs Os contatos do lote.
+     * @param primeiraLinha O número da primeira linha do lote na entrada, usado no relatório.
+     * @return O resultado de cada linha do lote, na ordem recebida.
+     */
+    @Transactional
+    public List<ResultadoLinhaLoteDTO> createContatos(List<ContatoInput> inputs, int primeiraLinha) {
+        return this.gravarContatos(inputs, primeiraLinha, true);
+    }
+
+    /**
+     * Cria os contatos de um lote como {@link #createContatos(List, int)}, mas consultando no banco todos os telefones do
+     * lote, sem o filtro de telefones. Usado na nova tentativa de um lote que falhou pela restrição de unicidade: o
+     * telefone que o filtro descartou passa a ser rejeitado apenas na sua linha, e é registrado no filtro.
+     *
+     * @param inputs Os contatos do lote.
+     * @param primeiraLinha O número da primeira linha do lote na entrada, usado no relatório.
+     * @return O resultado de cada linha do lote, na ordem recebida.
+     */
+    @Transactional
+    public List<ResultadoLinhaLoteDTO> createContatosSemFiltro(List<ContatoInput> inputs, int primeiraLinha) {
+        return this.gravarContatos(inputs, primeiraLinha, false);
+    }
+
+    private List<ResultadoLinhaLoteDTO> gravarContatos(List<ContatoInput> inputs, int primeiraLinha, boolean usarFiltro) {
+        Set<Long> profissionaisAtivos = this.profissionalService.findIdsAtivos(inputs.stream()
+                .map(ContatoInput::getProfissional).filter(Objects::nonNull).collect(Collectors.toSet()));
+        List<String> telefones = inputs.stream().map(input -> TelefoneUtil.normalizar(input.getContato())).collect(Collectors.toList());
+        Set<String> telefonesUsados = new HashSet<>(this.findTelefonesExistentes(
+                telefones.stream().filter(Objects::nonNull).collect(Collectors.toSet()), usarFiltro));
+
+        List<ResultadoLinhaLoteDTO> resultados = new ArrayList<>(inputs.size());
+        List<Contato> gravados = new ArrayList<>(inputs.size());
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < inputs.size(); i++) {
+            ContatoInput input = inputs.get(i);
+            String telefone = telefones.get(i);
+            int linha = primeiraLinha + i;
+
+            if (!profissionaisAtivos.contains(input.getProfissional())) {
+                resultados.add(ResultadoLinhaLoteDTO.rejeitado(linha, MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS));
+            } else if (telefone == null) {
+                resultados.add(ResultadoLinhaLoteDTO.rejeitado(linha, MensagemUtil.MSG_TELEFONE_INVALIDO));
+            } else if (!telefonesUsados.add(telefone)) {
+                resultados.add(ResultadoLinhaLoteDTO.rejeitado(linha, MensagemUtil.MSG_TELEFONE_JA_CADASTRADO));
+            } else {
+                input.setContato(telefone);
+                Contato contato = new Contato(input);
+                contato.setProfissional(this.profissionalService.getReferencia(input.getProfissional()));
+                contato.setCreatedDate(hoje);
+                Contato gravado = this.repository.save(contato);
+                gravados.add(gravado);
+                resultados.add(ResultadoLinhaLoteDTO.gravado(linha, StatusLinhaLoteEnum.CRIADO, gravado.getId()));
+            }
+        }
+        this.alteracaoRepository.registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.CRIADO,
+                gravados.stream().map(Contato::getId).collect(Collectors.toList()));
+        this.modeloLeitura.ifPresent(modelo -> modelo.registrarContatos(gravados));
+        this.filtroTelefones.ifPresent(filtro -> filtro.registrar(gravados.stream().map(Contato::getContato).collect(Collectors.toList())));
+        return resultados;
     }
 
     /**
      * Atualiza um contato existente com base no ID fornecido e nos dados de entrada.
+     * Campos null não são alterados; o telefone, quando informado, é validado e gravado na forma canônica.
      *
      * @author Matheus Abreu Magalhães
      * @param contatoId O ID do contato a ser atualizado.
      * @param input O objeto ContatoUpdateInput contendo os dados atualizados do contato.
      * @return O objeto Contato atualizado.
      * @throws TelefoneInvalidoException Se o telefone fornecido for inválido.
+     * @throws TelefoneJaCadastradoException Se o telefone fornecido já estiver cadastrado para outro contato.
      * @throws EntidadeNaoExistenteException Se o contato com o ID fornecido não existir.
      */
+    @Transactional
     public Contato updateContato(Long contatoId, ContatoUpdateInput input) {
         Contato contatoExistente = findContatoById(contatoId);
+        String telefoneAnterior = contatoExistente.getContato();
 
-        if (!this.validarTelefone(input.getContato())) {
-            throw new TelefoneInvalidoException(MensagemUtil.MSG_TELEFONE_INVALIDO);
+        if(input.getContato() != null) {
+            String telefone = TelefoneUtil.normalizar(input.getContato());
+            if (telefone == null) {
+                throw new TelefoneInvalidoException(MensagemUtil.MSG_TELEFONE_INVALIDO);
+            }
+            contatoExistente.setContato(telefone);
         }
 
         if(input.getNome() != null) {
             contatoExistente.setNome(input.getNome());
         }
 
-        if(input.getContato() != null) {
-            contatoExistente.setContato(input.getContato());
+        Contato gravado = this.gravar(contatoExistente);
+        this.registrar(contatoId, OperacaoAlteracaoEnum.ALTERADO);
+        String telefoneAtual = contatoExistente.getContato();
+        if (!Objects.equals(telefoneAnterior, telefoneAtual)) {
+            this.filtroTelefones.ifPresent(filtro -> filtro.substituir(telefoneAnterior, telefoneAtual));
         }
-
-        return this.repository.save(contatoExistente);
+        return gravado;
     }
 
     /**
@@ -137,36 +383,73 @@ public class ContatoService {
      * @param contatoId O ID do contato a ser excluído.
      * @throws EntidadeNaoExistenteException Se o contato com o ID fornecido não existir.
      */
+    @Transactional
     public void deleteContato(Long contatoId) {
-        this.findContatoById(contatoId);
-        this.repository.deleteById(contatoId);
+        Contato contato = this.findContatoById(contatoId);
+        this.repository.delete(contato);
+        this.registrar(contatoId, OperacaoAlteracaoEnum.EXCLUIDO);
+        this.modeloLeitura.ifPresent(modelo -> modelo.removerContato(contatoId));
+        this.filtroTelefones.ifPresent(filtro -> filtro.remover(contato.getContato()));
     }
 
     /**
-     * Valida um número de telefone.
+     * Valida um número de telefone, aceitando a pontuação comum de telefone.
      *
      * @author Matheus Abreu Magalhães
      * @param telefone O número de telefone a ser validado.
      * @return true se o número de telefone for válido, caso contrário, false.
+     * @see TelefoneUtil#isValido(String)
      */
     public static boolean validarTelefone(String telefone) {
-        if (telefone == null || telefone.isEmpty()) {
-            return false;
+        return TelefoneUtil.isValido(telefone);
+    }
+
+    /**
+     * Retorna, entre os telefones informados, os que já estão cadastrados. Com o filtro de telefones habilitado, apenas
+     * os telefones que ele não descarta são consultados, e nenhuma consulta é feita se ele descartar todos. Sem o filtro,
+     * todos são consultados, e os encontrados são registrados nele, pois podem ter sido gravados fora desta instância.
+     *
+     * @param telefones Os telefones na forma canônica.
+     * @param usarFiltro Se o filtro de telefones, quando habilitado, deve ser usado.
+     * @return Os telefones já cadastrados.
+     */
+    private Set<String> findTelefonesExistentes(Set<String> telefones, boolean usarFiltro) {
+        if (this.filtroTelefones.isEmpty() || !usarFiltro) {
+            Set<String> existentes = this.repository.findContatosExistentes(telefones);
+            this.filtroTelefones.ifPresent(filtro -> filtro.registrar(existentes));
+            return existentes;
         }
-        telefone = telefone.trim();
+        Set<String> possiveis = this.filtroTelefones.get().possiveisCadastrados(telefones);
+        return possiveis.isEmpty() ? Set.of() : this.repository.findContatosExistentes(possiveis);
+    }
 
-        return telefone.matches("[0-9]+") && (telefone.length() == 10 || telefone.length() == 11);
+    /**
+     * Registra a operação feita no contato no registro de alterações, na transação atual.
+     */
+    private void registrar(Long contatoId, OperacaoAlteracaoEnum operacao) {
+        this.alteracaoRepository.registrar(EntidadeAlteracaoEnum.CONTATO, operacao, List.of(contatoId));
     }
 
     /**
-     * Verifica se um número de telefone já está cadastrado no banco de dados.
+     * Grava o contato imediatamente, traduzindo a violação da restrição de unicidade do telefone, e o registra no modelo
+     * de leitura em memória, se habilitado, para ser aplicado após o commit.
      *
-     * @author Matheus Abreu Magalhães
-     * @param contato O número de telefone a ser verificado.
-     * @return true se o número de telefone já estiver cadastrado, caso contrário, false.
+     * @param contato O contato a ser gravado.
+     * @return O contato gravado.
+     * @throws TelefoneJaCadastradoException Se o telefone já estiver cadastrado para outro contato.
      */
-    private Boolean validaTelefoneExistente(String contato) {
-        return this.repository.existsContatoByContato(contato);
+    private Contato gravar(Contato contato) {
+        try {
+            Contato gravado = this.repository.saveAndFlush(contato);
+            this.modeloLeitura.ifPresent(modelo -> modelo.registrarContatos(List.of(gravado)));
+            return gravado;
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toUpperCase().contains(Contato.UK_TELEFONE)) {
+                throw new TelefoneJaCadastradoException(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO);
+            }
+            throw ex;
+        }
     }
 
 }
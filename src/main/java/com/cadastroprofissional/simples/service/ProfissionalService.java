@@ -1,27 +1,69 @@
 package com.cadastroprofissional.simples.service;
 
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
 import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
 import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
 import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.repository.memoria.ModeloLeituraMemoria;
 import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.MetricasUtil;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
 import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
 import com.cadastroprofissional.simples.util.exception.CargoInvalidoException;
 import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricasUtil.METRICA_SERVICO, histogram = true)
+@Profile("!reactive")
 @AllArgsConstructor
 public class ProfissionalService {
 
+    /**
+     * Nome do cache de profissionais ativos, indexado pelo ID. Tamanho e expiração são configurados em {@code spring.cache.caffeine.spec}.
+     */
+    public static final String CACHE_PROFISSIONAIS = "profissionais";
+
     private final ProfissionalRepository repository;
 
+    /**
+     * O registro de alterações publicado pelo feed de alterações, gravado na mesma transação dos profissionais.
+     */
+    private final AlteracaoRepository alteracaoRepository;
+
+    /**
+     * O modelo de leitura em memória, presente apenas com {@code cadastro.modelo-leitura.memoria=true}.
+     */
+    private final Optional<ModeloLeituraMemoria> modeloLeitura;
+
     /**
      * Busca um profissional pelo ID, garantindo que esteja ativo.
      *
@@ -30,53 +72,170 @@ public class ProfissionalService {
      * @return O {@link Profissional} encontrado.
      * @throws EntidadeNaoExistenteException Se o profissional não for encontrado.
      */
+    @Transactional(readOnly = true)
     public Profissional findProfissionalById(Long profissionalId) {
         return this.repository.findProfissionalByIdAndAtivoIsTrue(profissionalId)
                 .orElseThrow(() -> new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS));
     }
 
+    /**
+     * Busca um profissional ativo pelo ID, com a sua versão, para as leituras que não alteram o profissional.
+     * O resultado fica em cache e é compartilhado entre as requisições, por isso é um DTO que ninguém altera, e não a
+     * entidade, que pertence ao contexto de persistência de quem a carregou. Profissionais inexistentes ou inativos não
+     * são armazenados, pois geram exceção. As alterações removem o profissional do cache depois do commit (ver
+     * {@link com.cadastroprofissional.simples.config.CacheConfig}).
+     * A transação não é somente leitura para que a consulta vá ao primário: lido de uma réplica atrasada, um profissional
+     * recém-alterado ou excluído voltaria ao cache na versão anterior e ficaria lá até expirar. Por isso não deve ser
+     * chamado dentro de uma transação somente leitura, que já está presa a uma réplica.
+     *
+     * @param profissionalId O ID do profissional a ser buscado.
+     * @return O profissional com a sua versão.
+     * @throws EntidadeNaoExistenteException Se o profissional não for encontrado.
+     */
+    @Transactional
+    @Cacheable(cacheNames = CACHE_PROFISSIONAIS, key = "#profissionalId")
+    public VersionadoDTO<ProfissionalDTO> findProfissionalVersionado(Long profissionalId) {
+        Profissional profissional = this.findProfissionalById(profissionalId);
+        return new VersionadoDTO<>(profissional.toDTO(), profissional.getVersao());
+    }
+
+    /**
+     * Busca um profissional ativo pelo ID no modelo de leitura em memória, sem abrir transação.
+     *
+     * @param profissionalId O ID do profissional a ser buscado.
+     * @return O profissional com a sua versão, ou vazio se o modelo de leitura em memória estiver desabilitado.
+     * @throws EntidadeNaoExistenteException Se o modelo estiver habilitado e o profissional não for encontrado.
+     */
+    public Optional<VersionadoDTO<ProfissionalDTO>> findProfissionalEmMemoria(Long profissionalId) {
+        if (this.modeloLeitura.isEmpty()) {
+            return Optional.empty();
+        }
+        VersionadoDTO<ProfissionalDTO> profissional = this.modeloLeitura.get().buscarProfissional(profissionalId);
+        if (profissional == null) {
+            throw new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS);
+        }
+        return Optional.of(profissional);
+    }
+
+    /**
+     * Retorna, entre os IDs informados, os que pertencem a profissionais ativos.
+     * Usado pelas importações em lote para validar todas as linhas de um lote com uma única consulta.
+     *
+     * @param ids Os IDs dos profissionais a serem verificados.
+     * @return Os IDs dos profissionais ativos.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findIdsAtivos(Collection<Long> ids) {
+        return this.repository.findIdsAtivos(ids);
+    }
+
+    /**
+     * Retorna uma referência ao profissional sem consultá-lo, para associá-lo a um contato pelo ID.
+     * Um profissional criado apenas com o ID não serve para isso, pois sem a versão o Hibernate não o reconhece como existente.
+     *
+     * @param profissionalId O ID de um profissional que já se sabe existir.
+     * @return A referência ao profissional.
+     */
+    public Profissional getReferencia(Long profissionalId) {
+        return this.repository.getReferenceById(profissionalId);
+    }
+
     /**
      * Busca todos os profissionais e filtra os resultados com base nos parâmetros fornecidos.
+     * Apenas as colunas dos campos solicitados são lidas do banco de dados.
      *
      * @author Matheus Abreu Magalhães
      * @param q A string de consulta para filtrar os profissionais.
      * @param fields Uma lista de campos a serem incluídos nos resultados filtrados.
      * @return Uma lista de objetos {@code ProfissionalDTO} contendo os profissionais filtrados.
      */
+    @Transactional(readOnly = true)
     public List<ProfissionalDTO> findAllProfissionais(String q, List<String> fields) {
+        List<ProfissionalDTO> profissionais = this.repository.findByAnyColumn(q, fields);
+        MetricasUtil.LINHAS_PROFISSIONAIS.record(profissionais.size());
+        return profissionais;
+    }
 
-        List<ProfissionalDTO> profissionaisFiltrados = this.repository.findByAnyColumn(q).stream().map(prof -> prof.toDTO()).collect(Collectors.toList());
-
-        List<ProfissionalDTO> profissionaisSelecionados = new ArrayList<>();
+    /**
+     * Lista os profissionais pelo modelo de leitura em memória, sem abrir transação.
+     *
+     * @param q A string de consulta para filtrar os profissionais.
+     * @param fields Uma lista de campos a serem incluídos nos resultados filtrados.
+     * @return Os profissionais, ou vazio se o modelo em memória estiver desabilitado ou a consulta for uma busca por texto.
+     */
+    public Optional<List<ProfissionalDTO>> findAllProfissionaisEmMemoria(String q, List<String> fields) {
+        return this.modeloLeitura.map(modelo -> modelo.listarProfissionais(q, fields, 0L, Integer.MAX_VALUE)).map(pagina -> {
+            MetricasUtil.LINHAS_PROFISSIONAIS.record(pagina.getItens().size());
+            return pagina.getItens();
+        });
+    }
 
-        if(fields != null && !fields.isEmpty()){
+    /**
+     * Retorna uma página de profissionais ativos usando paginação por cursor (keyset) sobre o ID.
+     *
+     * @param q A string de consulta para filtrar os profissionais.
+     * @param fields Uma lista de campos a serem incluídos nos resultados filtrados.
+     * @param after O ID do último profissional recebido na página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de profissionais na página, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return A página de profissionais e o cursor da próxima página, que é null quando não há mais registros.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProfissionalDTO> findAllProfissionais(String q, List<String> fields, Long after, Integer limit) {
+        PaginaDTO<ProfissionalDTO> pagina = this.repository.findPageByAnyColumn(q, fields, PaginacaoUtil.cursor(after), PaginacaoUtil.tamanhoPagina(limit));
+        MetricasUtil.LINHAS_PROFISSIONAIS.record(pagina.getItens().size());
+        return pagina;
+    }
 
-            for (ProfissionalDTO profissional : profissionaisFiltrados) {
+    /**
+     * Retorna uma página de profissionais pelo modelo de leitura em memória, sem abrir transação.
+     *
+     * @param q A string de consulta para filtrar os profissionais.
+     * @param fields Uma lista de campos a serem incluídos nos resultados filtrados.
+     * @param after O ID do último profissional recebido na página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de profissionais na página, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return A página, ou vazio se o modelo em memória estiver desabilitado ou a consulta for uma busca por texto.
+     */
+    public Optional<PaginaDTO<ProfissionalDTO>> findAllProfissionaisEmMemoria(String q, List<String> fields, Long after, Integer limit) {
+        return this.modeloLeitura.map(modelo -> modelo.listarProfissionais(q, fields, PaginacaoUtil.cursor(after), PaginacaoUtil.tamanhoPagina(limit)))
+                .map(pagina -> {
+                    MetricasUtil.LINHAS_PROFISSIONAIS.record(pagina.getItens().size());
+                    return pagina;
+                });
+    }
 
-                ProfissionalDTO profissionalSelecionado = new ProfissionalDTO();
+    /**
+     * Resume o estado da listagem de profissionais ativos, usado como ETag das listagens.
+     * A agregação não lê os registros, então é bem mais barata que a própria listagem.
+     *
+     * @return A quantidade, a soma dos IDs e a soma das versões dos profissionais ativos.
+     */
+    @Transactional(readOnly = true)
+    public VersaoColecaoDTO findVersaoProfissionais() {
+        return this.repository.findVersaoColecao();
+    }
 
-                for (String field : fields) {
-                    if(field != null) {
-                        switch (field) {
-                            case "id" -> profissionalSelecionado.setId(profissional.getId());
-                            case "nome" -> profissionalSelecionado.setNome(profissional.getNome());
-                            case "cargo" -> profissionalSelecionado.setCargo(profissional.getCargo());
-                            case "dataNascimento" ->
-                                    profissionalSelecionado.setDataNascimento(profissional.getDataNascimento());
-                            case "createdDate" -> profissionalSelecionado.setCreatedDate(profissional.getCreatedDate());
-                        }
-                    }
-                }
-                profissionaisSelecionados.add(profissionalSelecionado);
-            }
-        }
+    /**
+     * Resume o estado da listagem de profissionais ativos pelo modelo de leitura em memória, sem abrir transação.
+     *
+     * @return O resumo, ou vazio se o modelo em memória estiver desabilitado.
+     */
+    public Optional<VersaoColecaoDTO> findVersaoProfissionaisEmMemoria() {
+        return this.modeloLeitura.map(ModeloLeituraMemoria::versaoProfissionais);
+    }
 
-        if(profissionaisSelecionados != null && !profissionaisSelecionados.isEmpty()) {
-            return profissionaisSelecionados;
-        } else {
-            return profissionaisFiltrados;
+    /**
+     * Percorre todos os profissionais ativos filtrados, entregando cada um ao consumidor à medida que é lido do cursor JDBC.
+     * A memória utilizada não depende do tamanho da tabela.
+     *
+     * @param q A string de consulta para filtrar os profissionais.
+     * @param fields Uma lista de campos a serem incluídos nos resultados filtrados.
+     * @param consumidor O consumidor que recebe cada profissional.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProfissionais(String q, List<String> fields, Consumer<ProfissionalDTO> consumidor) {
+        try (Stream<ProfissionalDTO> profissionais = this.repository.streamByAnyColumn(q, fields)) {
+            profissionais.forEach(consumidor);
         }
-
     }
 
     /**
@@ -88,16 +247,100 @@ public class ProfissionalService {
      * @param input O objeto de entrada {@link ProfissionalInput} contendo os dados do novo profissional.
      * @return O {@link Profissional} recém-criado.
      */
+    @Transactional
     public Profissional createProfissional(ProfissionalInput input) {
-        input.setCargo(input.getCargo().toUpperCase());
-        try {
-            CargoEnum.valueOf(input.getCargo().toUpperCase());
-        } catch (IllegalArgumentException ex) {
+        CargoEnum cargo = CargoEnum.porNome(input.getCargo());
+        if (cargo == null) {
             throw new CargoInvalidoException(MensagemUtil.CARGO_INVALIDO);
         }
+        input.setCargo(cargo.name());
         Profissional profissional = new Profissional(input);
         profissional.setCreatedDate(LocalDate.now());
-        return this.repository.save(profissional);
+        return this.registrar(this.repository.save(profissional), OperacaoAlteracaoEnum.CRIADO);
+    }
+
+    /**
+     * Cria ou atualiza os profissionais de um lote em uma única transação, usando nome e data de nascimento como chave natural.
+     * Os profissionais já cadastrados com as chaves do lote são lidos com uma única consulta; os existentes, inclusive
+     * inativos, são atualizados e reativados, e os demais são inseridos em batch no commit. Entre vários cadastros com a
+     * mesma chave, é atualizado o ativo de menor ID ou, se não houver ativo, o inativo de menor ID.
+     * Antes da leitura, as chaves do lote são bloqueadas até o commit: uma importação simultânea com as mesmas chaves
+     * espera este lote terminar e então lê os registros gravados por ele, em vez de inseri-los de novo.
+     * O cache de profissionais é esvaziado, pois qualquer registro do lote pode ter sido alterado.
+     *
+     * @param inputs Os profissionais do lote.
+     * @param primeiraLinha O número da primeira linha do lote na entrada, usado no relatório.
+     * @return O resultado de cada linha do lote, na ordem recebida.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CACHE_PROFISSIONAIS, allEntries = true)
+    public List<ResultadoLinhaLoteDTO> upsertProfissionais(List<ProfissionalInput> inputs, int primeiraLinha) {
+        this.repository.bloquearChavesNaturais(inputs.stream().filter(input -> input.getNome() != null)
+                .map(input -> chaveNatural(input.getNome(), input.getDataNascimento())).collect(Collectors.toSet()));
+        Map<String, Profissional> existentes = new HashMap<>();
+        for (Profissional profissional : this.repository.findByNomeIn(inputs.stream()
+                .map(ProfissionalInput::getNome).filter(Objects::nonNull).collect(Collectors.toSet()))) {
+            existentes.merge(chaveNatural(profissional.getNome(), profissional.getDataNascimento()), profissional, ProfissionalService::preferido);
+        }
+
+        List<ResultadoLinhaLoteDTO> resultados = new ArrayList<>(inputs.size());
+        List<Profissional> gravados = new ArrayList<>(inputs.size());
+        List<Profissional> criados = new ArrayList<>();
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < inputs.size(); i++) {
+            ProfissionalInput input = inputs.get(i);
+            int linha = primeiraLinha + i;
+            CargoEnum cargo = CargoEnum.porNome(input.getCargo());
+
+            if (input.getNome() == null || input.getNome().isBlank()) {
+                resultados.add(ResultadoLinhaLoteDTO.rejeitado(linha, MensagemUtil.MSG_NOME_OBRIGATORIO));
+            } else if (cargo == null) {
+                resultados.add(ResultadoLinhaLoteDTO.rejeitado(linha, MensagemUtil.CARGO_INVALIDO));
+            } else {
+                String chave = chaveNatural(input.getNome(), input.getDataNascimento());
+                Profissional profissional = existentes.get(chave);
+                if (profissional != null) {
+                    profissional.setCargo(cargo);
+                    profissional.setAtivo(true);
+                    gravados.add(profissional);
+                    resultados.add(ResultadoLinhaLoteDTO.gravado(linha, StatusLinhaLoteEnum.ATUALIZADO, profissional.getId()));
+                } else {
+                    profissional = new Profissional();
+                    profissional.setNome(input.getNome());
+                    profissional.setCargo(cargo);
+                    profissional.setDataNascimento(input.getDataNascimento());
+                    profissional.setCreatedDate(hoje);
+                    existentes.put(chave, this.repository.save(profissional));
+                    gravados.add(profissional);
+                    criados.add(profissional);
+                    resultados.add(ResultadoLinhaLoteDTO.gravado(linha, StatusLinhaLoteEnum.CRIADO, profissional.getId()));
+                }
+            }
+        }
+        this.modeloLeitura.ifPresent(modelo -> modelo.registrarProfissionais(gravados));
+        // Um profissional criado e atualizado no mesmo lote é registrado apenas como criado
+        Set<Long> idsCriados = criados.stream().map(Profissional::getId).collect(Collectors.toSet());
+        this.alteracaoRepository.registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.CRIADO, idsCriados);
+        this.alteracaoRepository.registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.ALTERADO, gravados.stream()
+                .map(Profissional::getId).filter(id -> !idsCriados.contains(id)).collect(Collectors.toCollection(LinkedHashSet::new)));
+        return resultados;
+    }
+
+    /**
+     * Escolhe, entre dois cadastros com a mesma chave natural, o ativo ou, se ambos forem ativos ou inativos, o de menor ID.
+     */
+    private static Profissional preferido(Profissional atual, Profissional outro) {
+        if (atual.isAtivo() != outro.isAtivo()) {
+            return atual.isAtivo() ? atual : outro;
+        }
+        return atual.getId() <= outro.getId() ? atual : outro;
+    }
+
+    /**
+     * Monta a chave natural de um profissional a partir do nome e da data de nascimento.
+     */
+    private static String chaveNatural(String nome, LocalDate dataNascimento) {
+        return nome + '|' + dataNascimento;
     }
 
     /**
@@ -110,6 +353,8 @@ public class ProfissionalService {
      * @return O {@link Profissional} atualizado.
      * @throws EntidadeNaoExistenteException Se o profissional com o ID fornecido não existir.
      */
+    @Transactional
+    @CacheEvict(cacheNames = CACHE_PROFISSIONAIS, key = "#profissionalId")
     public Profissional updateProfissional(Long profissionalId, ProfissionalInput input) {
         Profissional ProfissionalExistente = findProfissionalById(profissionalId);
 
@@ -118,18 +363,18 @@ public class ProfissionalService {
         }
 
         if(input.getCargo() != null) {
-            try {
-                ProfissionalExistente.setCargo(CargoEnum.valueOf(input.getCargo().toUpperCase()));
-            } catch (IllegalArgumentException ex) {
+            CargoEnum cargo = CargoEnum.porNome(input.getCargo());
+            if (cargo == null) {
                 throw new CargoInvalidoException(MensagemUtil.CARGO_INVALIDO);
             }
+            ProfissionalExistente.setCargo(cargo);
         }
 
         if(input.getDataNascimento() != null) {
             ProfissionalExistente.setDataNascimento(input.getDataNascimento());
         }
 
-        return this.repository.save(ProfissionalExistente);
+        return this.registrar(this.repository.save(ProfissionalExistente), OperacaoAlteracaoEnum.ALTERADO);
     }
 
     /**
@@ -139,10 +384,22 @@ public class ProfissionalService {
      * @param profissionalId O ID do profissional a ser desativado.
      * @throws EntidadeNaoExistenteException Se o profissional com o ID fornecido não existir.
      */
+    @Transactional
+    @CacheEvict(cacheNames = CACHE_PROFISSIONAIS, key = "#profissionalId")
     public void deleteProfissional(Long profissionalId) {
         Profissional profissional = this.findProfissionalById(profissionalId);
         profissional.setAtivo(false);
-        this.repository.save(profissional);
+        this.registrar(this.repository.save(profissional), OperacaoAlteracaoEnum.EXCLUIDO);
+    }
+
+    /**
+     * Registra o profissional gravado no registro de alterações e no modelo de leitura em memória, se habilitado, para
+     * ser aplicado após o commit.
+     */
+    private Profissional registrar(Profissional profissional, OperacaoAlteracaoEnum operacao) {
+        this.alteracaoRepository.registrar(EntidadeAlteracaoEnum.PROFISSIONAL, operacao, List.of(profissional.getId()));
+        this.modeloLeitura.ifPresent(modelo -> modelo.registrarProfissionais(List.of(profissional)));
+        return profissional;
     }
 
 }
@@ -0,0 +1,151 @@
+package com.cadastroprofissional.simples.service.reactive;
+
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.input.ContatoInput;
+import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.model.reactive.ContatoRegistro;
+import com.cadastroprofissional.simples.repository.reactive.ContatoReactiveRepository;
+import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
+import com.cadastroprofissional.simples.util.TelefoneUtil;
+import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
+import com.cadastroprofissional.simples.util.exception.TelefoneInvalidoException;
+import com.cadastroprofissional.simples.util.exception.TelefoneJaCadastradoException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ContatoReactiveService {
+
+    private final ContatoReactiveRepository repository;
+
+    private final ProfissionalReactiveService profissionalService;
+
+    /**
+     * Busca um contato pelo ID, desde que o seu profissional esteja ativo.
+     *
+     * @param contatoId O ID do contato a ser encontrado.
+     * @return Um Mono com o {@link ContatoRegistro} encontrado.
+     *         Termina com {@link EntidadeNaoExistenteException} se o contato não existir.
+     */
+    public Mono<ContatoRegistro> findContatoById(Long contatoId) {
+        return this.repository.findByIdAndProfissionalAtivoIsTrue(contatoId)
+                .switchIfEmpty(Mono.error(() -> new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_CONTATO_NOT_EXISTS)));
+    }
+
+    /**
+     * Busca um contato pelo ID e o converte em DTO com o nome do seu profissional.
+     *
+     * @param contatoId O ID do contato a ser encontrado.
+     * @return Um Mono com o {@link ContatoDTO} encontrado.
+     *         Termina com {@link EntidadeNaoExistenteException} se o contato não existir.
+     */
+    public Mono<ContatoDTO> findContatoDtoById(Long contatoId) {
+        return this.findContatoById(contatoId).flatMap(contato -> this.profissionalService.findProfissionalById(contato.getProfissionalId())
+                .map(profissional -> new ContatoDTO(contato.getId(), contato.getNome(), contato.getContato(), contato.getCreatedDate(), profissional.getNome())));
+    }
+
+    /**
+     * Lista os contatos de profissionais ativos filtrados, ordenados pelo ID, lidos do banco conforme a demanda do assinante.
+     * Se after ou limit forem informados, a listagem começa após o cursor e é limitada ao tamanho da página.
+     *
+     * @param q A string de consulta para filtrar os contatos.
+     * @param after O ID do último contato recebido, opcional.
+     * @param limit A quantidade máxima de contatos, opcional, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return Os contatos encontrados.
+     */
+    public Flux<ContatoDTO> findAllContatos(String q, Long after, Integer limit) {
+        Flux<ContatoDTO> contatos = this.repository.streamByAnyColumn(q, PaginacaoUtil.cursor(after));
+        if (after == null && limit == null) {
+            return contatos;
+        }
+        return contatos.take(PaginacaoUtil.tamanhoPagina(limit));
+    }
+
+    /**
+     * Cria um novo contato com as mesmas regras da API bloqueante: o profissional precisa estar ativo, o telefone é gravado
+     * na forma canônica e a duplicidade é detectada pela restrição de unicidade do banco no próprio insert.
+     *
+     * @param input O objeto ContatoInput contendo os dados do novo contato a ser criado.
+     * @return Um Mono com o {@link ContatoRegistro} recém-criado.
+     *         Termina com {@link EntidadeNaoExistenteException}, {@link TelefoneInvalidoException} ou {@link TelefoneJaCadastradoException}.
+     */
+    public Mono<ContatoRegistro> createContato(ContatoInput input) {
+        return this.profissionalService.findProfissionalById(input.getProfissional()).flatMap(profissional -> {
+            String telefone = TelefoneUtil.normalizar(input.getContato());
+            if (telefone == null) {
+                return Mono.error(new TelefoneInvalidoException(MensagemUtil.MSG_TELEFONE_INVALIDO));
+            }
+
+            return this.repository.reservarId().flatMap(id -> {
+                ContatoRegistro contato = new ContatoRegistro();
+                contato.setId(id);
+                contato.setNovo(true);
+                contato.setNome(input.getNome());
+                contato.setContato(telefone);
+                contato.setCreatedDate(LocalDate.now());
+                contato.setProfissionalId(profissional.getId());
+                return this.gravar(contato);
+            });
+        });
+    }
+
+    /**
+     * Atualiza um contato existente. Campos null não são alterados; o telefone, quando informado, é validado e gravado na forma canônica.
+     *
+     * @param contatoId O ID do contato a ser atualizado.
+     * @param input O objeto ContatoUpdateInput contendo os dados atualizados do contato.
+     * @return Um Mono com o {@link ContatoRegistro} atualizado.
+     *         Termina com {@link EntidadeNaoExistenteException}, {@link TelefoneInvalidoException} ou {@link TelefoneJaCadastradoException}.
+     */
+    public Mono<ContatoRegistro> updateContato(Long contatoId, ContatoUpdateInput input) {
+        return this.findContatoById(contatoId).flatMap(contato -> {
+            if (input.getContato() != null) {
+                String telefone = TelefoneUtil.normalizar(input.getContato());
+                if (telefone == null) {
+                    return Mono.error(new TelefoneInvalidoException(MensagemUtil.MSG_TELEFONE_INVALIDO));
+                }
+                contato.setContato(telefone);
+            }
+
+            if (input.getNome() != null) {
+                contato.setNome(input.getNome());
+            }
+
+            return this.gravar(contato);
+        });
+    }
+
+    /**
+     * Exclui um contato com base no ID fornecido.
+     *
+     * @param contatoId O ID do contato a ser excluído.
+     * @return Um Mono que completa quando o contato for excluído.
+     *         Termina com {@link EntidadeNaoExistenteException} se o contato não existir.
+     */
+    public Mono<Void> deleteContato(Long contatoId) {
+        return this.findContatoById(contatoId).flatMap(contato -> this.repository.deleteById(contato.getId()));
+    }
+
+    /**
+     * Grava o contato, traduzindo a violação da restrição de unicidade do telefone.
+     */
+    private Mono<ContatoRegistro> gravar(ContatoRegistro contato) {
+        return this.repository.save(contato).onErrorMap(DataIntegrityViolationException.class, ex -> {
+            if (ex.getMessage() != null && ex.getMessage().toUpperCase().contains(Contato.UK_TELEFONE)) {
+                return new TelefoneJaCadastradoException(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO);
+            }
+            return ex;
+        });
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.cadastroprofissional.simples.service.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.model.reactive.ProfissionalRegistro;
+import com.cadastroprofissional.simples.repository.reactive.ProfissionalReactiveRepository;
+import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.exception.CargoInvalidoException;
+import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ProfissionalReactiveService {
+
+    private final ProfissionalReactiveRepository repository;
+
+    /**
+     * Busca um profissional pelo ID, garantindo que esteja ativo.
+     *
+     * @param profissionalId O ID do profissional a ser buscado.
+     * @return Um Mono com o {@link ProfissionalRegistro} encontrado.
+     *         Termina com {@link EntidadeNaoExistenteException} se o profissional não for encontrado.
+     */
+    public Mono<ProfissionalRegistro> findProfissionalById(Long profissionalId) {
+        return this.repository.findByIdAndAtivoIsTrue(profissionalId)
+                .switchIfEmpty(Mono.error(() -> new EntidadeNaoExistenteException(MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS)));
+    }
+
+    /**
+     * Lista os profissionais ativos filtrados, ordenados pelo ID. As linhas são lidas do banco conforme a demanda do assinante,
+     * então um cliente lento não faz a aplicação acumular a listagem em memória.
+     * Se after ou limit forem informados, a listagem começa após o cursor e é limitada ao tamanho da página.
+     *
+     * @param q A string de consulta para filtrar os profissionais.
+     * @param after O ID do último profissional recebido, opcional.
+     * @param limit A quantidade máxima de profissionais, opcional, limitada a {@value PaginacaoUtil#LIMITE_MAXIMO}.
+     * @return Os profissionais encontrados.
+     */
+    public Flux<ProfissionalDTO> findAllProfissionais(String q, Long after, Integer limit) {
+        Flux<ProfissionalDTO> profissionais = this.repository.streamByAnyColumn(q, PaginacaoUtil.cursor(after));
+        if (after == null && limit == null) {
+            return profissionais;
+        }
+        return profissionais.take(PaginacaoUtil.tamanhoPagina(limit));
+    }
+
+    /**
+     * Cria um novo profissional com base nos dados fornecidos no objeto de entrada.
+     * A data de criação é definida como a data atual.
+     *
+     * @param input O objeto de entrada {@link ProfissionalInput} contendo os dados do novo profissional.
+     * @return Um Mono com o {@link ProfissionalRegistro} recém-criado.
+     *         Termina com {@link CargoInvalidoException} se o cargo não for reconhecido.
+     */
+    public Mono<ProfissionalRegistro> createProfissional(ProfissionalInput input) {
+        CargoEnum cargo = CargoEnum.porNome(input.getCargo());
+        if (cargo == null) {
+            return Mono.error(new CargoInvalidoException(MensagemUtil.CARGO_INVALIDO));
+        }
+
+        return this.repository.reservarId().flatMap(id -> {
+            ProfissionalRegistro profissional = new ProfissionalRegistro();
+            profissional.setId(id);
+            profissional.setNovo(true);
+            profissional.setNome(input.getNome());
+            profissional.setCargo(cargo);
+            profissional.setDataNascimento(input.getDataNascimento());
+            profissional.setCreatedDate(LocalDate.now());
+            return this.repository.save(profissional);
+        });
+    }
+
+    /**
+     * Atualiza os dados de um profissional existente. Campos null no objeto de entrada não são alterados.
+     *
+     * @param profissionalId O ID do profissional a ser atualizado.
+     * @param input O objeto de entrada {@link ProfissionalInput} contendo os novos dados do profissional.
+     * @return Um Mono com o {@link ProfissionalRegistro} atualizado.
+     *         Termina com {@link EntidadeNaoExistenteException} se o profissional não existir,
+     *         ou com {@link CargoInvalidoException} se o cargo não for reconhecido.
+     */
+    public Mono<ProfissionalRegistro> updateProfissional(Long profissionalId, ProfissionalInput input) {
+        return this.findProfissionalById(profissionalId).flatMap(profissional -> {
+            if (input.getNome() != null) {
+                profissional.setNome(input.getNome());
+            }
+
+            if (input.getCargo() != null) {
+                CargoEnum cargo = CargoEnum.porNome(input.getCargo());
+                if (cargo == null) {
+                    return Mono.error(new CargoInvalidoException(MensagemUtil.CARGO_INVALIDO));
+                }
+                profissional.setCargo(cargo);
+            }
+
+            if (input.getDataNascimento() != null) {
+                profissional.setDataNascimento(input.getDataNascimento());
+            }
+
+            return this.repository.save(profissional);
+        });
+    }
+
+    /**
+     * Desativa um profissional existente, marcando-o como inativo.
+     *
+     * @param profissionalId O ID do profissional a ser desativado.
+     * @return Um Mono que completa quando o profissional for desativado.
+     *         Termina com {@link EntidadeNaoExistenteException} se o profissional não existir.
+     */
+    public Mono<Void> deleteProfissional(Long profissionalId) {
+        return this.findProfissionalById(profissionalId).flatMap(profissional -> {
+            profissional.setAtivo(false);
+            return this.repository.save(profissional);
+        }).then();
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Escreve objetos em formato CSV, com uma linha de cabeçalho, diretamente em um {@link OutputStream}.
+ * As colunas são as propriedades do tipo na ordem em que são declaradas, restritas aos campos solicitados, e os valores
+ * seguem as anotações Jackson dos DTOs, como o {@code @JsonFormat} das datas. As propriedades {@code spring.jackson.*}
+ * não se aplicam ao CSV, pois o mapper é próprio desta classe.
+ */
+package com.cadastroprofissional.simples.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+public class CsvWriter implements RegistrosWriter {
+
+    public static final String MEDIA_TYPE = "text/csv;charset=UTF-8";
+
+    /**
+     * O mapper guarda os schemas já gerados, então é compartilhado entre as exportações. Não é o ObjectMapper do Spring
+     * Boot: só registra o módulo de datas e mantém a ordem de declaração das propriedades.
+     */
+    private static final CsvMapper MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    private final SequenceWriter writer;
+
+    /**
+     * Construtor que escreve o cabeçalho e prepara a escrita das linhas sobre o stream de saída.
+     * @param tipo A classe dos objetos que serão escritos.
+     * @param campos Os campos a serem incluídos como colunas; todos quando vazio, null ou sem nenhum campo conhecido.
+     * @param out O stream de saída da resposta.
+     * @throws IOException Se não for possível escrever o cabeçalho.
+     */
+    public CsvWriter(Class<?> tipo, List<String> campos, OutputStream out) throws IOException {
+        CsvSchema schema = MAPPER.schemaFor(tipo);
+        if (campos != null && !campos.isEmpty()) {
+            CsvSchema.Builder selecionado = CsvSchema.builder();
+            for (CsvSchema.Column coluna : schema) {
+                if (campos.contains(coluna.getName())) {
+                    selecionado.addColumn(coluna.getName(), coluna.getType());
+                }
+            }
+            // Como na projeção das consultas, campos sem nenhum nome conhecido equivalem a todos os campos
+            if (selecionado.size() > 0) {
+                schema = selecionado.build();
+            }
+        }
+        // Propriedades fora das colunas, como o ID que a projeção sempre lê, são descartadas; o flush fica a cargo do
+        // buffer da resposta, e não a cada linha
+        this.writer = MAPPER.writer(schema.withHeader())
+                .with(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(out);
+    }
+
+    @Override
+    public void write(Object valor) {
+        try {
+            this.writer.write(valor);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+
+}
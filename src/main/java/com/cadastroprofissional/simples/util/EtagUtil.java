@@ -0,0 +1,60 @@
+package com.cadastroprofissional.simples.util;
+
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class EtagUtil {
+
+    /**
+     * Os ETags são fracos: o mesmo valor vale para todos os formatos da resposta (JSON, Smile, CBOR, Protobuf), com ou
+     * sem gzip, e o Tomcat não comprime respostas com ETag forte. O If-None-Match usa a comparação fraca, então o 304
+     * funciona da mesma forma.
+     */
+    private static final String PREFIXO_FRACO = "W/";
+
+    /**
+     * Monta o ETag de um registro a partir da sua versão.
+     * @param versao A versão do registro.
+     * @return O ETag como enviado no header ETag.
+     */
+    public static String etag(long versao) {
+        return PREFIXO_FRACO + "\"" + versao + "\"";
+    }
+
+    /**
+     * Monta o ETag de uma listagem a partir do resumo do seu estado.
+     * @param versao O resumo da listagem.
+     * @return O ETag como enviado no header ETag.
+     */
+    public static String etag(VersaoColecaoDTO versao) {
+        return PREFIXO_FRACO + "\"" + versao.getQuantidade() + "-" + versao.getSomaIds() + "-" + versao.getSomaVersoes() + "\"";
+    }
+
+    /**
+     * Confere o If-None-Match de uma listagem e, se a listagem tiver mudado, prepara o header ETag da resposta.
+     * O ETag resume a coleção inteira, não a resposta: ele ignora q, fields, after e limit e só serve para comparar
+     * respostas da mesma URL, que mudam apenas quando a coleção muda.
+     * Sem o modelo de leitura em memória, o resumo é uma agregação sobre a tabela inteira. Ela é feita apenas quando a
+     * listagem não é paginada, e já percorre a tabela, ou quando o cliente envia If-None-Match; uma página por cursor
+     * sem If-None-Match é respondida sem ETag e continua lendo apenas as suas linhas.
+     * @param request A requisição.
+     * @param paginada true se a listagem é paginada por cursor.
+     * @param emMemoria O resumo mantido pelo modelo de leitura em memória, se estiver habilitado.
+     * @param agregacao Consulta o resumo no banco.
+     * @return true se a listagem não mudou e a resposta deve ser 304 (Not Modified).
+     */
+    public static boolean listagemNaoModificada(WebRequest request, boolean paginada, Optional<VersaoColecaoDTO> emMemoria,
+                                                Supplier<VersaoColecaoDTO> agregacao) {
+        if (emMemoria.isEmpty() && paginada && request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return false;
+        }
+        // O ETag é calculado antes da listagem: se houver uma alteração entre as duas consultas, o cliente guarda o corpo novo
+        // com o ETag antigo e apenas baixa a listagem de novo na próxima vez, nunca o contrário
+        return request.checkNotModified(etag(emMemoria.orElseGet(agregacao)));
+    }
+
+}
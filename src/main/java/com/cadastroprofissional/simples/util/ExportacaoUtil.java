@@ -0,0 +1,44 @@
+package com.cadastroprofissional.simples.util;
+
+import com.cadastroprofissional.simples.util.enums.FormatoExportacaoEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ExportacaoUtil {
+
+    /**
+     * Monta a resposta de uma exportação, cujo corpo é escrito no stream de saída à medida que os registros são lidos.
+     * @param formato O nome do formato, ndjson ou csv, sem diferenciar maiúsculas e minúsculas.
+     * @param arquivo O nome do arquivo sugerido no header Content-Disposition, sem extensão.
+     * @param mapper O ObjectMapper configurado da aplicação.
+     * @param tipo A classe dos registros.
+     * @param campos Os campos solicitados; todos quando vazio ou null.
+     * @param leitura Lê os registros, entregando cada um ao consumidor recebido.
+     * @return A resposta em streaming, ou 400 (Bad Request) se o formato não for reconhecido.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> exportar(String formato, String arquivo, ObjectMapper mapper, Class<T> tipo,
+                                                                      List<String> campos, Consumer<Consumer<T>> leitura) {
+        FormatoExportacaoEnum formatoExportacao = FormatoExportacaoEnum.porNome(formato);
+        if (formatoExportacao == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try (RegistrosWriter writer = formatoExportacao.writer(mapper, tipo, campos, out)) {
+                leitura.accept(writer::write);
+            }
+        };
+        ContentDisposition anexo = ContentDisposition.attachment().filename(arquivo + '.' + formatoExportacao.getExtensao()).build();
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo.toString())
+                .body(body);
+    }
+
+}
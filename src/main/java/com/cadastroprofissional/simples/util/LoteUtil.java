@@ -0,0 +1,175 @@
+package com.cadastroprofissional.simples.util;
+
+import com.cadastroprofissional.simples.model.dto.RelatorioLoteDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+@Slf4j
+public class LoteUtil {
+
+    /**
+     * Quantidade de registros gravados por transação. Deve ser múltiplo de {@code hibernate.jdbc.batch_size}.
+     */
+    public static final int TAMANHO_LOTE = 500;
+
+    private LoteUtil() {
+    }
+
+    /**
+     * Lê as entradas do corpo sob demanda e as grava em lotes de {@link #TAMANHO_LOTE}, entregando cada lote ao
+     * processador junto com o número da sua primeira linha. Apenas as entradas de um lote ficam em memória por vez; o
+     * relatório, por sua vez, guarda o resultado de cada linha recebida.
+     * Cada lote é confirmado separadamente: se a gravação de um lote falhar, as suas linhas são rejeitadas e os lotes
+     * seguintes continuam sendo gravados. Uma linha com JSON bem formado, mas com um valor que não pode ser convertido
+     * para o tipo do campo, é rejeitada sozinha e a leitura continua na linha seguinte. Se o JSON for mal formado, as
+     * linhas já lidas são gravadas, a linha inválida é rejeitada e a importação é interrompida. Em todos os casos o
+     * relatório informa o que foi gravado, com a duração e a vazão em linhas por segundo.
+     *
+     * @param leitor O leitor do tipo das entradas, a partir do ObjectMapper da aplicação.
+     * @param body O corpo da requisição, um array JSON ou um stream NDJSON.
+     * @param processador Grava um lote e retorna o resultado de cada linha, em uma transação própria.
+     * @return O relatório com o resultado de todas as linhas lidas; interrompido se o JSON for mal formado.
+     * @throws IOException Se o corpo não puder ser lido.
+     */
+    public static <T> RelatorioLoteDTO importar(ObjectReader leitor, InputStream body,
+                                                BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> processador) throws IOException {
+        return importar(leitor, body, processador, processador);
+    }
+
+    /**
+     * Importa as entradas como {@link #importar(ObjectReader, InputStream, BiFunction)}, usando um processador próprio
+     * para a nova tentativa de um lote que falhou por violação de unicidade.
+     *
+     * @param leitor O leitor do tipo das entradas, a partir do ObjectMapper da aplicação.
+     * @param body O corpo da requisição, um array JSON ou um stream NDJSON.
+     * @param processador Grava um lote e retorna o resultado de cada linha, em uma transação própria.
+     * @param novaTentativa Grava de novo um lote cuja gravação violou uma restrição de unicidade.
+     * @return O relatório com o resultado de todas as linhas lidas; interrompido se o JSON for mal formado.
+     * @throws IOException Se o corpo não puder ser lido.
+     */
+    public static <T> RelatorioLoteDTO importar(ObjectReader leitor, InputStream body,
+                                                BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> processador,
+                                                BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> novaTentativa) throws IOException {
+        long inicio = System.nanoTime();
+        RelatorioLoteDTO relatorio = new RelatorioLoteDTO();
+        List<T> lote = new ArrayList<>(TAMANHO_LOTE);
+        List<ResultadoLinhaLoteDTO> invalidas = new ArrayList<>();
+        try (MappingIterator<T> entradas = leitor.readValues(body)) {
+            while (entradas.hasNext()) {
+                try {
+                    lote.add(entradas.next());
+                } catch (RuntimeJsonMappingException ex) {
+                    // Erro de conversão em um JSON bem formado: o MappingIterator avança até o fim do valor com erro
+                    int linha = relatorio.getTotal() + lote.size() + invalidas.size() + 1;
+                    log.debug("Linha {} da importação em lote ignorada: {}", linha, ex.getMessage());
+                    invalidas.add(ResultadoLinhaLoteDTO.rejeitado(linha, MensagemUtil.MSG_LOTE_VALOR_INVALIDO));
+                }
+                if (lote.size() + invalidas.size() == TAMANHO_LOTE) {
+                    gravar(lote, invalidas, relatorio, processador, novaTentativa);
+                    lote = new ArrayList<>(TAMANHO_LOTE);
+                    invalidas = new ArrayList<>();
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // O MappingIterator encapsula em RuntimeException os erros de leitura do JSON mal formado; as falhas dos
+            // lotes já são tratadas em gravar
+            if (ex instanceof RuntimeException erro && !(erro instanceof RuntimeJsonMappingException)
+                    && !(erro.getCause() instanceof JsonProcessingException)) {
+                throw erro;
+            }
+            interromper(lote, invalidas, relatorio, processador, novaTentativa, ex);
+            lote = List.of();
+            invalidas = List.of();
+        }
+        if (!lote.isEmpty() || !invalidas.isEmpty()) {
+            gravar(lote, invalidas, relatorio, processador, novaTentativa);
+        }
+        relatorio.finalizar(System.nanoTime() - inicio);
+        return relatorio;
+    }
+
+    /**
+     * Grava as linhas já lidas e rejeita a linha seguinte, em que o JSON é mal formado.
+     */
+    private static <T> void interromper(List<T> lote, List<ResultadoLinhaLoteDTO> invalidas, RelatorioLoteDTO relatorio,
+                                        BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> processador,
+                                        BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> novaTentativa, Exception ex) {
+        if (!lote.isEmpty() || !invalidas.isEmpty()) {
+            gravar(lote, invalidas, relatorio, processador, novaTentativa);
+        }
+        log.debug("Importação em lote interrompida na linha {}: {}", relatorio.getTotal() + 1, ex.getMessage());
+        relatorio.interromper(ResultadoLinhaLoteDTO.rejeitado(relatorio.getTotal() + 1, MensagemUtil.MSG_LOTE_JSON_INVALIDO));
+    }
+
+    /**
+     * Grava um lote; se a transação falhar, todas as linhas dele são rejeitadas, pois nenhuma foi confirmada.
+     * Uma violação de unicidade indica que outra transação gravou uma chave do lote ao mesmo tempo: o lote é gravado mais
+     * uma vez pelo processador da nova tentativa, que lê o registro confirmado por ela, atualizando-o ou rejeitando apenas
+     * a linha repetida. As linhas rejeitadas na leitura entram no relatório entre as demais, na posição em que foram lidas.
+     */
+    private static <T> void gravar(List<T> lote, List<ResultadoLinhaLoteDTO> invalidas, RelatorioLoteDTO relatorio,
+                                   BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> processador,
+                                   BiFunction<List<T>, Integer, List<ResultadoLinhaLoteDTO>> novaTentativa) {
+        int primeiraLinha = relatorio.getTotal() + 1;
+        List<ResultadoLinhaLoteDTO> resultados;
+        if (lote.isEmpty()) {
+            resultados = List.of();
+        } else {
+            try {
+                resultados = processador.apply(lote, primeiraLinha);
+            } catch (DataIntegrityViolationException conflito) {
+                log.debug("Conflito no lote a partir da linha {}, nova tentativa: {}", primeiraLinha, conflito.getMessage());
+                try {
+                    resultados = novaTentativa.apply(lote, primeiraLinha);
+                } catch (RuntimeException ex) {
+                    resultados = rejeitados(lote.size(), primeiraLinha, ex);
+                }
+            } catch (RuntimeException ex) {
+                resultados = rejeitados(lote.size(), primeiraLinha, ex);
+            }
+        }
+        relatorio.adicionar(invalidas.isEmpty() ? resultados : intercalar(resultados, invalidas, primeiraLinha));
+    }
+
+    /**
+     * Intercala os resultados do processador, numerados como se as linhas do lote fossem consecutivas, com as linhas
+     * rejeitadas na leitura, corrigindo o número de cada linha gravada.
+     */
+    private static List<ResultadoLinhaLoteDTO> intercalar(List<ResultadoLinhaLoteDTO> resultados, List<ResultadoLinhaLoteDTO> invalidas,
+                                                          int primeiraLinha) {
+        List<ResultadoLinhaLoteDTO> linhas = new ArrayList<>(resultados.size() + invalidas.size());
+        int proximaInvalida = 0;
+        for (ResultadoLinhaLoteDTO resultado : resultados) {
+            int linha = primeiraLinha + linhas.size();
+            while (proximaInvalida < invalidas.size() && invalidas.get(proximaInvalida).getLinha() == linha) {
+                linhas.add(invalidas.get(proximaInvalida++));
+                linha++;
+            }
+            linhas.add(new ResultadoLinhaLoteDTO(linha, resultado.getStatus(), resultado.getId(), resultado.getMensagem()));
+        }
+        linhas.addAll(invalidas.subList(proximaInvalida, invalidas.size()));
+        return linhas;
+    }
+
+    private static List<ResultadoLinhaLoteDTO> rejeitados(int quantidade, int primeiraLinha, RuntimeException ex) {
+        log.warn("Lote a partir da linha {} não gravado: {}", primeiraLinha, ex.getMessage());
+        String mensagem = ex instanceof DataIntegrityViolationException ? MensagemUtil.MSG_LOTE_CONFLITO : MensagemUtil.MSG_LOTE_FALHA;
+        List<ResultadoLinhaLoteDTO> resultados = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            resultados.add(ResultadoLinhaLoteDTO.rejeitado(primeiraLinha + i, mensagem));
+        }
+        return resultados;
+    }
+
+}
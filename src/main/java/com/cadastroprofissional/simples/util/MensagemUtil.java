@@ -4,8 +4,13 @@ public class MensagemUtil {
 
     public static final String MSG_ENTITY_CONTATO_NOT_EXISTS = "Esse registro de contato não existe na nossa base de dados.";
     public static final String MSG_ENTITY_PROFISSIONAL_NOT_EXISTS = "Esse registro de profissional não existe na nossa base de dados.";
-    public static final String MSG_TELEFONE_INVALIDO = "Telefone inválido, telefone precisa ter entre 10 e 11 caracteres e não pode ter caracteres especiais nem letras";
+    public static final String MSG_TELEFONE_INVALIDO = "Telefone inválido, telefone precisa ter entre 10 e 11 dígitos e não pode ter letras nem caracteres especiais além de espaço, parênteses, hífen e ponto";
     public static final String MSG_TELEFONE_JA_CADASTRADO = "Telefone já cadastrado na base de dados";
+    public static final String MSG_NOME_OBRIGATORIO = "O nome do profissional é obrigatório";
+    public static final String MSG_LOTE_JSON_INVALIDO = "JSON mal formado; a importação foi interrompida nesta linha e as seguintes não foram processadas";
+    public static final String MSG_LOTE_VALOR_INVALIDO = "Valor inválido para o tipo de um campo; a linha foi ignorada e as seguintes continuam sendo processadas";
+    public static final String MSG_LOTE_CONFLITO = "O lote desta linha não foi gravado por conflito com uma gravação simultânea; a linha pode ser reenviada";
+    public static final String MSG_LOTE_FALHA = "O lote desta linha não foi gravado por uma falha no banco de dados; a linha pode ser reenviada";
 
     public static final String CARGO_INVALIDO = "O cargo não foi digitado corretamente, cargos disponiveis: Desenvolvedor, Designer, Suporte, Tester";
 
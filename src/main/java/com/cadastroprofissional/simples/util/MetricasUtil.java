@@ -0,0 +1,104 @@
+/**
+ * Nomes e medidores das métricas da aplicação exportadas pelo Actuator em /actuator/prometheus.
+ * Os medidores estáticos são registrados no registry global do Micrometer, ao qual o Spring Boot adiciona o registry da
+ * aplicação; sem o Actuator, como nos testes unitários, o registry global não tem registries e as medições são descartadas.
+ */
+package com.cadastroprofissional.simples.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+
+public class MetricasUtil {
+
+    /**
+     * Timer de cada método público dos serviços, com as tags class, method e exception.
+     */
+    public static final String METRICA_SERVICO = "cadastro.servico";
+
+    /**
+     * Quantidade de linhas retornadas pelas listagens, com a tag entidade.
+     */
+    public static final String METRICA_LINHAS = "cadastro.listagem.linhas";
+
+    /**
+     * Quantidade de statements SQL executados por requisição, com as tags method e uri.
+     */
+    public static final String METRICA_CONSULTAS_REQUISICAO = "cadastro.requisicao.consultas";
+
+    /**
+     * Telefones verificados pelo filtro de telefones cadastrados, com a tag resultado: "ausente" quando o filtro de Bloom
+     * descarta o telefone, "falso_positivo" quando o filtro o aceita mas o conjunto exato não, e "possivel" quando ele é
+     * consultado no banco. A taxa de falsos positivos é falso_positivo / (falso_positivo + ausente).
+     */
+    public static final String METRICA_FILTRO_TELEFONES = "cadastro.filtro.telefones";
+
+    /**
+     * Consultas de duplicidade de telefones evitadas pelo filtro, quando nenhum telefone do lote pode estar cadastrado.
+     */
+    public static final String METRICA_FILTRO_TELEFONES_CONSULTAS_EVITADAS = "cadastro.filtro.telefones.consultas.evitadas";
+
+    /**
+     * Alterações publicadas pelo feed de alterações, contadas uma vez cada, independente da quantidade de assinantes.
+     */
+    public static final String METRICA_ALTERACOES_PUBLICADAS = "cadastro.alteracoes.publicadas";
+
+    /**
+     * Lacunas na sequência do registro de alterações ignoradas pelo feed após a espera máxima.
+     */
+    public static final String METRICA_ALTERACOES_LACUNAS = "cadastro.alteracoes.lacunas";
+
+    /**
+     * Conexões abertas no feed de alterações.
+     */
+    public static final String METRICA_ALTERACOES_ASSINANTES = "cadastro.alteracoes.assinantes";
+
+    /**
+     * Conexões do feed de alterações encerradas por acumularem mais eventos pendentes que o tamanho da fila.
+     */
+    public static final String METRICA_ALTERACOES_ATRASADOS = "cadastro.alteracoes.atrasados";
+
+    public static final DistributionSummary LINHAS_PROFISSIONAIS = linhas("profissional");
+
+    public static final DistributionSummary LINHAS_CONTATOS = linhas("contato");
+
+    public static final Counter FILTRO_TELEFONES_AUSENTES = filtroTelefones("ausente");
+
+    public static final Counter FILTRO_TELEFONES_FALSOS_POSITIVOS = filtroTelefones("falso_positivo");
+
+    public static final Counter FILTRO_TELEFONES_POSSIVEIS = filtroTelefones("possivel");
+
+    public static final Counter FILTRO_TELEFONES_CONSULTAS_EVITADAS = Counter.builder(METRICA_FILTRO_TELEFONES_CONSULTAS_EVITADAS)
+            .description("Consultas de duplicidade de telefones evitadas pelo filtro")
+            .register(Metrics.globalRegistry);
+
+    public static final Counter ALTERACOES_PUBLICADAS = Counter.builder(METRICA_ALTERACOES_PUBLICADAS)
+            .description("Alterações publicadas pelo feed de alterações")
+            .register(Metrics.globalRegistry);
+
+    public static final Counter ALTERACOES_LACUNAS = Counter.builder(METRICA_ALTERACOES_LACUNAS)
+            .description("Lacunas na sequência de alterações ignoradas após a espera máxima")
+            .register(Metrics.globalRegistry);
+
+    public static final Counter ALTERACOES_ATRASADOS = Counter.builder(METRICA_ALTERACOES_ATRASADOS)
+            .description("Conexões do feed de alterações encerradas por não acompanharem as alterações")
+            .register(Metrics.globalRegistry);
+
+    private static DistributionSummary linhas(String entidade) {
+        return DistributionSummary.builder(METRICA_LINHAS)
+                .description("Linhas retornadas pelas listagens")
+                .tag("entidade", entidade)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000_000.0)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter filtroTelefones(String resultado) {
+        return Counter.builder(METRICA_FILTRO_TELEFONES)
+                .description("Telefones verificados pelo filtro de telefones cadastrados")
+                .tag("resultado", resultado)
+                .register(Metrics.globalRegistry);
+    }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Escreve objetos em formato NDJSON (um JSON por linha) diretamente em um {@link OutputStream}.
+ * Usado nas listagens em streaming para que os registros sejam enviados à medida que são lidos do banco.
+ */
+package com.cadastroprofissional.simples.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public class NdjsonWriter implements RegistrosWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    /**
+     * Construtor que cria o gerador JSON sobre o stream de saída.
+     * @param mapper O ObjectMapper configurado da aplicação.
+     * @param out O stream de saída da resposta.
+     * @throws IOException Se não for possível criar o gerador.
+     */
+    public NdjsonWriter(ObjectMapper mapper, OutputStream out) throws IOException {
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Escreve um objeto seguido de quebra de linha, sem forçar flush a cada registro.
+     * @param valor O objeto a ser serializado.
+     */
+    @Override
+    public void write(Object valor) {
+        try {
+            this.writer.writeValue(this.generator, valor);
+            this.generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.generator.close();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.cadastroprofissional.simples.util;
+
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+public class PaginacaoUtil {
+
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    public static final String HEADER_PROXIMO_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Normaliza o tamanho de página solicitado para o intervalo aceito.
+     * @param limit O tamanho solicitado, opcional.
+     * @return {@value #LIMITE_PADRAO} se nenhum tamanho válido for informado, caso contrário o tamanho limitado a {@value #LIMITE_MAXIMO}.
+     */
+    public static int tamanhoPagina(Integer limit) {
+        if (limit == null || limit < 1) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
+    }
+
+    /**
+     * Normaliza o cursor recebido; IDs são sempre positivos, então 0 representa a primeira página.
+     * @param after O ID do último registro da página anterior, opcional.
+     * @return O cursor a ser usado na consulta.
+     */
+    public static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Responde com os itens da página e, se houver próxima página, o cursor dela nos headers X-Next-Cursor e Link.
+     * @param pagina A página a ser enviada.
+     * @return A resposta 200 (OK) com os itens no corpo; o Link repete a URL da requisição com o parâmetro after trocado.
+     */
+    public static <T> ResponseEntity<List<T>> responderPagina(PaginaDTO<T> pagina) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (pagina.getProximoCursor() != null) {
+            String proximaPagina = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", pagina.getProximoCursor()).toUriString();
+            response.header(HEADER_PROXIMO_CURSOR, pagina.getProximoCursor().toString())
+                    .header(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", proximaPagina));
+        }
+        return response.body(pagina.getItens());
+    }
+
+}
@@ -0,0 +1,16 @@
+/**
+ * Escreve registros, um a um, diretamente no {@link java.io.OutputStream} de uma resposta em streaming.
+ */
+package com.cadastroprofissional.simples.util;
+
+import java.io.Closeable;
+
+public interface RegistrosWriter extends Closeable {
+
+    /**
+     * Escreve um registro, sem forçar flush a cada registro.
+     * @param valor O objeto a ser serializado.
+     */
+    void write(Object valor);
+
+}
@@ -0,0 +1,74 @@
+package com.cadastroprofissional.simples.util;
+
+public class TelefoneUtil {
+
+    /** Quantidade mínima de dígitos: DDD e telefone fixo. */
+    public static final int DIGITOS_MINIMO = 10;
+
+    /** Quantidade máxima de dígitos: DDD e celular. */
+    public static final int DIGITOS_MAXIMO = 11;
+
+    private TelefoneUtil() {
+    }
+
+    /**
+     * Verifica se o telefone é válido, percorrendo os caracteres uma única vez e sem alocar memória.
+     * São aceitos dígitos e a pontuação comum de telefone (espaço, parênteses, hífen e ponto), desde que restem
+     * entre {@value #DIGITOS_MINIMO} e {@value #DIGITOS_MAXIMO} dígitos.
+     *
+     * @param telefone O telefone a ser validado, como digitado.
+     * @return true se o telefone for válido, caso contrário, false.
+     */
+    public static boolean isValido(String telefone) {
+        int digitos = contarDigitos(telefone);
+        return digitos >= DIGITOS_MINIMO && digitos <= DIGITOS_MAXIMO;
+    }
+
+    /**
+     * Converte o telefone para a forma canônica, apenas com dígitos, que é a forma gravada e indexada.
+     * Um telefone que já está na forma canônica é devolvido sem cópia.
+     *
+     * @param telefone O telefone como digitado, por exemplo "(11) 98765-4321".
+     * @return Os dígitos do telefone, por exemplo "11987654321", ou null se o telefone for inválido.
+     */
+    public static String normalizar(String telefone) {
+        int digitos = contarDigitos(telefone);
+        if (digitos < DIGITOS_MINIMO || digitos > DIGITOS_MAXIMO) {
+            return null;
+        }
+        if (digitos == telefone.length()) {
+            return telefone;
+        }
+
+        char[] canonico = new char[digitos];
+        int posicao = 0;
+        for (int i = 0; i < telefone.length(); i++) {
+            char c = telefone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                canonico[posicao++] = c;
+            }
+        }
+        return new String(canonico);
+    }
+
+    /**
+     * Conta os dígitos do telefone.
+     * @return A quantidade de dígitos, ou -1 se o telefone for null ou tiver algum caractere que não seja dígito nem pontuação.
+     */
+    private static int contarDigitos(String telefone) {
+        if (telefone == null) {
+            return -1;
+        }
+        int digitos = 0;
+        for (int i = 0; i < telefone.length(); i++) {
+            char c = telefone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos++;
+            } else if (c != ' ' && c != '(' && c != ')' && c != '-' && c != '.') {
+                return -1;
+            }
+        }
+        return digitos;
+    }
+
+}
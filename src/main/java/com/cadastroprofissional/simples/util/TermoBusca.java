@@ -0,0 +1,121 @@
+/**
+ * Representa a string de consulta "q" das listagens já interpretada em um tipo de busca.
+ * Cada tipo é atendido por uma consulta própria que pode usar índice, em vez de comparar todas as colunas com LIKE.
+ */
+package com.cadastroprofissional.simples.util;
+
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+@Getter
+public class TermoBusca {
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    /** O código de país aceito depois do "+" em uma busca por telefone. */
+    private static final String CODIGO_BRASIL = "55";
+
+    private static final TermoBusca VAZIO = new TermoBusca(TipoBuscaEnum.VAZIO, null, null);
+
+    private final TipoBuscaEnum tipo;
+
+    private final String valor;
+
+    private final LocalDate data;
+
+    private TermoBusca(TipoBuscaEnum tipo, String valor, LocalDate data) {
+        this.tipo = tipo;
+        this.valor = valor;
+        this.data = data;
+    }
+
+    /**
+     * Interpreta a string de consulta.
+     * @param q A string de consulta, opcional.
+     * @return O termo de busca com o seu tipo e valor normalizado.
+     */
+    public static TermoBusca of(String q) {
+        if (q == null || q.isBlank()) {
+            return VAZIO;
+        }
+        String termo = q.trim();
+
+        LocalDate data = parseData(termo);
+        if (data != null) {
+            return new TermoBusca(TipoBuscaEnum.DATA, termo, data);
+        }
+
+        String digitos = digitosTelefone(termo);
+        if (digitos != null) {
+            return new TermoBusca(TipoBuscaEnum.TELEFONE, digitos, null);
+        }
+
+        return new TermoBusca(TipoBuscaEnum.TEXTO, termo.toLowerCase(), null);
+    }
+
+    /**
+     * Retorna o padrão LIKE "contém" para o valor, com os caracteres curinga escapados.
+     * @return O padrão no formato %valor%.
+     */
+    public String getPadrao() {
+        return "%" + escaparLike(this.valor) + "%";
+    }
+
+    /**
+     * Retorna o padrão LIKE "começa com" para o valor, com os caracteres curinga escapados.
+     * @return O padrão no formato valor%.
+     */
+    public String getPrefixo() {
+        return escaparLike(this.valor) + "%";
+    }
+
+    private static LocalDate parseData(String termo) {
+        try {
+            if (termo.length() == 10 && termo.charAt(2) == '/') {
+                return LocalDate.parse(termo, FORMATO_DATA);
+            }
+            if (termo.length() == 10 && termo.charAt(4) == '-') {
+                return LocalDate.parse(termo);
+            }
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Extrai os dígitos de um termo composto apenas por dígitos e pontuação comum de telefone.
+     * Os telefones são gravados sem código de país, então um "+55" no início é descartado; qualquer outro "+" faz o
+     * termo ser tratado como texto, como em {@link TelefoneUtil}, em vez de virar um prefixo que nunca é encontrado.
+     * @return Os dígitos, ou null se o termo tiver qualquer outro caractere.
+     */
+    private static String digitosTelefone(String termo) {
+        boolean internacional = termo.charAt(0) == '+';
+        StringBuilder digitos = new StringBuilder(termo.length());
+        for (int i = internacional ? 1 : 0; i < termo.length(); i++) {
+            char c = termo.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            } else if (c != ' ' && c != '(' && c != ')' && c != '-' && c != '.') {
+                return null;
+            }
+        }
+        if (internacional) {
+            if (digitos.indexOf(CODIGO_BRASIL) != 0) {
+                return null;
+            }
+            digitos.delete(0, CODIGO_BRASIL.length());
+        }
+        return digitos.length() == 0 ? null : digitos.toString();
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
@@ -3,6 +3,9 @@
  */
 package com.cadastroprofissional.simples.util.enums;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 public enum CargoEnum {
 
     DESENVOLVEDOR("Desenvolvedor"),
@@ -10,6 +13,17 @@ public enum CargoEnum {
     SUPORTE("Suporte"),
     TESTER("Tester");
 
+    /**
+     * Cargos indexados pelo nome, sem diferenciar maiúsculas e minúsculas, montado uma única vez.
+     */
+    private static final Map<String, CargoEnum> POR_NOME = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (CargoEnum cargo : values()) {
+            POR_NOME.put(cargo.name(), cargo);
+        }
+    }
+
     private final String descricao;
 
     /**
@@ -28,4 +42,13 @@ public enum CargoEnum {
         return descricao;
     }
 
+    /**
+     * Obtém o cargo pelo nome, sem diferenciar maiúsculas e minúsculas e sem lançar exceção para nomes inválidos.
+     * @param nome O nome do cargo.
+     * @return O cargo correspondente, ou null se o nome for null ou não corresponder a nenhum cargo.
+     */
+    public static CargoEnum porNome(String nome) {
+        return nome == null ? null : POR_NOME.get(nome);
+    }
+
 }
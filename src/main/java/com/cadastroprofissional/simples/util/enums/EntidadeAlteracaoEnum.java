@@ -0,0 +1,12 @@
+/**
+ * Enumeração que representa o tipo de registro de uma linha do registro de alterações.
+ */
+package com.cadastroprofissional.simples.util.enums;
+
+public enum EntidadeAlteracaoEnum {
+
+    PROFISSIONAL,
+
+    CONTATO
+
+}
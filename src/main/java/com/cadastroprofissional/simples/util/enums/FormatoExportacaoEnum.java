@@ -0,0 +1,62 @@
+/**
+ * Enumeração que representa o formato das exportações em streaming.
+ */
+package com.cadastroprofissional.simples.util.enums;
+
+import com.cadastroprofissional.simples.util.CsvWriter;
+import com.cadastroprofissional.simples.util.NdjsonWriter;
+import com.cadastroprofissional.simples.util.RegistrosWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+@Getter
+public enum FormatoExportacaoEnum {
+
+    /** Um objeto JSON por linha, com os mesmos campos das listagens. */
+    NDJSON(NdjsonWriter.MEDIA_TYPE, "ndjson"),
+
+    /** Uma linha de cabeçalho e uma linha por registro, com os campos na ordem do DTO. */
+    CSV(CsvWriter.MEDIA_TYPE, "csv");
+
+    private final MediaType mediaType;
+
+    private final String extensao;
+
+    FormatoExportacaoEnum(String mediaType, String extensao) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extensao = extensao;
+    }
+
+    /**
+     * Cria o writer do formato sobre o stream de saída.
+     * @param mapper O ObjectMapper configurado da aplicação, usado no NDJSON.
+     * @param tipo A classe dos registros, usada nas colunas do CSV.
+     * @param campos Os campos solicitados; todos quando vazio ou null.
+     * @param out O stream de saída da resposta.
+     * @return O writer, que deve ser fechado ao final para enviar o que estiver em buffer.
+     * @throws IOException Se não for possível iniciar a escrita.
+     */
+    public RegistrosWriter writer(ObjectMapper mapper, Class<?> tipo, List<String> campos, OutputStream out) throws IOException {
+        return this == CSV ? new CsvWriter(tipo, campos, out) : new NdjsonWriter(mapper, out);
+    }
+
+    /**
+     * Retorna o formato correspondente ao nome, sem diferenciar maiúsculas e minúsculas.
+     * @param nome O nome do formato.
+     * @return O formato, ou null se o nome não corresponder a nenhum.
+     */
+    public static FormatoExportacaoEnum porNome(String nome) {
+        for (FormatoExportacaoEnum formato : values()) {
+            if (formato.name().equalsIgnoreCase(nome)) {
+                return formato;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,17 @@
+/**
+ * Enumeração que representa a operação registrada em uma linha do registro de alterações.
+ */
+package com.cadastroprofissional.simples.util.enums;
+
+public enum OperacaoAlteracaoEnum {
+
+    /** O registro foi inserido. */
+    CRIADO,
+
+    /** O registro foi atualizado; no caso de profissionais, também quando um inativo é reativado pela importação. */
+    ALTERADO,
+
+    /** O contato foi excluído ou o profissional foi desativado. */
+    EXCLUIDO
+
+}
@@ -0,0 +1,17 @@
+/**
+ * Enumeração que representa o resultado de cada linha de uma importação em lote.
+ */
+package com.cadastroprofissional.simples.util.enums;
+
+public enum StatusLinhaLoteEnum {
+
+    /** O registro foi inserido. */
+    CRIADO,
+
+    /** Um registro com a mesma chave natural já existia e foi atualizado. */
+    ATUALIZADO,
+
+    /** O registro não foi gravado; o motivo é informado na mensagem da linha. */
+    REJEITADO
+
+}
@@ -0,0 +1,20 @@
+/**
+ * Enumeração que representa como a string de consulta "q" das listagens é interpretada.
+ */
+package com.cadastroprofissional.simples.util.enums;
+
+public enum TipoBuscaEnum {
+
+    /** Nenhuma consulta informada, todos os registros ativos são retornados. */
+    VAZIO,
+
+    /** Apenas dígitos (e pontuação de telefone), busca por prefixo de telefone. */
+    TELEFONE,
+
+    /** Uma data no formato dd/MM/yyyy ou yyyy-MM-dd, busca por igualdade de data. */
+    DATA,
+
+    /** Qualquer outro texto, busca por trecho de nome ou cargo com ordenação por relevância. */
+    TEXTO
+
+}
@@ -0,0 +1,24 @@
+-- Schema inicial das entidades Profissional e Contato.
+CREATE SEQUENCE PROFISSIONAL_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE CONTATO_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE PROFISSIONAL (
+    PROFISSIONAL_ID BIGINT NOT NULL,
+    NOME VARCHAR(255),
+    ATIVO BOOLEAN,
+    CARGO VARCHAR(255) CHECK (CARGO IN ('DESENVOLVEDOR', 'DESIGNER', 'SUPORTE', 'TESTER')),
+    DATA_NASCIMENTO DATE,
+    CREATED_DATE DATE,
+    PRIMARY KEY (PROFISSIONAL_ID)
+);
+
+CREATE TABLE CONTATO (
+    CONTATO_ID BIGINT NOT NULL,
+    NOME VARCHAR(255),
+    CONTATO VARCHAR(255),
+    CREATED_DATE DATE,
+    PROFISSIONAL_ID BIGINT,
+    PRIMARY KEY (CONTATO_ID),
+    CONSTRAINT UK_CONTATO_CONTATO UNIQUE (CONTATO),
+    CONSTRAINT FK_CONTATO_PROFISSIONAL FOREIGN KEY (PROFISSIONAL_ID) REFERENCES PROFISSIONAL
+);
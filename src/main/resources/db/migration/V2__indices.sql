@@ -0,0 +1,24 @@
+-- Índices das consultas de leitura.
+
+-- Profissionais ativos: filtro de quase todas as leituras e chave da listagem por cursor (ATIVO = TRUE AND ID > :after ORDER BY ID).
+CREATE INDEX IDX_PROFISSIONAL_ATIVO ON PROFISSIONAL (PROFISSIONAL_ID) WHERE ATIVO = TRUE;
+
+-- Contatos de um profissional (join e EXISTS das listagens); o Postgres não indexa chaves estrangeiras automaticamente.
+CREATE INDEX IDX_CONTATO_PROFISSIONAL_ID ON CONTATO (PROFISSIONAL_ID);
+
+-- Chave natural da importação em lote.
+CREATE INDEX IDX_PROFISSIONAL_NOME_DATA_NASCIMENTO ON PROFISSIONAL (NOME, DATA_NASCIMENTO);
+
+-- Busca por data (parâmetro "q" no formato dd/MM/yyyy).
+CREATE INDEX IDX_PROFISSIONAL_DATA_NASCIMENTO ON PROFISSIONAL (DATA_NASCIMENTO);
+CREATE INDEX IDX_PROFISSIONAL_CREATED_DATE ON PROFISSIONAL (CREATED_DATE);
+CREATE INDEX IDX_CONTATO_CREATED_DATE ON CONTATO (CREATED_DATE);
+
+-- Busca por prefixo de telefone (LIKE 'digitos%'); o índice da restrição de unicidade não atende LIKE fora da collation C.
+CREATE INDEX IDX_CONTATO_CONTATO_PREFIXO ON CONTATO (CONTATO varchar_pattern_ops);
+
+-- Busca textual por trecho (LIKE '%texto%') e ordenação por word_similarity.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IDX_PROFISSIONAL_NOME_TRGM ON PROFISSIONAL USING gin (LOWER(NOME) gin_trgm_ops);
+CREATE INDEX IDX_PROFISSIONAL_CARGO_TRGM ON PROFISSIONAL USING gin (LOWER(CARGO) gin_trgm_ops);
+CREATE INDEX IDX_CONTATO_NOME_TRGM ON CONTATO USING gin (LOWER(NOME) gin_trgm_ops);
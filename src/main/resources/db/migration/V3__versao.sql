@@ -0,0 +1,3 @@
+-- Versão de cada registro, incrementada a cada alteração: usada no lock otimista e nos ETags da API.
+ALTER TABLE PROFISSIONAL ADD COLUMN VERSAO BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE CONTATO ADD COLUMN VERSAO BIGINT NOT NULL DEFAULT 0;
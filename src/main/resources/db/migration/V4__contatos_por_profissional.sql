@@ -0,0 +1,5 @@
+-- Contatos de um profissional em ordem de ID (GET /profissional/{id}/contatos): a listagem por cursor
+-- (PROFISSIONAL_ID = :id AND CONTATO_ID > :after ORDER BY CONTATO_ID) lê apenas as entradas da página, sem ordenar.
+-- O índice também atende o join e o EXISTS das listagens pelo prefixo PROFISSIONAL_ID, então substitui o anterior.
+CREATE INDEX IF NOT EXISTS IDX_CONTATO_PROFISSIONAL_ID_CONTATO_ID ON CONTATO (PROFISSIONAL_ID, CONTATO_ID);
+DROP INDEX IF EXISTS IDX_CONTATO_PROFISSIONAL_ID;
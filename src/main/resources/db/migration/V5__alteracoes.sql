@@ -0,0 +1,16 @@
+-- Registro de alterações (outbox transacional): os serviços inserem aqui uma linha por profissional ou contato gravado,
+-- na mesma transação da gravação, e o feed GET /alteracoes publica as linhas em ordem de SEQUENCIA.
+-- A sequência é obtida do banco em cada insert, sem reserva em blocos, para que a ordem das linhas acompanhe a ordem
+-- em que as transações as gravaram mesmo com várias instâncias.
+CREATE TABLE ALTERACAO (
+    SEQUENCIA BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ENTIDADE VARCHAR(20) NOT NULL CHECK (ENTIDADE IN ('PROFISSIONAL', 'CONTATO')),
+    ENTIDADE_ID BIGINT NOT NULL,
+    OPERACAO VARCHAR(20) NOT NULL CHECK (OPERACAO IN ('CRIADO', 'ALTERADO', 'EXCLUIDO')),
+    CREATED_DATE TIMESTAMP NOT NULL,
+    PRIMARY KEY (SEQUENCIA)
+);
+
+-- Limpeza das linhas mais antigas que a retenção (CREATED_DATE < :limite). As linhas são inseridas em ordem de data,
+-- então um índice BRIN basta: ocupa poucas páginas e quase não pesa nas inserções.
+CREATE INDEX IDX_ALTERACAO_CREATED_DATE ON ALTERACAO USING brin (CREATED_DATE);
@@ -0,0 +1,63 @@
+package com.cadastroprofissional.simples.config;
+
+import com.cadastroprofissional.simples.util.MetricasUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConsultasPorRequisicaoInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+
+    private ConsultasPorRequisicaoInterceptor interceptor;
+
+    private ContadorConsultasSql contador;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new ConsultasPorRequisicaoInterceptor(registry);
+        contador = new ContadorConsultasSql();
+        request = new MockHttpServletRequest("GET", "/contato/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/contato/{id}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Testa que os statements executados durante a requisição são registrados com o padrão da URI")
+    void testRegistraConsultasDaRequisicao() {
+        interceptor.preHandle(request, response, null);
+        contador.inspect("select 1");
+        contador.inspect("select 2");
+        interceptor.afterCompletion(request, response, null, null);
+
+        DistributionSummary consultas = registry.get(MetricasUtil.METRICA_CONSULTAS_REQUISICAO).tag("uri", "/contato/{id}").tag("method", "GET").summary();
+        assertEquals(1, consultas.count());
+        assertEquals(2.0, consultas.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Testa que statements fora de uma requisição não são contados e que a requisição assíncrona não é registrada pela metade")
+    void testIgnoraForaDaRequisicao() {
+        contador.inspect("select 1");
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertNull(registry.find(MetricasUtil.METRICA_CONSULTAS_REQUISICAO).summary());
+        assertEquals("select 1", contador.inspect("select 1"));
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.cadastroprofissional.simples.config;
+
+import com.cadastroprofissional.simples.controller.ProfissionalController;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.service.ContatoService;
+import com.cadastroprofissional.simples.service.ProfissionalService;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sobe a camada web com os conversores na ordem em que o Spring Boot os registra, para verificar a negociação de conteúdo.
+ */
+@WebMvcTest(controllers = ProfissionalController.class)
+@Import({FormatosConfig.class, SimpleMeterRegistry.class})
+class FormatosConfigTest {
+
+    @MockBean
+    private ProfissionalService service;
+
+    @MockBean
+    private ContatoService contatoService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ProfissionalDTO profissional = ProfissionalDTO.builder().id(7L).nome("Ana").ativo(true).cargo("Desenvolvedor")
+                .createdDate(LocalDate.of(2024, 3, 1)).build();
+        when(this.service.findVersaoProfissionais()).thenReturn(new VersaoColecaoDTO(1L, 7L, 0L));
+        when(this.service.findAllProfissionais(null, null)).thenReturn(List.of(profissional));
+    }
+
+    @Test
+    @DisplayName("Testa que JSON continua sendo o formato padrão, sem Accept ou com Accept: */*")
+    void testJsonPadrao() throws Exception {
+        this.mockMvc.perform(get("/profissional"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+        this.mockMvc.perform(get("/profissional").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem em Smile e em CBOR traz os mesmos campos do JSON")
+    void testListagemSmileECbor() throws Exception {
+        for (ObjectMapper leitor : List.of(new ObjectMapper(new SmileFactory()), new ObjectMapper(new CBORFactory()))) {
+            String tipo = leitor.getFactory() instanceof SmileFactory ? "application/x-jackson-smile" : "application/cbor";
+            byte[] corpo = this.mockMvc.perform(get("/profissional").header(HttpHeaders.ACCEPT, tipo))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(tipo))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            List<Map<String, Object>> profissionais = leitor.readValue(corpo, new TypeReference<>() {});
+            assertEquals(Map.of("id", 7, "nome", "Ana", "ativo", true, "cargo", "Desenvolvedor", "createdDate", "01/03/2024"),
+                    profissionais.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem em Protobuf é uma mensagem Profissionais com os profissionais no campo itens")
+    void testListagemProtobuf() throws Exception {
+        byte[] corpo = this.mockMvc.perform(get("/profissional").header(HttpHeaders.ACCEPT, ListagemProtobufHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ListagemProtobufHttpMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Campo 1 (itens), tipo length-delimited
+        assertEquals(0x0A, corpo[0]);
+        try (InputStream proto = new ClassPathResource(ListagemProtobufHttpMessageConverter.SCHEMA).getInputStream()) {
+            ProtobufMapper leitor = new ProtobufMapper();
+            Map<String, List<Map<String, Object>>> mensagem = leitor.readerFor(new TypeReference<Map<String, List<Map<String, Object>>>>() {})
+                    .with(ProtobufSchemaLoader.std.loadNative(proto, false).forType("Profissionais"))
+                    .readValue(corpo);
+            Map<String, Object> profissional = mensagem.get("itens").get(0);
+            assertEquals(7L, ((Number) profissional.get("id")).longValue());
+            assertEquals("Ana", profissional.get("nome"));
+            assertEquals("01/03/2024", profissional.get("createdDate"));
+        }
+    }
+
+    @Test
+    @DisplayName("Testa que Protobuf só é oferecido nas listagens")
+    void testProtobufApenasNasListagens() throws Exception {
+        Profissional profissional = new Profissional(7L);
+        profissional.setCargo(CargoEnum.DESENVOLVEDOR);
+        profissional.setVersao(0L);
+        when(this.service.findProfissionalVersionado(7L)).thenReturn(new VersionadoDTO<>(profissional.toDTO(), profissional.getVersao()));
+
+        this.mockMvc.perform(get("/profissional/{id}", 7L).header(HttpHeaders.ACCEPT, ListagemProtobufHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isNotAcceptable());
+        this.mockMvc.perform(get("/profissional/{id}", 7L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.cadastroprofissional.simples.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RoteamentoDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    private DataSource replica1;
+
+    private DataSource replica2;
+
+    private RoteamentoDataSource roteamento;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replica1 = replica(0.5);
+        replica2 = replica(0.0);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        roteamento = new RoteamentoDataSource(primario, replicas, Duration.ofSeconds(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Testa que transações de escrita usam o primário mesmo com réplicas disponíveis")
+    void testEscritaUsaPrimario() {
+        roteamento.verificarReplicas();
+
+        assertEquals(RoteamentoDataSource.PRIMARIO, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Testa que transações somente leitura se alternam entre as réplicas disponíveis")
+    void testLeituraUsaReplicasEmRodizio() {
+        roteamento.verificarReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-1", roteamento.determineCurrentLookupKey());
+        assertEquals("replica-2", roteamento.determineCurrentLookupKey());
+        assertEquals("replica-1", roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Testa que réplicas com atraso acima do máximo ou indisponíveis deixam de receber leituras")
+    void testReplicaAtrasadaOuIndisponivelVoltaAoPrimario() throws SQLException {
+        roteamento.verificarReplicas();
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        replicaComAtraso(replica2, 30.0);
+        roteamento.verificarReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of(), roteamento.getDisponiveis());
+        assertEquals(RoteamentoDataSource.PRIMARIO, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Testa que a réplica volta a receber leituras quando o atraso diminui")
+    void testReplicaRecuperada() throws SQLException {
+        replicaComAtraso(replica2, 30.0);
+        roteamento.verificarReplicas();
+        replicaComAtraso(replica2, 0.2);
+        roteamento.verificarReplicas();
+
+        assertEquals(List.of("replica-1", "replica-2"), roteamento.getDisponiveis());
+    }
+
+    private static DataSource replica(double atraso) throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        replicaComAtraso(replica, atraso);
+        return replica;
+    }
+
+    private static void replicaComAtraso(DataSource replica, double atraso) throws SQLException {
+        Connection conexao = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultado = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(conexao);
+        when(conexao.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultado);
+        when(resultado.next()).thenReturn(true);
+        when(resultado.getDouble(1)).thenReturn(atraso);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.cadastroprofissional.simples.controller;
+
+import com.cadastroprofissional.simples.service.AlteracaoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class AlteracaoControllerTest {
+
+    private MockMvc mockMvc;
+    private AlteracaoService service;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(AlteracaoService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AlteracaoController(service)).build();
+    }
+
+    @Test
+    @DisplayName("Testa abrir o feed de alterações retomando do header Last-Event-ID, que tem precedência sobre after")
+    void testAssinarAlteracoes() throws Exception {
+        when(service.assinar(42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/alteracoes").param("after", "7").header("Last-Event-ID", "42").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(service).assinar(42L);
+    }
+
+    @Test
+    @DisplayName("Testa abrir o feed de alterações retomando do parâmetro after")
+    void testAssinarAlteracoesAfter() throws Exception {
+        when(service.assinar(7L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/alteracoes").param("after", "7").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(service).assinar(7L);
+    }
+
+}
@@ -2,17 +2,29 @@ package com.cadastroprofissional.simples.controller;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.cadastroprofissional.simples.model.Contato;
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
 import com.cadastroprofissional.simples.model.input.ContatoInput;
 import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
 import com.cadastroprofissional.simples.repository.ContatoRepository;
 import com.cadastroprofissional.simples.service.ContatoService;
 import com.cadastroprofissional.simples.service.ProfissionalService;
+import com.cadastroprofissional.simples.util.LoteUtil;
+import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,15 +32,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -47,12 +66,13 @@ class ContatoControllerTest {
         repository = mock(ContatoRepository.class);
         profissionalService = mock(ProfissionalService.class);
         service = mock(ContatoService.class);
-        controller = new ContatoController(service);
+        controller = new ContatoController(service, Jackson2ObjectMapperBuilder.json().build());
     }
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(controller).setControllerAdvice().build();
+        when(service.findVersaoContatos()).thenReturn(new VersaoColecaoDTO(1L, 1L, 0L));
     }
 
     @Test
@@ -68,7 +88,7 @@ class ContatoControllerTest {
         contato.setProfissional(new Profissional(1L));
         contato.setNome("Telefone");
 
-        when(repository.findByAnyColumn(q)).thenReturn(Collections.singletonList(contato));
+        when(repository.findByAnyColumn(q, fields)).thenReturn(Collections.singletonList(contato.toDto()));
 
         mockMvc.perform(get("/contato")
                         .param("q", q)
@@ -79,6 +99,36 @@ class ContatoControllerTest {
         verify(service, times(1)).findAllContatos(q, fields);
     }
 
+    @Test
+    @DisplayName("Testa listar contatos paginados por cursor")
+    void testFindAllContatosPaginado() throws Exception {
+        ContatoDTO contato = new ContatoDTO(11L, "Telefone", "1234567890", LocalDate.now(), "Profissional");
+
+        when(service.findAllContatos(null, null, 10L, 1)).thenReturn(new PaginaDTO<>(List.of(contato), 11L));
+
+        mockMvc.perform(get("/contato")
+                        .param("after", "10")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "11"))
+                .andExpect(header().string("Link", containsString("after=11")))
+                .andExpect(jsonPath("$[0].id", is(11)));
+
+        verify(service, never()).findAllContatos(any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa que a última página não envia o cursor da próxima")
+    void testFindAllContatosUltimaPagina() throws Exception {
+        when(service.findAllContatos(null, null, 10L, 5)).thenReturn(new PaginaDTO<>(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/contato")
+                        .param("after", "10")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     @DisplayName("Testa encontrar um contato pelo ID")
     void testFindContatoById() throws Exception {
@@ -88,12 +138,43 @@ class ContatoControllerTest {
         contato.setCreatedDate(LocalDate.now());
         contato.setProfissional(new Profissional(1L));
         contato.setNome("Telefone");
+        contato.setVersao(2L);
+        contato.getProfissional().setVersao(1L);
 
         when(service.findContatoById(contato.getId())).thenReturn(contato);
 
         mockMvc.perform(get("/contato/{id}", contato.getId()))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
                 .andExpect(jsonPath("$.id", is(contato.getId().intValue())));
+
+        verify(service, never()).findVersaoContato(any());
+    }
+
+    @Test
+    @DisplayName("Testa que o If-None-Match é verificado pela versão, sem carregar o contato")
+    void testFindContatoByIdNaoModificado() throws Exception {
+        when(service.findVersaoContato(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/contato/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(content().string(""));
+
+        verify(service, never()).findContatoById(any());
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem de contatos retorna 304 quando o ETag da coleção não mudou")
+    void testFindAllContatosNaoModificado() throws Exception {
+        mockMvc.perform(get("/contato"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-1-0\""));
+
+        mockMvc.perform(get("/contato").header(HttpHeaders.IF_NONE_MATCH, "\"1-1-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, times(1)).findAllContatos(null, null);
     }
 
     @Test
@@ -119,6 +200,129 @@ class ContatoControllerTest {
         assertEquals("Contato com id 1 criado com sucesso.", response.getBody());
     }
 
+    @Test
+    @DisplayName("Testa criar contatos em lote a partir de NDJSON e de um array JSON")
+    void testCreateContatosEmLote() throws Exception {
+        when(service.createContatos(anyList(), anyInt())).thenAnswer(invocation -> gravados(invocation.getArgument(0), invocation.getArgument(1)));
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"nome\":\"A\",\"contato\":\"11999990001\",\"profissional\":1}\n{\"nome\":\"B\",\"contato\":\"11999990002\",\"profissional\":1}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.gravados", is(2)))
+                .andExpect(jsonPath("$.linhas[1].linha", is(2)));
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nome\":\"A\",\"contato\":\"11999990001\",\"profissional\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.linhas[0].status", is("CRIADO")));
+    }
+
+    @Test
+    @DisplayName("Testa que um JSON inválido depois do primeiro lote retorna 400 com o relatório das linhas já gravadas")
+    void testCreateContatosEmLoteJsonInvalido() throws Exception {
+        when(service.createContatos(anyList(), anyInt())).thenAnswer(invocation -> gravados(invocation.getArgument(0), invocation.getArgument(1)));
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType("application/x-ndjson")
+                        .content(linhasNdjson(LoteUtil.TAMANHO_LOTE + 10) + "{\"nome\":\"Quebrado\",\"contato\":\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.interrompido", is(true)))
+                .andExpect(jsonPath("$.total", is(LoteUtil.TAMANHO_LOTE + 11)))
+                .andExpect(jsonPath("$.gravados", is(LoteUtil.TAMANHO_LOTE + 10)))
+                .andExpect(jsonPath("$.rejeitados", is(1)))
+                .andExpect(jsonPath("$.linhas[" + (LoteUtil.TAMANHO_LOTE + 10) + "].linha", is(LoteUtil.TAMANHO_LOTE + 11)))
+                .andExpect(jsonPath("$.linhas[" + (LoteUtil.TAMANHO_LOTE + 10) + "].mensagem", is(MensagemUtil.MSG_LOTE_JSON_INVALIDO)));
+
+        verify(service, times(2)).createContatos(anyList(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Testa que uma linha com valor de tipo inválido é rejeitada sozinha e a importação continua")
+    void testCreateContatosEmLoteValorInvalido() throws Exception {
+        when(service.createContatos(anyList(), anyInt())).thenAnswer(invocation -> gravados(invocation.getArgument(0), invocation.getArgument(1)));
+        String[] linhas = linhasNdjson(LoteUtil.TAMANHO_LOTE + 2).split(System.lineSeparator());
+        linhas[1] = "{\"nome\":\"Celular\",\"contato\":\"11999990001\",\"profissional\":\"abc\"}";
+        linhas[LoteUtil.TAMANHO_LOTE - 1] = "{\"nome\":\"Celular\",\"contato\":\"11999990002\",\"profissional\":{\"id\":1}}";
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType("application/x-ndjson")
+                        .content(String.join("\n", linhas)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interrompido", is(false)))
+                .andExpect(jsonPath("$.total", is(LoteUtil.TAMANHO_LOTE + 2)))
+                .andExpect(jsonPath("$.gravados", is(LoteUtil.TAMANHO_LOTE)))
+                .andExpect(jsonPath("$.rejeitados", is(2)))
+                .andExpect(jsonPath("$.linhas[0].linha", is(1)))
+                .andExpect(jsonPath("$.linhas[1].linha", is(2)))
+                .andExpect(jsonPath("$.linhas[1].mensagem", is(MensagemUtil.MSG_LOTE_VALOR_INVALIDO)))
+                .andExpect(jsonPath("$.linhas[2].linha", is(3)))
+                .andExpect(jsonPath("$.linhas[2].status", is("CRIADO")))
+                .andExpect(jsonPath("$.linhas[" + (LoteUtil.TAMANHO_LOTE - 1) + "].linha", is(LoteUtil.TAMANHO_LOTE)))
+                .andExpect(jsonPath("$.linhas[" + (LoteUtil.TAMANHO_LOTE - 1) + "].status", is("REJEITADO")))
+                .andExpect(jsonPath("$.linhas[" + LoteUtil.TAMANHO_LOTE + "].linha", is(LoteUtil.TAMANHO_LOTE + 1)))
+                .andExpect(jsonPath("$.linhas[" + LoteUtil.TAMANHO_LOTE + "].status", is("CRIADO")));
+
+        verify(service).createContatos(argThat(lote -> lote.size() == LoteUtil.TAMANHO_LOTE - 2), eq(1));
+        verify(service).createContatos(argThat(lote -> lote.size() == 2), eq(LoteUtil.TAMANHO_LOTE + 1));
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nome\":\"A\",\"contato\":\"11999990001\",\"profissional\":\"abc\"},"
+                                + "{\"nome\":\"B\",\"contato\":\"11999990002\",\"profissional\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhas[0].mensagem", is(MensagemUtil.MSG_LOTE_VALOR_INVALIDO)))
+                .andExpect(jsonPath("$.linhas[1].linha", is(2)))
+                .andExpect(jsonPath("$.linhas[1].status", is("CRIADO")));
+    }
+
+    @Test
+    @DisplayName("Testa que a falha na gravação de um lote rejeita as suas linhas e não impede os lotes seguintes")
+    void testCreateContatosEmLoteFalhaNoLote() throws Exception {
+        when(service.createContatos(anyList(), anyInt())).thenAnswer(invocation -> {
+            int primeiraLinha = invocation.getArgument(1);
+            if (primeiraLinha == 1) {
+                throw new DataIntegrityViolationException("uk_contato_contato");
+            }
+            return gravados(invocation.getArgument(0), primeiraLinha);
+        });
+        when(service.createContatosSemFiltro(anyList(), anyInt())).thenThrow(new DataIntegrityViolationException("uk_contato_contato"));
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType("application/x-ndjson")
+                        .content(linhasNdjson(LoteUtil.TAMANHO_LOTE + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interrompido", is(false)))
+                .andExpect(jsonPath("$.gravados", is(1)))
+                .andExpect(jsonPath("$.rejeitados", is(LoteUtil.TAMANHO_LOTE)))
+                .andExpect(jsonPath("$.linhas[0].status", is("REJEITADO")))
+                .andExpect(jsonPath("$.linhas[0].mensagem", is(MensagemUtil.MSG_LOTE_CONFLITO)))
+                .andExpect(jsonPath("$.linhas[" + LoteUtil.TAMANHO_LOTE + "].status", is("CRIADO")));
+    }
+
+    @Test
+    @DisplayName("Testa que um lote que viola a unicidade do telefone é gravado de novo sem o filtro de telefones")
+    void testCreateContatosEmLoteNovaTentativaSemFiltro() throws Exception {
+        when(service.createContatos(anyList(), anyInt())).thenThrow(new DataIntegrityViolationException("uk_contato_contato"));
+        when(service.createContatosSemFiltro(anyList(), anyInt())).thenReturn(List.of(
+                ResultadoLinhaLoteDTO.gravado(1, StatusLinhaLoteEnum.CRIADO, 1L),
+                ResultadoLinhaLoteDTO.rejeitado(2, MensagemUtil.MSG_TELEFONE_JA_CADASTRADO)));
+
+        mockMvc.perform(post("/contato/batch")
+                        .contentType("application/x-ndjson")
+                        .content(linhasNdjson(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gravados", is(1)))
+                .andExpect(jsonPath("$.linhas[0].status", is("CRIADO")))
+                .andExpect(jsonPath("$.linhas[1].mensagem", is(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO)));
+
+        verify(service, times(1)).createContatos(anyList(), anyInt());
+        verify(service, times(1)).createContatosSemFiltro(anyList(), anyInt());
+    }
+
     @Test
     @DisplayName("Testa atualizar um contato")
     void testUpdateContato() {
@@ -159,4 +363,78 @@ class ContatoControllerTest {
 
         verify(service, times(1)).deleteContato(contatoId);
     }
-}
\ No newline at end of file
+
+    private static List<ResultadoLinhaLoteDTO> gravados(List<ContatoInput> inputs, int primeiraLinha) {
+        return java.util.stream.IntStream.range(0, inputs.size())
+                .mapToObj(i -> ResultadoLinhaLoteDTO.gravado(primeiraLinha + i, StatusLinhaLoteEnum.CRIADO, (long) primeiraLinha + i))
+                .toList();
+    }
+
+    private static String linhasNdjson(int quantidade) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            ndjson.append(String.format("{\"nome\":\"Celular\",\"contato\":\"119%08d\",\"profissional\":1}%n", i));
+        }
+        return ndjson.toString();
+    }
+
+    @Test
+    @DisplayName("Testa exportar os contatos em CSV com as colunas de fields e recusar um formato desconhecido")
+    void testExportarContatosCsv() throws Exception {
+        List<String> fields = List.of("nome", "contato");
+        doAnswer(invocacao -> {
+            invocacao.<Consumer<ContatoDTO>>getArgument(2).accept(new ContatoDTO(1L, "Celular, trabalho", "11987654321", null, null));
+            return null;
+        }).when(service).streamAllContatos(eq("silva"), eq(fields), any());
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportarContatos("csv", "silva", fields);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        response.getBody().writeTo(saida);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"contatos.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals("nome,contato\n\"Celular, trabalho\",11987654321\n", saida.toString(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.BAD_REQUEST, controller.exportarContatos("xml", "silva", fields).getStatusCode());
+        verify(service, times(1)).streamAllContatos(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Testa que a exportação em CSV traz todas as colunas quando nenhum campo de fields é conhecido")
+    void testExportarContatosCsvCamposDesconhecidos() throws Exception {
+        List<String> fields = List.of("foo");
+        doAnswer(invocacao -> {
+            invocacao.<Consumer<ContatoDTO>>getArgument(2).accept(new ContatoDTO(1L, "Celular", "11987654321", LocalDate.of(2024, 3, 5), "Ana"));
+            return null;
+        }).when(service).streamAllContatos(eq(null), eq(fields), any());
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        controller.exportarContatos("csv", null, fields).getBody().writeTo(saida);
+
+        assertEquals("id,nome,contato,createdDate,profissional\n1,Celular,11987654321,05/03/2024,Ana\n", saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Testa exportar os contatos em NDJSON, um objeto por linha com o formato de data das respostas JSON")
+    void testExportarContatosNdjson() throws Exception {
+        LocalDate data = LocalDate.of(2024, 3, 5);
+        doAnswer(invocacao -> {
+            Consumer<ContatoDTO> consumidor = invocacao.getArgument(2);
+            consumidor.accept(new ContatoDTO(1L, "Celular", "11987654321", data, "Ana"));
+            consumidor.accept(new ContatoDTO(2L, "Email", "ana@email.com", data, "Ana"));
+            return null;
+        }).when(service).streamAllContatos(eq(null), eq(null), any());
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportarContatos("ndjson", null, null);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        response.getBody().writeTo(saida);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"contatos.ndjson\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals("{\"id\":1,\"nome\":\"Celular\",\"contato\":\"11987654321\",\"createdDate\":\"05/03/2024\",\"profissional\":\"Ana\"}\n"
+                        + "{\"id\":2,\"nome\":\"Email\",\"contato\":\"ana@email.com\",\"createdDate\":\"05/03/2024\",\"profissional\":\"Ana\"}\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+
+}
@@ -1,11 +1,19 @@
 package com.cadastroprofissional.simples.controller;
 
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
 import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
+import com.cadastroprofissional.simples.model.dto.RelatorioLoteDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
 import com.cadastroprofissional.simples.model.input.ProfissionalInput;
 import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.service.ContatoService;
 import com.cadastroprofissional.simples.service.ProfissionalService;
 import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,21 +21,45 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -36,17 +68,20 @@ class ProfissionalControllerTest {
     private MockMvc mockMvc;
     private ProfissionalRepository repository;
     private ProfissionalService service;
+    private ContatoService contatoService;
     private ProfissionalController controller;
 
     public ProfissionalControllerTest(){
         repository = mock(ProfissionalRepository.class);
         service = mock(ProfissionalService.class);
-        controller = new ProfissionalController(service);
+        contatoService = mock(ContatoService.class);
+        controller = new ProfissionalController(service, contatoService, Jackson2ObjectMapperBuilder.json().build());
     }
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(controller).setControllerAdvice().build();
+        when(service.findVersaoProfissionais()).thenReturn(new VersaoColecaoDTO(1L, 1L, 0L));
     }
 
     @Test
@@ -61,7 +96,7 @@ class ProfissionalControllerTest {
 
         when(service.findAllProfissionais(q, fields)).thenReturn(Collections.singletonList(profissionalDTO));
 
-        ResponseEntity<List<ProfissionalDTO>> response = controller.findAllProfissionais(q, fields);
+        ResponseEntity<List<ProfissionalDTO>> response = controller.findAllProfissionais(q, fields, null, null, requisicao());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
 
@@ -81,14 +116,15 @@ class ProfissionalControllerTest {
         profissional.setCargo(CargoEnum.DESENVOLVEDOR);
         profissional.setDataNascimento(LocalDate.now());
         profissional.setCreatedDate(LocalDate.now());
+        profissional.setVersao(0L);
 
-        when(service.findProfissionalById(profissionalId)).thenReturn(profissional);
+        when(service.findProfissionalVersionado(profissionalId)).thenReturn(new VersionadoDTO<>(profissional.toDTO(), profissional.getVersao()));
 
-        ResponseEntity<ProfissionalDTO> response = controller.findProfissionalById(profissionalId);
+        ResponseEntity<ProfissionalDTO> response = controller.findProfissionalById(profissionalId, requisicao());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
 
-        verify(service, times(1)).findProfissionalById(profissionalId);
+        verify(service, times(1)).findProfissionalVersionado(profissionalId);
 
         ProfissionalDTO expectedDTO = profissional.toDTO();
         ProfissionalDTO actualDTO = response.getBody();
@@ -100,6 +136,77 @@ class ProfissionalControllerTest {
         assertEquals(expectedDTO.getCreatedDate(), actualDTO.getCreatedDate());
     }
 
+    @Test
+    @DisplayName("Testa que o profissional é enviado com ETag e que o mesmo ETag em If-None-Match retorna 304 sem corpo")
+    void testFindProfissionalByIdNaoModificado() throws Exception {
+        Profissional profissional = new Profissional(1L);
+        profissional.setNome("Profissional 1");
+        profissional.setCargo(CargoEnum.DESENVOLVEDOR);
+        profissional.setVersao(3L);
+
+        when(service.findProfissionalVersionado(1L)).thenReturn(new VersionadoDTO<>(profissional.toDTO(), profissional.getVersao()));
+
+        mockMvc.perform(get("/profissional/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""));
+
+        mockMvc.perform(get("/profissional/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/profissional/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Testa listar os contatos de um profissional paginados por cursor")
+    void testFindContatosByProfissional() throws Exception {
+        ContatoDTO contato = new ContatoDTO(11L, "Celular", "11987654321", LocalDate.now(), "Profissional 1");
+
+        when(contatoService.findContatosByProfissional(1L, List.of("id", "contato"), 10L, 1)).thenReturn(new PaginaDTO<>(List.of(contato), 11L));
+
+        mockMvc.perform(get("/profissional/{id}/contatos", 1L)
+                        .param("fields", "id", "contato")
+                        .param("after", "10")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "11"))
+                .andExpect(header().string("Link", containsString("/profissional/1/contatos?")))
+                .andExpect(header().string("Link", containsString("after=11")))
+                .andExpect(jsonPath("$[0].contato", is("11987654321")));
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem não é consultada quando o ETag da coleção não mudou")
+    void testFindAllProfissionaisNaoModificado() throws Exception {
+        when(service.findVersaoProfissionais()).thenReturn(new VersaoColecaoDTO(2L, 3L, 5L));
+
+        mockMvc.perform(get("/profissional").header(HttpHeaders.IF_NONE_MATCH, "\"2-3-5\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/profissional").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, "\"2-3-5\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, never()).findAllProfissionais(null, null);
+        verify(service, never()).findAllProfissionais(null, null, null, 10);
+    }
+
+    @Test
+    @DisplayName("Testa que uma página sem If-None-Match não agrega a tabela e é enviada sem ETag")
+    void testFindAllProfissionaisPaginadoSemAgregacao() throws Exception {
+        when(service.findAllProfissionais(null, null, null, 10)).thenReturn(new PaginaDTO<>(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/profissional").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        verify(service, never()).findVersaoProfissionais();
+
+        mockMvc.perform(get("/profissional"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-1-0\""));
+        verify(service, times(1)).findVersaoProfissionais();
+    }
+
     @Test
     @DisplayName("Testa criar um profissional")
     void testCreateProfissional() {
@@ -123,6 +230,61 @@ class ProfissionalControllerTest {
         assertEquals("Profissional com id 1 criado com sucesso.", response.getBody());
     }
 
+    @Test
+    @DisplayName("Testa gravar profissionais em lote a partir de NDJSON")
+    void testUpsertProfissionaisEmLote() throws Exception {
+        when(service.upsertProfissionais(anyList(), anyInt())).thenReturn(List.of(
+                ResultadoLinhaLoteDTO.gravado(1, StatusLinhaLoteEnum.CRIADO, 1L),
+                ResultadoLinhaLoteDTO.gravado(2, StatusLinhaLoteEnum.ATUALIZADO, 2L)));
+        String ndjson = "{\"nome\":\"Ana\",\"cargo\":\"Tester\",\"dataNascimento\":\"1990-02-01\"}\n"
+                + "{\"nome\":\"Bia\",\"cargo\":\"designer\"}\n";
+
+        ResponseEntity<RelatorioLoteDTO> response = controller.upsertProfissionais(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getTotal());
+        assertEquals(2, response.getBody().getGravados());
+        verify(service, times(1)).upsertProfissionais(anyList(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Testa exportar os profissionais em CSV com as colunas de fields e recusar um formato desconhecido")
+    void testExportarProfissionais() throws Exception {
+        List<String> fields = List.of("id", "nome");
+        ProfissionalDTO profissionalDTO = new ProfissionalDTO();
+        profissionalDTO.setId(1L);
+        profissionalDTO.setNome("Silva, Ana");
+        doAnswer(invocacao -> {
+            invocacao.<Consumer<ProfissionalDTO>>getArgument(2).accept(profissionalDTO);
+            return null;
+        }).when(service).streamAllProfissionais(eq(null), eq(fields), any());
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportarProfissionais("CSV", null, fields);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        response.getBody().writeTo(saida);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("attachment; filename=\"profissionais.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals("id,nome\n1,\"Silva, Ana\"\n", saida.toString(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.BAD_REQUEST, controller.exportarProfissionais("xml", null, fields).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Testa que um lote em conflito com uma gravação simultânea é gravado de novo")
+    void testUpsertProfissionaisEmLoteConflito() throws Exception {
+        when(service.upsertProfissionais(anyList(), anyInt()))
+                .thenThrow(new DataIntegrityViolationException("uk_profissional_chave_natural"))
+                .thenReturn(List.of(ResultadoLinhaLoteDTO.gravado(1, StatusLinhaLoteEnum.ATUALIZADO, 1L)));
+        String ndjson = "{\"nome\":\"Ana\",\"cargo\":\"Tester\",\"dataNascimento\":\"1990-02-01\"}\n";
+
+        ResponseEntity<RelatorioLoteDTO> response = controller.upsertProfissionais(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getGravados());
+        assertEquals(StatusLinhaLoteEnum.ATUALIZADO, response.getBody().getLinhas().get(0).getStatus());
+        verify(service, times(2)).upsertProfissionais(anyList(), anyInt());
+    }
+
     @Test
     @DisplayName("Testa atualizar um profissional")
     void testUpdateProfissional() {
@@ -158,4 +320,8 @@ class ProfissionalControllerTest {
 
         assertEquals("Profissional excluído com sucesso.", response.getBody());
     }
-}
\ No newline at end of file
+
+    private static ServletWebRequest requisicao() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/profissional"), new MockHttpServletResponse());
+    }
+}
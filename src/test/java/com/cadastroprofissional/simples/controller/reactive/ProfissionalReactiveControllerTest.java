@@ -0,0 +1,83 @@
+package com.cadastroprofissional.simples.controller.reactive;
+
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.model.reactive.ProfissionalRegistro;
+import com.cadastroprofissional.simples.service.reactive.ProfissionalReactiveService;
+import com.cadastroprofissional.simples.util.NdjsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProfissionalReactiveControllerTest {
+
+    private WebTestClient webTestClient;
+    private ProfissionalReactiveService service;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(ProfissionalReactiveService.class);
+        webTestClient = WebTestClient.bindToController(new ProfissionalReactiveController(service)).build();
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem é enviada em NDJSON, um profissional por linha")
+    void testFindAllProfissionaisNdjson() {
+        when(service.findAllProfissionais("ana", null, 2)).thenReturn(Flux.just(
+                ProfissionalDTO.builder().id(1L).nome("Ana").build(),
+                ProfissionalDTO.builder().id(2L).nome("Mariana").build()));
+
+        webTestClient.get().uri("/profissional?q=ana&limit=2").accept(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("{\"id\":1,\"nome\":\"Ana\"}\n{\"id\":2,\"nome\":\"Mariana\"}\n");
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem é enviada como array JSON por padrão")
+    void testFindAllProfissionaisJson() {
+        when(service.findAllProfissionais(null, null, null)).thenReturn(Flux.just(ProfissionalDTO.builder().id(1L).nome("Ana").build()));
+
+        webTestClient.get().uri("/profissional").accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].nome").isEqualTo("Ana");
+    }
+
+    @Test
+    @DisplayName("Testa que a criação de profissional retorna status 201 com o ID criado")
+    void testCreateProfissional() {
+        ProfissionalRegistro profissional = new ProfissionalRegistro();
+        profissional.setId(51L);
+        when(service.createProfissional(any(ProfissionalInput.class))).thenReturn(Mono.just(profissional));
+
+        webTestClient.post().uri("/profissional").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"nome\":\"Ana\",\"cargo\":\"Tester\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("Profissional com id 51 criado com sucesso.");
+    }
+
+    @Test
+    @DisplayName("Testa que a exclusão de profissional retorna status 204")
+    void testDeleteProfissional() {
+        when(service.deleteProfissional(1L)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/profissional/1").exchange().expectStatus().isNoContent();
+    }
+
+}
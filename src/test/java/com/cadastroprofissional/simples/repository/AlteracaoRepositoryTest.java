@@ -0,0 +1,59 @@
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.Alteracao;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class AlteracaoRepositoryTest {
+
+    @Autowired
+    private AlteracaoRepository repository;
+
+    @Test
+    @DisplayName("Testa que as alterações gravadas em batch recebem sequências crescentes e são lidas em ordem a partir de uma sequência")
+    void testRegistrarELerEmOrdem() {
+        this.repository.registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.CRIADO, List.of(10L, 11L, 12L));
+        this.repository.registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.EXCLUIDO, List.of(3L));
+
+        List<Alteracao> todas = this.repository.findBySequenciaGreaterThanOrderBySequencia(0L, Limit.of(10));
+        assertEquals(List.of(10L, 11L, 12L, 3L), todas.stream().map(Alteracao::getEntidadeId).collect(Collectors.toList()));
+        assertEquals(EntidadeAlteracaoEnum.PROFISSIONAL, todas.get(3).getEntidade());
+        assertEquals(OperacaoAlteracaoEnum.EXCLUIDO, todas.get(3).getOperacao());
+
+        long primeira = todas.get(0).getSequencia();
+        assertEquals(primeira, this.repository.findPrimeiraSequencia().orElseThrow());
+        assertEquals(todas.get(3).getSequencia(), this.repository.findUltimaSequencia().orElseThrow());
+        assertEquals(List.of(11L, 12L), this.repository.findIntervalo(primeira, primeira + 2, Limit.of(10)).stream()
+                .map(Alteracao::getEntidadeId).collect(Collectors.toList()));
+        assertEquals(List.of(11L), this.repository.findBySequenciaGreaterThanOrderBySequencia(primeira, Limit.of(1)).stream()
+                .map(Alteracao::getEntidadeId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Testa excluir as alterações anteriores à retenção")
+    void testDeleteAnteriores() {
+        this.repository.registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.ALTERADO, List.of(1L, 2L));
+
+        assertEquals(0, this.repository.deleteAnteriores(LocalDateTime.now().minusDays(1)));
+        assertEquals(2, this.repository.deleteAnteriores(LocalDateTime.now().plusSeconds(1)));
+        assertTrue(this.repository.findUltimaSequencia().isEmpty());
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ContatoRepositoryTest {
+
+    @Autowired
+    private ContatoRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Long contatoId;
+
+    private Long profissionalId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            Profissional profissional = new Profissional();
+            profissional.setNome("Profissional " + i);
+            profissional.setCargo(CargoEnum.DESENVOLVEDOR);
+            profissional.setCreatedDate(LocalDate.now());
+            this.profissionalId = this.entityManager.persist(profissional).getId();
+
+            for (int j = 0; j < 2; j++) {
+                Contato contato = new Contato();
+                contato.setNome("Contato " + i + j);
+                contato.setContato("1199999000" + i + j);
+                contato.setCreatedDate(LocalDate.now());
+                contato.setProfissional(profissional);
+                this.contatoId = this.entityManager.persist(contato).getId();
+            }
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        this.estatisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem de contatos executa uma única consulta, independente da quantidade de profissionais")
+    void testFindByAnyColumnConsultaUnica() {
+        List<ContatoDTO> contatos = this.repository.findByAnyColumn(null, null);
+
+        assertEquals(6, contatos.size());
+        assertTrue(contatos.stream().allMatch(contato -> contato.getProfissional().startsWith("Profissional ")));
+        assertEquals(1, this.estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem paginada de contatos executa uma única consulta")
+    void testFindPageByAnyColumnConsultaUnica() {
+        assertEquals(4, this.repository.findPageByAnyColumn(null, null, 0L, 4).getItens().size());
+        assertEquals(1, this.estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem lê apenas os campos solicitados e todos quando nenhum campo conhecido é solicitado")
+    void testFindPageByAnyColumnCampos() {
+        ContatoDTO selecionado = this.repository.findPageByAnyColumn(null, List.of("nome", "desconhecido"), 0L, 1).getItens().get(0);
+        ContatoDTO completo = this.repository.findPageByAnyColumn(null, List.of("desconhecido"), 0L, 1).getItens().get(0);
+        ContatoDTO vazio = this.repository.findPageByAnyColumn(null, List.of(), 0L, 1).getItens().get(0);
+
+        assertEquals("Contato 10", selecionado.getNome());
+        assertNull(selecionado.getId());
+        assertNull(selecionado.getContato());
+        assertNull(selecionado.getProfissional());
+        for (ContatoDTO contato : List.of(completo, vazio)) {
+            assertEquals("Contato 10", contato.getNome());
+            assertEquals("119999900010", contato.getContato());
+            assertEquals("Profissional 1", contato.getProfissional());
+            assertNotNull(contato.getId());
+            assertNotNull(contato.getCreatedDate());
+        }
+    }
+
+    @Test
+    @DisplayName("Testa que a busca por texto encontra contatos pelo nome do contato ou do profissional, com uma única consulta")
+    void testFindPageByAnyColumnTexto() {
+        List<ContatoDTO> porContato = this.repository.findPageByAnyColumn("contato 21", List.of("nome"), 0L, 10).getItens();
+        List<ContatoDTO> porProfissional = this.repository.findPageByAnyColumn("PROFISSIONAL 2", List.of("nome", "profissional"), 0L, 10).getItens();
+
+        assertEquals(List.of("Contato 21"), porContato.stream().map(ContatoDTO::getNome).toList());
+        assertEquals(List.of("Contato 20", "Contato 21"), porProfissional.stream().map(ContatoDTO::getNome).toList());
+        assertTrue(porProfissional.stream().allMatch(contato -> contato.getProfissional().equals("Profissional 2")));
+        assertEquals(2, this.estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem, a busca e a exportação não trazem os contatos de um profissional excluído")
+    void testFindByAnyColumnSemProfissionalInativo() {
+        this.entityManager.getEntityManager().createQuery("UPDATE Profissional p SET p.ativo = false WHERE p.nome = 'Profissional 2'").executeUpdate();
+
+        List<ContatoDTO> todos = this.repository.findByAnyColumn(null, List.of("nome"));
+        List<ContatoDTO> porContato = this.repository.findPageByAnyColumn("contato 21", List.of("nome"), 0L, 10).getItens();
+        List<ContatoDTO> porProfissional = this.repository.findPageByAnyColumn("PROFISSIONAL 2", List.of("nome"), 0L, 10).getItens();
+        List<ContatoDTO> exportados;
+        try (Stream<ContatoDTO> contatos = this.repository.streamByAnyColumn(null, List.of("nome"))) {
+            exportados = contatos.toList();
+        }
+
+        assertEquals(List.of("Contato 10", "Contato 11", "Contato 30", "Contato 31"), todos.stream().map(ContatoDTO::getNome).toList());
+        assertTrue(porContato.isEmpty());
+        assertTrue(porProfissional.isEmpty());
+        assertEquals(4, exportados.size());
+    }
+
+    @Test
+    @DisplayName("Testa que a página de contatos de um profissional traz apenas os contatos dele, em ordem de ID, com uma consulta por página")
+    void testFindPageByProfissional() {
+        PaginaDTO<ContatoDTO> primeira = this.repository.findPageByProfissional(this.profissionalId, List.of("id", "profissional"), 0L, 1);
+        PaginaDTO<ContatoDTO> segunda = this.repository.findPageByProfissional(this.profissionalId, List.of("id", "profissional"),
+                primeira.getProximoCursor(), 1);
+
+        assertEquals("Profissional 3", primeira.getItens().get(0).getProfissional());
+        assertEquals(this.contatoId, segunda.getItens().get(0).getId());
+        assertTrue(primeira.getItens().get(0).getId() < segunda.getItens().get(0).getId());
+        assertEquals(2, this.estatisticas.getPrepareStatementCount());
+        assertTrue(this.repository.findPageByProfissional(this.profissionalId, null, this.contatoId, 1).getItens().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa que a busca por ID carrega o profissional na mesma consulta")
+    void testFindContatoByIdCarregaProfissional() {
+        Contato contato = this.repository.findContatoByIdAndProfissionalAtivoIsTrue(this.contatoId).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(contato.getProfissional()));
+        assertEquals("Profissional 3", contato.toDto().getProfissional());
+        assertEquals(1, this.estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Testa que gravar um telefone já cadastrado viola a restrição de unicidade do telefone")
+    void testTelefoneUnico() {
+        Contato existente = this.repository.findContatoByIdAndProfissionalAtivoIsTrue(this.contatoId).orElseThrow();
+        Contato duplicado = new Contato(null, "Duplicado", existente.getContato(), LocalDate.now(), existente.getProfissional(), null);
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () -> this.repository.saveAndFlush(duplicado));
+
+        assertTrue(((ConstraintViolationException) ex.getCause()).getConstraintName().toUpperCase().contains(Contato.UK_TELEFONE));
+    }
+
+    @Test
+    @DisplayName("Testa que a versão do contato e o resumo da listagem mudam quando o contato ou o seu profissional são alterados")
+    void testVersaoMudaComAlteracoes() {
+        VersaoColecaoDTO antes = this.repository.findVersaoColecao();
+        assertEquals(0L, this.repository.findVersao(this.contatoId).orElseThrow());
+        assertEquals(6L, antes.getQuantidade());
+
+        Contato contato = this.repository.findContatoByIdAndProfissionalAtivoIsTrue(this.contatoId).orElseThrow();
+        contato.setNome("Alterado");
+        contato.getProfissional().setNome("Profissional alterado");
+        this.entityManager.flush();
+
+        assertEquals(2L, this.repository.findVersao(this.contatoId).orElseThrow());
+        // O contato alterado soma 2; o outro contato do mesmo profissional soma 1
+        assertEquals(antes.getSomaVersoes() + 3, this.repository.findVersaoColecao().getSomaVersoes());
+        assertEquals(antes.getSomaIds(), this.repository.findVersaoColecao().getSomaIds());
+    }
+
+    @Test
+    @DisplayName("Testa que gravar um contato com versão desatualizada falha com conflito de concorrência")
+    void testTravamentoOtimista() {
+        Contato desatualizado = this.repository.findContatoByIdAndProfissionalAtivoIsTrue(this.contatoId).orElseThrow();
+        this.entityManager.clear();
+        Contato atual = this.repository.findContatoByIdAndProfissionalAtivoIsTrue(this.contatoId).orElseThrow();
+        atual.setNome("Primeira alteração");
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        desatualizado.setNome("Segunda alteração");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> this.repository.saveAndFlush(desatualizado));
+    }
+
+}
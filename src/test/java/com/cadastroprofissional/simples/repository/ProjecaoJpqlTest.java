@@ -0,0 +1,82 @@
+package com.cadastroprofissional.simples.repository;
+
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjecaoJpqlTest {
+
+    private static final ProjecaoJpql<ContatoDTO> PROJECAO = ContatoRepositoryCustomImpl.PROJECAO;
+
+    private static final List<String> TODOS = List.of("id", "nome", "contato", "createdDate", "profissional");
+
+    @Test
+    @DisplayName("Testa que apenas os campos conhecidos são selecionados, sem repetição e na ordem solicitada")
+    void testSelecionarCamposConhecidos() {
+        assertEquals(List.of("contato", "nome"), PROJECAO.selecionar(Arrays.asList("contato", "desconhecido", null, "nome", "contato")));
+    }
+
+    @Test
+    @DisplayName("Testa que todos os campos são selecionados quando fields é nulo, vazio ou só tem campos desconhecidos")
+    void testSelecionarTodosSemCampoConhecido() {
+        assertEquals(TODOS, PROJECAO.selecionar(null));
+        assertEquals(TODOS, PROJECAO.selecionar(List.of()));
+        assertEquals(TODOS, PROJECAO.selecionar(List.of("desconhecido", "NOME")));
+    }
+
+    @Test
+    @DisplayName("Testa que o SELECT traz o ID primeiro e depois apenas as colunas dos campos selecionados")
+    void testSelect() {
+        assertEquals("SELECT c.id, p.nome, c.contato", PROJECAO.select(List.of("profissional", "contato")));
+        assertEquals("SELECT c.id, c.id, c.nome, c.contato, c.createdDate, p.nome", PROJECAO.select(PROJECAO.selecionar(null)));
+    }
+
+    @Test
+    @DisplayName("Testa que a conversão atribui ao DTO apenas os campos selecionados, pela posição da coluna")
+    void testConverter() {
+        Tuple tupla = mock(Tuple.class);
+        when(tupla.get(0)).thenReturn(7L);
+        when(tupla.get(1)).thenReturn("Profissional 1");
+        when(tupla.get(2)).thenReturn("11987654321");
+        when(tupla.get(0, Long.class)).thenReturn(7L);
+
+        ContatoDTO contato = PROJECAO.converter(tupla, List.of("profissional", "contato"));
+
+        assertEquals("Profissional 1", contato.getProfissional());
+        assertEquals("11987654321", contato.getContato());
+        assertNull(contato.getId());
+        assertNull(contato.getNome());
+        assertNull(contato.getCreatedDate());
+        assertEquals(7L, ProjecaoJpql.id(tupla));
+    }
+
+    @Test
+    @DisplayName("Testa a conversão de todos os campos")
+    void testConverterTodos() {
+        LocalDate hoje = LocalDate.now();
+        Tuple tupla = mock(Tuple.class);
+        List<Object> valores = List.of(7L, 7L, "Celular", "11987654321", hoje, "Profissional 1");
+        for (int i = 0; i < valores.size(); i++) {
+            when(tupla.get(i)).thenReturn(valores.get(i));
+        }
+
+        ContatoDTO contato = PROJECAO.converter(tupla, TODOS);
+
+        assertEquals(7L, contato.getId());
+        assertEquals("Celular", contato.getNome());
+        assertEquals("11987654321", contato.getContato());
+        assertEquals(hoje, contato.getCreatedDate());
+        assertEquals("Profissional 1", contato.getProfissional());
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.cadastroprofissional.simples.repository.memoria;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FiltroTelefonesTest {
+
+    @Test
+    @DisplayName("Testa que o conjunto de long se comporta como um HashSet em inserções e remoções aleatórias")
+    void testConjuntoIgualAoHashSet() {
+        ConjuntoLong conjunto = new ConjuntoLong(16);
+        Set<Long> esperado = new HashSet<>();
+        Random aleatorio = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long valor = 1 + aleatorio.nextInt(5_000);
+            if (aleatorio.nextBoolean()) {
+                assertEquals(esperado.add(valor), conjunto.adicionar(valor));
+            } else {
+                assertEquals(esperado.remove(valor), conjunto.remover(valor));
+            }
+        }
+
+        assertEquals(esperado.size(), conjunto.tamanho());
+        for (long valor = 1; valor <= 5_000; valor++) {
+            assertEquals(esperado.contains(valor), conjunto.contem(valor), "valor=" + valor);
+        }
+    }
+
+    @Test
+    @DisplayName("Testa que o filtro de Bloom não tem falsos negativos e mantém os falsos positivos perto de 1% na capacidade")
+    void testFiltroBloom() {
+        int capacidade = 100_000;
+        FiltroBloom filtro = new FiltroBloom(capacidade);
+        long inicio = 11_199_990_000L;
+        for (long valor = inicio; valor < inicio + capacidade; valor++) {
+            filtro.adicionar(valor);
+        }
+
+        for (long valor = inicio; valor < inicio + capacidade; valor++) {
+            assertTrue(filtro.talvezContenha(valor));
+        }
+        int falsosPositivos = 0;
+        for (long valor = inicio + capacidade; valor < inicio + 2L * capacidade; valor++) {
+            falsosPositivos += filtro.talvezContenha(valor) ? 1 : 0;
+        }
+        assertTrue(falsosPositivos < capacidade * 0.02, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    @DisplayName("Testa que o filtro descarta os telefones novos e acompanha gravações, alterações e exclusões")
+    void testPossiveisCadastrados() {
+        FiltroTelefones filtro = new FiltroTelefones(null);
+        filtro.registrar(List.of("11999990001", "1133334444"));
+
+        assertEquals(Set.of("11999990001"), filtro.possiveisCadastrados(List.of("11999990001", "11999990002")));
+
+        filtro.substituir("11999990001", "11999990002");
+        assertEquals(Set.of("11999990002"), filtro.possiveisCadastrados(List.of("11999990001", "11999990002")));
+
+        filtro.remover("1133334444");
+        assertTrue(filtro.possiveisCadastrados(List.of("1133334444")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testa que telefones com zero à esquerda não se confundem com os de um dígito a menos")
+    void testChaveComZeroAEsquerda() {
+        assertNotEquals(FiltroTelefones.chave("01133334444"), FiltroTelefones.chave("1133334444"));
+        assertEquals(-1L, FiltroTelefones.chave("(11) 3333-4444"));
+        assertFalse(FiltroTelefones.chave("113333444") > 0);
+    }
+
+}
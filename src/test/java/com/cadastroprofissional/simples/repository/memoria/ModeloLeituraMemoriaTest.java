@@ -0,0 +1,228 @@
+package com.cadastroprofissional.simples.repository.memoria;
+
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.VersaoColecaoDTO;
+import com.cadastroprofissional.simples.model.input.ContatoInput;
+import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.repository.ContatoRepository;
+import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.service.ContatoService;
+import com.cadastroprofissional.simples.service.ProfissionalService;
+import com.cadastroprofissional.simples.util.TermoBusca;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Confere que o modelo de leitura em memória responde igual às consultas JPQL e acompanha as gravações dos serviços.
+ * Os testes rodam sem a transação do {@code @DataJpaTest}, para que as alterações sejam aplicadas no commit.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cadastro.modelo-leitura.memoria=true"
+})
+@AutoConfigureCache
+@Import({ModeloLeituraMemoria.class, ContatoService.class, ProfissionalService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ModeloLeituraMemoriaTest {
+
+    @Autowired
+    private ModeloLeituraMemoria modelo;
+
+    @Autowired
+    private ContatoService contatoService;
+
+    @Autowired
+    private ProfissionalService profissionalService;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ProfissionalRepository profissionalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ana;
+
+    private Long bruno;
+
+    @BeforeEach
+    void setUp() {
+        this.ana = this.profissionalService.createProfissional(input("Ana", "desenvolvedor", LocalDate.of(1990, 5, 10))).getId();
+        this.bruno = this.profissionalService.createProfissional(input("Bruno", "tester", null)).getId();
+        this.contatoService.createContato(new ContatoInput("Celular", "(11) 98765-4321", this.ana));
+        this.contatoService.createContato(new ContatoInput("Fixo", "2133334444", this.ana));
+        this.contatoService.createContato(new ContatoInput("Trabalho", "11912345678", this.bruno));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.contatoRepository.deleteAllInBatch();
+        this.profissionalRepository.deleteAllInBatch();
+        this.modelo.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("Testa que as listagens e os ETags em memória são iguais aos das consultas ao banco, para cada tipo de termo")
+    void testListagensIguaisAoBanco() {
+        for (String q : new String[]{null, "11", "2133", LocalDate.now().toString(), "10/05/1990"}) {
+            assertEquals(profissionais(this.profissionalService.findAllProfissionais(q, null)),
+                    profissionais(this.profissionalService.findAllProfissionaisEmMemoria(q, null).orElseThrow()), "q=" + q);
+            assertEquals(contatos(this.contatoService.findAllContatos(q, List.of("contato", "profissional"))),
+                    contatos(this.contatoService.findAllContatosEmMemoria(q, List.of("contato", "profissional")).orElseThrow()), "q=" + q);
+        }
+        assertEquals(resumo(this.profissionalService.findVersaoProfissionais()), resumo(this.profissionalService.findVersaoProfissionaisEmMemoria().orElseThrow()));
+        assertEquals(resumo(this.contatoService.findVersaoContatos()), resumo(this.contatoService.findVersaoContatosEmMemoria().orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Testa que a paginação em memória devolve as mesmas páginas e cursores do banco")
+    void testPaginacaoIgualAoBanco() {
+        Long after = null;
+        do {
+            var banco = this.contatoService.findAllContatos(null, null, after, 2);
+            var memoria = this.contatoService.findAllContatosEmMemoria(null, null, after, 2).orElseThrow();
+            assertEquals(contatos(banco.getItens()), contatos(memoria.getItens()));
+            assertEquals(banco.getProximoCursor(), memoria.getProximoCursor());
+            after = memoria.getProximoCursor();
+        } while (after != null);
+    }
+
+    @Test
+    @DisplayName("Testa que as leituras em memória não abrem transação nem executam statements")
+    void testLeiturasSemBanco() {
+        Statistics estatisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        ProfissionalDTO profissional = this.profissionalService.findProfissionalEmMemoria(this.ana).orElseThrow().getItem();
+        this.contatoService.findAllContatosEmMemoria("11", null).orElseThrow();
+        this.contatoService.findVersaoContatosEmMemoria().orElseThrow();
+
+        assertEquals("Ana", profissional.getNome());
+        assertEquals("Desenvolvedor", profissional.getCargo());
+        assertEquals(0, estatisticas.getTransactionCount());
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Testa que alterações, exclusões e desativações são aplicadas após o commit, com as versões do banco")
+    void testAcompanhaGravacoes() {
+        Long contatoId = this.contatoService.findAllContatos("2133", null).get(0).getId();
+        ContatoUpdateInput atualizacao = new ContatoUpdateInput();
+        atualizacao.setNome("Casa");
+        this.contatoService.updateContato(contatoId, atualizacao);
+
+        assertEquals("Casa", this.modelo.buscarContato(contatoId).getItem().getNome());
+        assertEquals(this.contatoService.findVersaoContato(contatoId), this.modelo.buscarContato(contatoId).getVersao());
+
+        this.contatoService.deleteContato(contatoId);
+        assertNull(this.modelo.buscarContato(contatoId));
+
+        this.profissionalService.updateProfissional(this.ana, input("Ana Maria", null, null));
+        assertEquals(resumo(this.contatoService.findVersaoContatos()), resumo(this.contatoService.findVersaoContatosEmMemoria().orElseThrow()));
+
+        this.profissionalService.deleteProfissional(this.bruno);
+        assertNull(this.modelo.buscarProfissional(this.bruno));
+        assertEquals(contatos(this.contatoService.findAllContatos(null, null)), contatos(this.contatoService.findAllContatosEmMemoria(null, null).orElseThrow()));
+        assertEquals(resumo(this.contatoService.findVersaoContatos()), resumo(this.contatoService.findVersaoContatosEmMemoria().orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Testa que uma transação desfeita não altera o modelo em memória")
+    void testRollbackDescartado() {
+        VersaoColecaoDTO antes = this.modelo.versaoContatos();
+
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            this.contatoService.createContato(new ContatoInput("Recado", "3133335555", this.ana));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(resumo(antes), resumo(this.modelo.versaoContatos()));
+    }
+
+    @Test
+    @DisplayName("Testa que a carga inicial lê do banco os registros gravados sem passar pelos serviços")
+    void testCargaInicial() {
+        Profissional profissional = new Profissional();
+        profissional.setNome("Carla");
+        profissional.setCargo(CargoEnum.SUPORTE);
+        profissional.setCreatedDate(LocalDate.now());
+        Long carla = this.profissionalRepository.save(profissional).getId();
+        assertNull(this.modelo.buscarProfissional(carla));
+
+        this.modelo.afterSingletonsInstantiated();
+
+        assertEquals("Suporte", this.modelo.buscarProfissional(carla).getItem().getCargo());
+        assertEquals(resumo(this.profissionalService.findVersaoProfissionais()), resumo(this.modelo.versaoProfissionais()));
+        assertEquals(resumo(this.contatoService.findVersaoContatos()), resumo(this.modelo.versaoContatos()));
+    }
+
+    @Test
+    @DisplayName("Testa que telefones com zero à esquerda ou gravados com pontuação são devolvidos como foram gravados")
+    void testTelefonesNaoNumericos() {
+        ProfissionaisMemoria profissionais = new ProfissionaisMemoria();
+        profissionais.gravar(1L, "Ana", true, CargoEnum.DESIGNER, null, null, 0L);
+        ContatosMemoria contatos = new ContatosMemoria();
+        contatos.gravar(1L, "Exterior", "0044207946", null, 1L, 0L, profissionais);
+        contatos.gravar(2L, "Antigo", "(11) 3333-4444", null, 1L, 0L, profissionais);
+
+        assertEquals("0044207946", contatos.buscar(1L, profissionais).getContato());
+        assertEquals("(11) 3333-4444", contatos.buscar(2L, profissionais).getContato());
+        assertEquals(1, contatos.pagina(TermoBusca.of("004"), TabelaMemoria.mascara(ContatosMemoria.CAMPOS, List.of("contato")), 0L, 10,
+                profissionais).getItens().size());
+    }
+
+    private static ProfissionalInput input(String nome, String cargo, LocalDate dataNascimento) {
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome(nome);
+        input.setCargo(cargo);
+        input.setDataNascimento(dataNascimento);
+        return input;
+    }
+
+    private static List<String> profissionais(List<ProfissionalDTO> profissionais) {
+        return profissionais.stream().map(p -> p.getId() + "|" + p.getNome() + "|" + p.getAtivo() + "|" + p.getCargo() + "|"
+                + p.getDataNascimento() + "|" + p.getCreatedDate()).collect(Collectors.toList());
+    }
+
+    private static List<String> contatos(List<ContatoDTO> contatos) {
+        return contatos.stream().map(c -> c.getId() + "|" + c.getNome() + "|" + c.getContato() + "|" + c.getCreatedDate() + "|"
+                + c.getProfissional()).collect(Collectors.toList());
+    }
+
+    private static String resumo(VersaoColecaoDTO versao) {
+        return versao.getQuantidade() + "|" + versao.getSomaIds() + "|" + versao.getSomaVersoes();
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.cadastroprofissional.simples.service;
+
+import com.cadastroprofissional.simples.config.AlteracoesProperties;
+import com.cadastroprofissional.simples.model.Alteracao;
+import com.cadastroprofissional.simples.model.dto.AlteracaoDTO;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlteracaoServiceTest {
+
+    private AlteracaoRepository repository;
+    private AlteracoesProperties propriedades;
+    private AlteracaoService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AlteracaoRepository.class);
+        propriedades = new AlteracoesProperties();
+        propriedades.setEsperaLacuna(Duration.ofHours(1));
+        service = new AlteracaoService(repository, propriedades);
+        when(repository.findBySequenciaGreaterThanOrderBySequencia(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Testa publicar as alterações em ordem de sequência, aguardando uma lacuna até a espera máxima")
+    void testPublicarAguardandoLacuna() {
+        service.iniciar(0L, Runnable::run);
+        EmitterTeste emitter = new EmitterTeste();
+        service.assinar(emitter, null);
+        service.rodada();
+
+        when(repository.findBySequenciaGreaterThanOrderBySequencia(eq(0L), any(Limit.class))).thenReturn(alteracoes(1L, 2L, 4L));
+        when(repository.findBySequenciaGreaterThanOrderBySequencia(eq(2L), any(Limit.class))).thenReturn(alteracoes(4L));
+        service.rodada();
+        service.rodada();
+        assertEquals(List.of("1", "2"), emitter.ids());
+
+        propriedades.setEsperaLacuna(Duration.ZERO);
+        service.rodada();
+        assertEquals(List.of("1", "2", "4"), emitter.ids());
+        assertEquals(List.of("alteracao", "alteracao", "alteracao"), emitter.nomes());
+    }
+
+    @Test
+    @DisplayName("Testa que a lacuna é aguardada além da espera mínima enquanto a transação aberta quando ela foi encontrada não termina")
+    void testLacunaAguardaTransacaoAberta() {
+        service.iniciar(0L, Runnable::run);
+        propriedades.setEsperaLacuna(Duration.ZERO);
+        EmitterTeste emitter = new EmitterTeste();
+        service.assinar(emitter, null);
+        service.rodada();
+        when(repository.findBySequenciaGreaterThanOrderBySequencia(eq(0L), any(Limit.class))).thenReturn(alteracoes(1L, 3L));
+        when(repository.findBySequenciaGreaterThanOrderBySequencia(eq(1L), any(Limit.class))).thenReturn(alteracoes(3L));
+        when(repository.findProximaTransacao()).thenReturn(100L);
+        when(repository.findTransacaoMaisAntiga()).thenReturn(90L);
+
+        service.rodada();
+        service.rodada();
+        assertEquals(List.of("1"), emitter.ids());
+
+        when(repository.findTransacaoMaisAntiga()).thenReturn(100L);
+        service.rodada();
+        assertEquals(List.of("1", "3"), emitter.ids());
+    }
+
+    @Test
+    @DisplayName("Testa que a lacuna é ignorada após a espera máxima mesmo com a transação ainda aberta")
+    void testLacunaIgnoradaAposEsperaMaxima() {
+        service.iniciar(0L, Runnable::run);
+        propriedades.setEsperaLacuna(Duration.ZERO);
+        propriedades.setEsperaLacunaMaxima(Duration.ZERO);
+        EmitterTeste emitter = new EmitterTeste();
+        service.assinar(emitter, null);
+        service.rodada();
+        when(repository.findBySequenciaGreaterThanOrderBySequencia(eq(0L), any(Limit.class))).thenReturn(alteracoes(2L));
+        when(repository.findProximaTransacao()).thenReturn(100L);
+        when(repository.findTransacaoMaisAntiga()).thenReturn(90L);
+
+        service.rodada();
+
+        assertEquals(List.of("2"), emitter.ids());
+    }
+
+    @Test
+    @DisplayName("Testa que uma conexão lenta não atrasa as demais e é encerrada quando a sua fila enche")
+    void testConexaoLentaEncerrada() throws InterruptedException {
+        ExecutorService envio = Executors.newCachedThreadPool();
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            service.iniciar(0L, envio);
+            propriedades.setTamanhoFila(2);
+            EmitterTeste lento = new EmitterTeste(liberar);
+            EmitterTeste rapido = new EmitterTeste();
+            service.assinar(lento, null);
+            service.assinar(rapido, null);
+            service.rodada();
+
+            for (long sequencia = 1; sequencia <= 3; sequencia++) {
+                when(repository.findBySequenciaGreaterThanOrderBySequencia(eq(sequencia - 1), any(Limit.class))).thenReturn(alteracoes(sequencia));
+                service.rodada();
+                int recebidas = (int) sequencia;
+                aguardar(() -> rapido.ids().size() == recebidas);
+            }
+
+            aguardar(() -> lento.encerrado);
+            assertEquals(List.of("1", "2", "3"), rapido.ids());
+            assertTrue(lento.encerrado);
+            assertFalse(rapido.encerrado);
+        } finally {
+            liberar.countDown();
+            envio.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Testa retomar do último evento recebido lendo do banco, e enviar reinício quando ele já saiu da retenção")
+    void testRetomarDoUltimoEvento() {
+        service.iniciar(10L, Runnable::run);
+        when(repository.findPrimeiraSequencia()).thenReturn(Optional.of(5L));
+        when(repository.findIntervalo(eq(6L), eq(10L), any(Limit.class))).thenReturn(alteracoes(7L, 9L, 10L));
+        EmitterTeste emDia = new EmitterTeste();
+        EmitterTeste atrasado = new EmitterTeste();
+        service.assinar(emDia, 6L);
+        service.assinar(atrasado, 3L);
+
+        service.rodada();
+
+        assertEquals(List.of("7", "9", "10"), emDia.ids());
+        assertEquals(List.of("10"), atrasado.ids());
+        assertEquals(List.of("reinicio"), atrasado.nomes());
+    }
+
+    private static List<Alteracao> alteracoes(Long... sequencias) {
+        return Arrays.stream(sequencias).map(sequencia -> new Alteracao(sequencia, EntidadeAlteracaoEnum.CONTATO, sequencia * 100,
+                OperacaoAlteracaoEnum.ALTERADO, LocalDateTime.now())).collect(Collectors.toList());
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicao.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Guarda o texto de cada evento enviado, no formato do protocolo, em vez de escrevê-lo em uma resposta.
+     * Com uma trava, cada envio aguarda a sua liberação, como em um cliente que não lê a resposta.
+     */
+    private static class EmitterTeste extends SseEmitter {
+
+        private final List<String> eventos = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch liberar;
+
+        private volatile boolean encerrado;
+
+        EmitterTeste() {
+            this(new CountDownLatch(0));
+        }
+
+        EmitterTeste(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                this.liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            StringBuilder texto = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType parte : builder.build()) {
+                texto.append(parte.getData() instanceof AlteracaoDTO alteracao ? "{" + alteracao.getId() + "}" : parte.getData());
+            }
+            this.eventos.add(texto.toString());
+        }
+
+        @Override
+        public void complete() {
+            this.encerrado = true;
+        }
+
+        List<String> ids() {
+            return this.campo("id:");
+        }
+
+        List<String> nomes() {
+            return this.campo("event:");
+        }
+
+        private List<String> campo(String prefixo) {
+            return this.eventos.stream().flatMap(evento -> evento.lines().filter(linha -> linha.startsWith(prefixo)))
+                    .map(linha -> linha.substring(prefixo.length())).collect(Collectors.toList());
+        }
+
+    }
+
+}
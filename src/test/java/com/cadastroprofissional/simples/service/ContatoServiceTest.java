@@ -3,12 +3,22 @@ package com.cadastroprofissional.simples.service;
 import com.cadastroprofissional.simples.model.Contato;
 import com.cadastroprofissional.simples.model.Profissional;
 import com.cadastroprofissional.simples.model.dto.ContatoDTO;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
 import com.cadastroprofissional.simples.model.input.ContatoInput;
 import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
 import com.cadastroprofissional.simples.repository.ContatoRepository;
+import com.cadastroprofissional.simples.repository.memoria.FiltroTelefones;
+import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
 import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
 import com.cadastroprofissional.simples.util.exception.TelefoneInvalidoException;
 import com.cadastroprofissional.simples.util.exception.TelefoneJaCadastradoException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,15 +26,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -37,14 +50,16 @@ import static org.mockito.Mockito.when;
 class ContatoServiceTest {
 
     private ContatoRepository repository;
+    private AlteracaoRepository alteracaoRepository;
     private ProfissionalService profissionalService;
     private ContatoService contatoService;
 
     @BeforeEach
     void setUp() {
         repository = mock(ContatoRepository.class);
+        alteracaoRepository = mock(AlteracaoRepository.class);
         profissionalService = mock(ProfissionalService.class);
-        contatoService = new ContatoService(repository, profissionalService);
+        contatoService = new ContatoService(repository, alteracaoRepository, profissionalService, Optional.empty(), Optional.empty());
     }
 
     @Test
@@ -77,9 +92,9 @@ class ContatoServiceTest {
     void testFindAllContatos_WhenFieldsNull() {
         String q = "search";
         List<String> fields = null;
-        List<Contato> contatosFiltrados = new ArrayList<>();
-        contatosFiltrados.add(createContato(1L, "Nome 1", "Contato 1", LocalDate.now()));
-        when(repository.findByAnyColumn(q)).thenReturn(contatosFiltrados);
+        List<ContatoDTO> contatosFiltrados = new ArrayList<>();
+        contatosFiltrados.add(createContato(1L, "Nome 1", "Contato 1", LocalDate.now()).toDto());
+        when(repository.findByAnyColumn(q, fields)).thenReturn(contatosFiltrados);
 
         List<ContatoDTO> result = contatoService.findAllContatos(q, fields);
 
@@ -93,9 +108,9 @@ class ContatoServiceTest {
     void testFindAllContatos_WhenFieldsEmpty() {
         String q = "search";
         List<String> fields = new ArrayList<>();
-        List<Contato> contatosFiltrados = new ArrayList<>();
-        contatosFiltrados.add(createContato(1L, "Nome 1", "Contato 1", LocalDate.now()));
-        when(repository.findByAnyColumn(q)).thenReturn(contatosFiltrados);
+        List<ContatoDTO> contatosFiltrados = new ArrayList<>();
+        contatosFiltrados.add(createContato(1L, "Nome 1", "Contato 1", LocalDate.now()).toDto());
+        when(repository.findByAnyColumn(q, fields)).thenReturn(contatosFiltrados);
 
         List<ContatoDTO> result = contatoService.findAllContatos(q, fields);
 
@@ -104,18 +119,56 @@ class ContatoServiceTest {
         assertEquals("Contato 1", result.get(0).getContato());
     }
 
+    @Test
+    @DisplayName("Testa repassar os campos selecionados para a consulta")
+    void testFindAllContatos_WhenFieldsSelected() {
+        String q = "search";
+        List<String> fields = List.of("nome");
+        ContatoDTO contato = new ContatoDTO();
+        contato.setNome("Nome 1");
+        when(repository.findByAnyColumn(q, fields)).thenReturn(List.of(contato));
+
+        List<ContatoDTO> result = contatoService.findAllContatos(q, fields);
+
+        assertEquals(1, result.size());
+        assertEquals("Nome 1", result.get(0).getNome());
+        assertNull(result.get(0).getContato());
+        verify(repository, times(1)).findByAnyColumn(q, fields);
+    }
+
+    @Test
+    @DisplayName("Testa buscar a primeira página a partir do cursor 0")
+    void testFindAllContatosPaginado() {
+        PaginaDTO<ContatoDTO> esperada = new PaginaDTO<>(List.of(new ContatoDTO()), 8L);
+        when(repository.findPageByAnyColumn(null, List.of("nome"), 0L, 2)).thenReturn(esperada);
+
+        PaginaDTO<ContatoDTO> pagina = contatoService.findAllContatos(null, List.of("nome"), null, 2);
+
+        assertEquals(8L, pagina.getProximoCursor());
+        assertEquals(1, pagina.getItens().size());
+    }
+
+    @Test
+    @DisplayName("Testa limitar o tamanho máximo da página")
+    void testFindAllContatosLimiteMaximo() {
+        when(repository.findPageByAnyColumn("q", null, 8L, PaginacaoUtil.LIMITE_MAXIMO))
+                .thenReturn(new PaginaDTO<>(List.of(), null));
+
+        PaginaDTO<ContatoDTO> pagina = contatoService.findAllContatos("q", null, 8L, 50000);
+
+        assertNull(pagina.getProximoCursor());
+        verify(repository, times(1)).findPageByAnyColumn("q", null, 8L, PaginacaoUtil.LIMITE_MAXIMO);
+    }
+
     @Test
     @DisplayName("Testa criar contato")
-    void testCreateContato() throws Exception {
+    void testCreateContato() {
         String telefone = "1234567890";
         ContatoInput input = new ContatoInput("Nome", telefone, 1L);
 
-        Method validaTelefoneExistenteMethod = ContatoService.class.getDeclaredMethod("validaTelefoneExistente", String.class);
-        validaTelefoneExistenteMethod.setAccessible(true);
-        when(validaTelefoneExistenteMethod.invoke(contatoService, telefone)).thenReturn(false);
-
-        Contato contatoSalvo = new Contato(1L, "Nome", telefone, LocalDate.now(), null);
-        when(repository.save(any(Contato.class))).thenReturn(contatoSalvo);
+        Contato contatoSalvo = new Contato(1L, "Nome", telefone, LocalDate.now(), null, null);
+        when(profissionalService.findIdsAtivos(List.of(1L))).thenReturn(Set.of(1L));
+        when(repository.saveAndFlush(any(Contato.class))).thenReturn(contatoSalvo);
 
         Contato contatoCriado = contatoService.createContato(input);
 
@@ -124,7 +177,107 @@ class ContatoServiceTest {
         assertEquals(telefone, contatoCriado.getContato());
         assertEquals(LocalDate.now(), contatoCriado.getCreatedDate());
 
+        verify(repository, times(1)).saveAndFlush(any(Contato.class));
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.CRIADO, List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Testa criar contatos em lote rejeitando as linhas inválidas sem interromper as demais")
+    void testCreateContatosEmLote() {
+        List<ContatoInput> inputs = List.of(
+                new ContatoInput("Válido", "11999990001", 1L),
+                new ContatoInput("Profissional inexistente", "11999990002", 2L),
+                new ContatoInput("Telefone inválido", "123", 1L),
+                new ContatoInput("Já cadastrado", "11999990003", 1L),
+                new ContatoInput("Repetido no lote", "11999990001", 1L));
+
+        when(profissionalService.findIdsAtivos(anyCollection())).thenReturn(Set.of(1L));
+        when(repository.findContatosExistentes(anyCollection())).thenReturn(Set.of("11999990003"));
+        when(repository.save(any(Contato.class))).thenAnswer(invocation -> {
+            Contato contato = invocation.getArgument(0);
+            contato.setId(10L);
+            return contato;
+        });
+
+        List<ResultadoLinhaLoteDTO> resultados = contatoService.createContatos(inputs, 501);
+
+        assertEquals(5, resultados.size());
+        assertEquals(501, resultados.get(0).getLinha());
+        assertEquals(StatusLinhaLoteEnum.CRIADO, resultados.get(0).getStatus());
+        assertEquals(10L, resultados.get(0).getId());
+        assertEquals(MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS, resultados.get(1).getMensagem());
+        assertEquals(MensagemUtil.MSG_TELEFONE_INVALIDO, resultados.get(2).getMensagem());
+        assertEquals(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO, resultados.get(3).getMensagem());
+        assertEquals(505, resultados.get(4).getLinha());
+        assertEquals(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO, resultados.get(4).getMensagem());
+
+        verify(profissionalService, times(1)).findIdsAtivos(anyCollection());
+        verify(repository, times(1)).findContatosExistentes(anyCollection());
         verify(repository, times(1)).save(any(Contato.class));
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.CRIADO, List.of(10L));
+    }
+
+    @Test
+    @DisplayName("Testa consultar no lote apenas os telefones que o filtro de telefones não descarta")
+    void testCreateContatosComFiltroTelefones() {
+        FiltroTelefones filtro = new FiltroTelefones(null);
+        filtro.registrar(List.of("11999990003"));
+        contatoService = new ContatoService(repository, alteracaoRepository, profissionalService, Optional.empty(), Optional.of(filtro));
+
+        when(profissionalService.findIdsAtivos(anyCollection())).thenReturn(Set.of(1L));
+        when(repository.findContatosExistentes(anyCollection())).thenReturn(Set.of("11999990003"));
+        when(repository.save(any(Contato.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ResultadoLinhaLoteDTO> resultados = contatoService.createContatos(List.of(
+                new ContatoInput("Novo", "11999990001", 1L),
+                new ContatoInput("Já cadastrado", "11999990003", 1L)), 1);
+
+        assertEquals(StatusLinhaLoteEnum.CRIADO, resultados.get(0).getStatus());
+        assertEquals(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO, resultados.get(1).getMensagem());
+        verify(repository, times(1)).findContatosExistentes(Set.of("11999990003"));
+
+        contatoService.createContatos(List.of(new ContatoInput("Outro", "11999990004", 1L)), 1);
+
+        verify(repository, times(1)).findContatosExistentes(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Testa que a nova tentativa de um lote consulta no banco o telefone gravado fora do filtro e o registra nele")
+    void testCreateContatosSemFiltroTelefoneGravadoForaDoFiltro() {
+        FiltroTelefones filtro = new FiltroTelefones(null);
+        contatoService = new ContatoService(repository, alteracaoRepository, profissionalService, Optional.empty(), Optional.of(filtro));
+        List<ContatoInput> lote = List.of(
+                new ContatoInput("Novo", "11999990001", 1L),
+                new ContatoInput("Gravado por outra instância", "11999990003", 1L));
+
+        when(profissionalService.findIdsAtivos(anyCollection())).thenReturn(Set.of(1L));
+        when(repository.findContatosExistentes(anyCollection())).thenReturn(Set.of("11999990003"));
+        when(repository.save(any(Contato.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ResultadoLinhaLoteDTO> comFiltro = contatoService.createContatos(lote, 1);
+
+        assertEquals(StatusLinhaLoteEnum.CRIADO, comFiltro.get(1).getStatus());
+        verify(repository, never()).findContatosExistentes(anyCollection());
+
+        List<ResultadoLinhaLoteDTO> semFiltro = contatoService.createContatosSemFiltro(lote, 1);
+
+        assertEquals(StatusLinhaLoteEnum.CRIADO, semFiltro.get(0).getStatus());
+        assertEquals(StatusLinhaLoteEnum.REJEITADO, semFiltro.get(1).getStatus());
+        assertEquals(MensagemUtil.MSG_TELEFONE_JA_CADASTRADO, semFiltro.get(1).getMensagem());
+        verify(repository).findContatosExistentes(Set.of("11999990001", "11999990003"));
+        assertEquals(Set.of("11999990003"), filtro.possiveisCadastrados(List.of("11999990003")));
+    }
+
+    @Test
+    @DisplayName("Testa que o cadastro de contato confere no banco, e não no cache, se o profissional está ativo")
+    void testCreateContatoProfissionalInativo() {
+        ContatoInput input = new ContatoInput("Nome", "11987654321", 1L);
+        when(profissionalService.findIdsAtivos(List.of(1L))).thenReturn(Set.of());
+
+        assertThrows(EntidadeNaoExistenteException.class, () -> contatoService.createContato(input));
+
+        verify(profissionalService, never()).findProfissionalVersionado(anyLong());
+        verify(repository, never()).saveAndFlush(any(Contato.class));
     }
 
     @Test
@@ -137,7 +290,18 @@ class ContatoServiceTest {
         assertThrows(TelefoneInvalidoException.class, () -> {
             contatoService.createContato(input);
         });
-        verify(repository, never()).save(any(Contato.class));
+        verify(repository, never()).saveAndFlush(any(Contato.class));
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem dos contatos de um profissional inexistente falha sem preencher o cache de profissionais")
+    void testFindContatosByProfissionalInexistente() {
+        when(profissionalService.findIdsAtivos(List.of(1L))).thenReturn(Set.of());
+
+        assertThrows(EntidadeNaoExistenteException.class, () -> contatoService.findContatosByProfissional(1L, null, null, null));
+
+        verify(profissionalService, never()).findProfissionalVersionado(anyLong());
+        verify(repository, never()).findPageByProfissional(anyLong(), any(), anyLong(), anyInt());
     }
 
     @Test
@@ -148,13 +312,25 @@ class ContatoServiceTest {
         input.setContato("1234567890");
         input.setProfissional(1L);
 
-        when(profissionalService.findProfissionalById(input.getProfissional())).thenReturn(new Profissional());
-        when(repository.existsContatoByContato(input.getContato())).thenReturn(true);
+        when(profissionalService.getReferencia(input.getProfissional())).thenReturn(new Profissional());
+        when(profissionalService.findIdsAtivos(List.of(1L))).thenReturn(Set.of(1L));
+        when(repository.saveAndFlush(any(Contato.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", null, "uk_contato_contato")));
 
         assertThrows(TelefoneJaCadastradoException.class, () -> {
             contatoService.createContato(input);
         });
-        verify(repository, never()).save(any(Contato.class));
+    }
+
+    @Test
+    @DisplayName("Testa propagar violações de integridade que não sejam do telefone duplicado")
+    void testCreateContatoWithOtherIntegrityViolation() {
+        ContatoInput input = new ContatoInput("Teste", "1234567890", 1L);
+        when(profissionalService.findIdsAtivos(List.of(1L))).thenReturn(Set.of(1L));
+        when(repository.saveAndFlush(any(Contato.class))).thenThrow(new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk", null, "fk_contato_profissional")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> contatoService.createContato(input));
     }
 
     @Test
@@ -169,7 +345,7 @@ class ContatoServiceTest {
         assertThrows(TelefoneInvalidoException.class, () -> {
             contatoService.updateContato(contatoId, input);
         });
-        verify(repository, never()).save(any(Contato.class));
+        verify(repository, never()).saveAndFlush(any(Contato.class));
     }
 
     @Test
@@ -179,15 +355,49 @@ class ContatoServiceTest {
         ContatoUpdateInput input = new ContatoUpdateInput();
         input.setContato("1234567890");
 
-        Contato contatoExistente = new Contato(1L, "teste", "1234567890", LocalDate.now(), new Profissional());
+        Contato contatoExistente = new Contato(1L, "teste", "1234567890", LocalDate.now(), new Profissional(), 0L);
         when(repository.findContatoByIdAndProfissionalAtivoIsTrue(anyLong())).thenReturn(Optional.of(contatoExistente));
-        when(repository.save(contatoExistente)).thenReturn(new Contato());
+        when(repository.saveAndFlush(contatoExistente)).thenReturn(new Contato());
 
         Contato updatedContato = contatoService.updateContato(contatoId, input);
 
         assertNotNull(updatedContato);
         assertEquals(input.getContato(), contatoExistente.getContato());
-        verify(repository, times(1)).save(contatoExistente);
+        verify(repository, times(1)).saveAndFlush(contatoExistente);
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.ALTERADO, List.of(contatoId));
+    }
+
+    @Test
+    @DisplayName("Testa atualizar apenas o nome do contato sem informar o telefone")
+    void testUpdateContatoSemTelefone() {
+        ContatoUpdateInput input = new ContatoUpdateInput();
+        input.setNome("Novo nome");
+
+        Contato contatoExistente = new Contato(1L, "teste", "1234567890", LocalDate.now(), new Profissional(), 0L);
+        when(repository.findContatoByIdAndProfissionalAtivoIsTrue(anyLong())).thenReturn(Optional.of(contatoExistente));
+        when(repository.saveAndFlush(contatoExistente)).thenReturn(contatoExistente);
+
+        contatoService.updateContato(1L, input);
+
+        assertEquals("Novo nome", contatoExistente.getNome());
+        assertEquals("1234567890", contatoExistente.getContato());
+        verify(repository, times(1)).saveAndFlush(contatoExistente);
+    }
+
+    @Test
+    @DisplayName("Testa gravar o telefone formatado na forma canônica ao criar um contato")
+    void testCreateContatoNormalizaTelefone() {
+        ContatoInput input = new ContatoInput("Nome", "(11) 98765-4321", 1L);
+        when(profissionalService.findIdsAtivos(List.of(1L))).thenReturn(Set.of(1L));
+        when(repository.saveAndFlush(any(Contato.class))).thenAnswer(invocation -> {
+            Contato contato = invocation.getArgument(0);
+            contato.setId(1L);
+            return contato;
+        });
+
+        Contato contatoCriado = contatoService.createContato(input);
+
+        assertEquals("11987654321", contatoCriado.getContato());
     }
 
     @Test
@@ -201,7 +411,8 @@ class ContatoServiceTest {
         contatoService.deleteContato(contatoId);
 
         verify(repository, times(1)).findContatoByIdAndProfissionalAtivoIsTrue(contatoId);
-        verify(repository, times(1)).deleteById(contatoId);
+        verify(repository, times(1)).delete(contatoExistente);
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.CONTATO, OperacaoAlteracaoEnum.EXCLUIDO, List.of(contatoId));
     }
 
     @Test
@@ -214,7 +425,7 @@ class ContatoServiceTest {
         assertThrows(EntidadeNaoExistenteException.class, () -> {
             contatoService.deleteContato(contatoId);
         });
-        verify(repository, never()).deleteById(anyLong());
+        verify(repository, never()).delete(any(Contato.class));
     }
 
     private Contato createContato(Long id, String nome, String contato, LocalDate createdDate) {
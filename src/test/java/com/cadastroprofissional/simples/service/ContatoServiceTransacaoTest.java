@@ -0,0 +1,146 @@
+package com.cadastroprofissional.simples.service;
+
+import com.cadastroprofissional.simples.config.CacheConfig;
+import com.cadastroprofissional.simples.model.Contato;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.input.ContatoInput;
+import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.repository.ContatoRepository;
+import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede, pelas estatísticas do Hibernate, as transações, os statements e os flushes de cada caso de uso.
+ * Os testes rodam sem a transação do {@code @DataJpaTest}, para que cada chamada ao serviço abra as suas.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureCache
+@Import({ContatoService.class, ProfissionalService.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContatoServiceTransacaoTest {
+
+    @Autowired
+    private ContatoService contatoService;
+
+    @Autowired
+    private ProfissionalService profissionalService;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ProfissionalRepository profissionalRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Long profissionalId;
+
+    private Long contatoId;
+
+    @BeforeEach
+    void setUp() {
+        Profissional profissional = new Profissional();
+        profissional.setNome("Profissional");
+        profissional.setCargo(CargoEnum.DESENVOLVEDOR);
+        profissional.setCreatedDate(LocalDate.now());
+        this.profissionalId = this.profissionalRepository.save(profissional).getId();
+        this.contatoId = this.contatoService.createContato(new ContatoInput("Celular", "11987654321", this.profissionalId)).getId();
+        this.cacheManager.getCache(ProfissionalService.CACHE_PROFISSIONAIS).clear();
+
+        this.estatisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.contatoRepository.deleteAllInBatch();
+        this.profissionalRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Testa que a criação de um contato executa em uma única transação")
+    void testCreateContatoTransacaoUnica() {
+        this.contatoService.createContato(new ContatoInput("Fixo", "1133334444", this.profissionalId));
+
+        assertEquals(1, this.estatisticas.getTransactionCount());
+        assertEquals(1, this.estatisticas.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("Testa que a atualização de um contato executa em uma única transação, com uma leitura e um update")
+    void testUpdateContatoTransacaoUnica() {
+        ContatoUpdateInput input = new ContatoUpdateInput();
+        input.setNome("Trabalho");
+        this.contatoService.updateContato(this.contatoId, input);
+
+        assertEquals(1, this.estatisticas.getTransactionCount());
+        assertEquals(2, this.estatisticas.getPrepareStatementCount());
+        assertEquals(1, this.estatisticas.getEntityUpdateCount());
+    }
+
+    @Test
+    @DisplayName("Testa que a exclusão de um contato lê o contato uma única vez")
+    void testDeleteContatoTransacaoUnica() {
+        this.contatoService.deleteContato(this.contatoId);
+
+        assertEquals(1, this.estatisticas.getTransactionCount());
+        assertEquals(2, this.estatisticas.getPrepareStatementCount());
+        assertEquals(1, this.estatisticas.getEntityDeleteCount());
+    }
+
+    @Test
+    @DisplayName("Testa que a atualização de um profissional executa em uma única transação")
+    void testUpdateProfissionalTransacaoUnica() {
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome("Outro nome");
+        this.profissionalService.updateProfissional(this.profissionalId, input);
+
+        assertEquals(1, this.estatisticas.getTransactionCount());
+        assertEquals(2, this.estatisticas.getPrepareStatementCount());
+        assertEquals(1, this.estatisticas.getEntityUpdateCount());
+    }
+
+    @Test
+    @DisplayName("Testa que as buscas rodam em transações somente leitura, sem flush ao final")
+    void testBuscasSemFlush() {
+        Contato contato = this.contatoService.findContatoById(this.contatoId);
+        this.contatoService.findAllContatos(null, null);
+        this.profissionalService.findAllProfissionais(null, null, null, 10);
+
+        assertEquals(this.contatoId, contato.getId());
+        assertEquals(3, this.estatisticas.getTransactionCount());
+        assertEquals(3, this.estatisticas.getPrepareStatementCount());
+        assertEquals(0, this.estatisticas.getFlushCount());
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.cadastroprofissional.simples.service;
+
+import com.cadastroprofissional.simples.config.CacheConfig;
+import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.VersionadoDTO;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
+import com.cadastroprofissional.simples.repository.ProfissionalRepository;
+import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {ProfissionalService.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class ProfissionalServiceCacheTest {
+
+    @MockBean
+    private ProfissionalRepository repository;
+
+    @MockBean
+    private AlteracaoRepository alteracaoRepository;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProfissionalService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        this.cacheManager.getCache(ProfissionalService.CACHE_PROFISSIONAIS).clear();
+
+        Profissional profissional = new Profissional(1L);
+        profissional.setCargo(CargoEnum.DESENVOLVEDOR);
+        profissional.setVersao(0L);
+        when(repository.findProfissionalByIdAndAtivoIsTrue(1L)).thenReturn(Optional.of(profissional));
+        when(repository.save(any(Profissional.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Testa que buscas repetidas pelo ID consultam o repositório apenas uma vez")
+    void testFindProfissionalByIdEmCache() {
+        service.findProfissionalVersionado(1L);
+        service.findProfissionalVersionado(1L);
+
+        verify(repository, times(1)).findProfissionalByIdAndAtivoIsTrue(1L);
+    }
+
+    @Test
+    @DisplayName("Testa que o cache guarda o DTO com a versão, e não a entidade usada pelas alterações")
+    void testFindProfissionalVersionadoNaoCompartilhaEntidade() {
+        VersionadoDTO<ProfissionalDTO> emCache = service.findProfissionalVersionado(1L);
+
+        service.findProfissionalById(1L).setNome("Alterado sem commit");
+
+        assertSame(emCache, service.findProfissionalVersionado(1L));
+        assertNull(emCache.getItem().getNome());
+    }
+
+    @Test
+    @DisplayName("Testa que, depois de uma alteração, o cache é preenchido pelo primário e não pela réplica atrasada")
+    void testFindProfissionalVersionadoLeDoPrimarioComReplicaAtrasada() {
+        Profissional naReplica = new Profissional(1L);
+        naReplica.setNome("Antes");
+        naReplica.setCargo(CargoEnum.DESENVOLVEDOR);
+        naReplica.setVersao(0L);
+        Profissional noPrimario = new Profissional(1L);
+        noPrimario.setCargo(CargoEnum.DESENVOLVEDOR);
+        noPrimario.setVersao(0L);
+        // Como o RoteamentoDataSource, encaminha as transações somente leitura à réplica, que ainda não recebeu a alteração
+        AtomicBoolean somenteLeitura = new AtomicBoolean();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            somenteLeitura.set(invocation.<TransactionDefinition>getArgument(0).isReadOnly());
+            return new SimpleTransactionStatus();
+        });
+        when(repository.findProfissionalByIdAndAtivoIsTrue(1L)).thenAnswer(invocation -> Optional.of(somenteLeitura.get() ? naReplica : noPrimario));
+        when(repository.save(any(Profissional.class))).thenAnswer(invocation -> {
+            Profissional gravado = invocation.getArgument(0);
+            gravado.setVersao(gravado.getVersao() + 1);
+            return gravado;
+        });
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome("Depois");
+
+        service.findProfissionalVersionado(1L);
+        service.updateProfissional(1L, input);
+        VersionadoDTO<ProfissionalDTO> profissional = service.findProfissionalVersionado(1L);
+
+        assertEquals("Depois", profissional.getItem().getNome());
+        assertEquals(1L, profissional.getVersao());
+        assertSame(profissional, service.findProfissionalVersionado(1L));
+    }
+
+    @Test
+    @DisplayName("Testa que a alteração remove o profissional do cache somente depois do commit")
+    void testUpdateProfissionalInvalidaCacheAposCommit() {
+        service.findProfissionalVersionado(1L);
+        List<Boolean> emCacheNoCommit = new ArrayList<>();
+        doAnswer(invocation -> emCacheNoCommit.add(this.cacheManager.getCache(ProfissionalService.CACHE_PROFISSIONAIS).get(1L) != null))
+                .when(transactionManager).commit(any());
+
+        service.updateProfissional(1L, new ProfissionalInput());
+
+        assertEquals(List.of(true), emCacheNoCommit);
+        assertNull(this.cacheManager.getCache(ProfissionalService.CACHE_PROFISSIONAIS).get(1L));
+    }
+
+    @Test
+    @DisplayName("Testa que profissionais inexistentes não são armazenados no cache")
+    void testFindProfissionalByIdNaoArmazenaInexistente() {
+        when(repository.findProfissionalByIdAndAtivoIsTrue(2L)).thenReturn(Optional.empty());
+
+        assertThrows(EntidadeNaoExistenteException.class, () -> service.findProfissionalVersionado(2L));
+        assertThrows(EntidadeNaoExistenteException.class, () -> service.findProfissionalVersionado(2L));
+
+        verify(repository, times(2)).findProfissionalByIdAndAtivoIsTrue(2L);
+    }
+
+    @Test
+    @DisplayName("Testa que a atualização remove o profissional do cache")
+    void testUpdateProfissionalInvalidaCache() {
+        service.findProfissionalVersionado(1L);
+        service.updateProfissional(1L, new ProfissionalInput());
+        service.findProfissionalVersionado(1L);
+
+        verify(repository, times(3)).findProfissionalByIdAndAtivoIsTrue(1L);
+    }
+
+    @Test
+    @DisplayName("Testa que a exclusão remove o profissional do cache")
+    void testDeleteProfissionalInvalidaCache() {
+        service.findProfissionalVersionado(1L);
+        service.deleteProfissional(1L);
+        service.findProfissionalVersionado(1L);
+
+        verify(repository, times(3)).findProfissionalByIdAndAtivoIsTrue(1L);
+    }
+
+}
@@ -1,31 +1,45 @@
 package com.cadastroprofissional.simples.service;
 
 import com.cadastroprofissional.simples.model.Profissional;
+import com.cadastroprofissional.simples.model.dto.PaginaDTO;
 import com.cadastroprofissional.simples.model.dto.ProfissionalDTO;
+import com.cadastroprofissional.simples.model.dto.ResultadoLinhaLoteDTO;
 import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.repository.AlteracaoRepository;
 import com.cadastroprofissional.simples.repository.ProfissionalRepository;
 import com.cadastroprofissional.simples.util.MensagemUtil;
+import com.cadastroprofissional.simples.util.PaginacaoUtil;
 import com.cadastroprofissional.simples.util.enums.CargoEnum;
+import com.cadastroprofissional.simples.util.enums.EntidadeAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.OperacaoAlteracaoEnum;
+import com.cadastroprofissional.simples.util.enums.StatusLinhaLoteEnum;
+import com.cadastroprofissional.simples.util.exception.CargoInvalidoException;
 import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,13 +50,15 @@ import static org.mockito.Mockito.when;
 class ProfissionalServiceTest {
 
     private ProfissionalRepository repository;
+    private AlteracaoRepository alteracaoRepository;
     private ProfissionalService service;
 
 
     @BeforeEach
     void setUp() {
         repository = mock(ProfissionalRepository.class);
-        service = new ProfissionalService(repository);
+        alteracaoRepository = mock(AlteracaoRepository.class);
+        service = new ProfissionalService(repository, alteracaoRepository, Optional.empty());
     }
 
     @Test
@@ -83,9 +99,9 @@ class ProfissionalServiceTest {
         profissional.setCargo(CargoEnum.DESENVOLVEDOR);
         profissional.setDataNascimento(LocalDate.of(1990, 1, 1));
         profissional.setCreatedDate(LocalDate.now());
-        List<Profissional> profissionais = Arrays.asList(profissional);
+        List<ProfissionalDTO> profissionais = Arrays.asList(profissional.toDTO());
 
-        when(repository.findByAnyColumn(q)).thenReturn(profissionais);
+        when(repository.findByAnyColumn(q, fields)).thenReturn(profissionais);
 
         List<ProfissionalDTO> result = service.findAllProfissionais(q, fields);
 
@@ -97,6 +113,21 @@ class ProfissionalServiceTest {
         assertEquals(profissional.getCreatedDate(), result.get(0).getCreatedDate());
     }
 
+    @Test
+    @DisplayName("Testa listar profissionais paginados por cursor")
+    void testFindAllProfissionaisPaginado() {
+        ProfissionalDTO profissional = ProfissionalDTO.builder().id(42L).nome("Teste").build();
+
+        when(repository.findPageByAnyColumn(null, null, 41L, PaginacaoUtil.LIMITE_PADRAO))
+                .thenReturn(new PaginaDTO<>(List.of(profissional), 42L));
+
+        PaginaDTO<ProfissionalDTO> pagina = service.findAllProfissionais(null, null, 41L, null);
+
+        assertEquals(42L, pagina.getProximoCursor());
+        assertEquals(1, pagina.getItens().size());
+        assertEquals("Teste", pagina.getItens().get(0).getNome());
+    }
+
     @Test
     @DisplayName("Testa criar um profissional")
     void testCreateProfissional() {
@@ -123,6 +154,96 @@ class ProfissionalServiceTest {
         assertNotNull(profissionalCriadoNoMetodo.getCreatedDate());
         assertEquals(LocalDate.now(), profissionalCriadoNoMetodo.getCreatedDate());
         verify(repository, times(1)).save(any(Profissional.class));
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.CRIADO, List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Testa jogar a exceção de cargo inválido quando criar um profissional")
+    void testCreateProfissionalCargoInvalido() {
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome("Teste");
+        input.setCargo("Gerente");
+
+        assertThrows(CargoInvalidoException.class, () -> service.createProfissional(input));
+        verify(repository, times(0)).save(any(Profissional.class));
+    }
+
+    @Test
+    @DisplayName("Testa gravar profissionais em lote atualizando os já existentes pela chave natural")
+    void testUpsertProfissionaisEmLote() {
+        LocalDate nascimento = LocalDate.of(1990, 2, 1);
+        Profissional existente = new Profissional(7L);
+        existente.setNome("Ana");
+        existente.setDataNascimento(nascimento);
+        existente.setCargo(CargoEnum.TESTER);
+        existente.setAtivo(false);
+
+        ProfissionalInput atualizado = new ProfissionalInput();
+        atualizado.setNome("Ana");
+        atualizado.setDataNascimento(nascimento);
+        atualizado.setCargo("designer");
+        ProfissionalInput novo = new ProfissionalInput();
+        novo.setNome("Ana");
+        novo.setDataNascimento(LocalDate.of(1985, 5, 5));
+        novo.setCargo("SUPORTE");
+        ProfissionalInput cargoInvalido = new ProfissionalInput();
+        cargoInvalido.setNome("Bia");
+        cargoInvalido.setCargo("Gerente");
+
+        when(repository.findByNomeIn(anyCollection())).thenReturn(List.of(existente));
+        when(repository.save(any(Profissional.class))).thenAnswer(invocation -> {
+            Profissional profissional = invocation.getArgument(0);
+            profissional.setId(8L);
+            return profissional;
+        });
+
+        List<ResultadoLinhaLoteDTO> resultados = service.upsertProfissionais(List.of(atualizado, novo, cargoInvalido), 1);
+
+        assertEquals(StatusLinhaLoteEnum.ATUALIZADO, resultados.get(0).getStatus());
+        assertEquals(7L, resultados.get(0).getId());
+        assertEquals(CargoEnum.DESIGNER, existente.getCargo());
+        assertEquals(true, existente.isAtivo());
+        assertEquals(StatusLinhaLoteEnum.CRIADO, resultados.get(1).getStatus());
+        assertEquals(8L, resultados.get(1).getId());
+        assertEquals(StatusLinhaLoteEnum.REJEITADO, resultados.get(2).getStatus());
+        assertEquals(MensagemUtil.CARGO_INVALIDO, resultados.get(2).getMensagem());
+
+        InOrder ordem = inOrder(repository);
+        ordem.verify(repository).bloquearChavesNaturais(Set.of("Ana|1990-02-01", "Ana|1985-05-05", "Bia|null"));
+        ordem.verify(repository, times(1)).findByNomeIn(anyCollection());
+        verify(repository, times(1)).save(any(Profissional.class));
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.CRIADO, Set.of(8L));
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.ALTERADO, Set.of(7L));
+    }
+
+    @Test
+    @DisplayName("Testa que a importação em lote atualiza o cadastro ativo quando há outros inativos com a mesma chave")
+    void testUpsertProfissionaisPrefereAtivo() {
+        LocalDate nascimento = LocalDate.of(1990, 2, 1);
+        List<Profissional> cadastrados = new ArrayList<>();
+        for (long id : new long[] {5L, 9L, 3L}) {
+            Profissional profissional = new Profissional(id);
+            profissional.setNome("Ana");
+            profissional.setDataNascimento(nascimento);
+            profissional.setCargo(CargoEnum.TESTER);
+            profissional.setAtivo(id == 9L);
+            cadastrados.add(profissional);
+        }
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome("Ana");
+        input.setDataNascimento(nascimento);
+        input.setCargo("designer");
+
+        when(repository.findByNomeIn(anyCollection())).thenReturn(cadastrados);
+
+        List<ResultadoLinhaLoteDTO> resultados = service.upsertProfissionais(List.of(input), 1);
+
+        assertEquals(StatusLinhaLoteEnum.ATUALIZADO, resultados.get(0).getStatus());
+        assertEquals(9L, resultados.get(0).getId());
+        assertEquals(CargoEnum.DESIGNER, cadastrados.get(1).getCargo());
+        assertEquals(false, cadastrados.get(0).isAtivo());
+        assertEquals(false, cadastrados.get(2).isAtivo());
+        verify(repository, never()).save(any(Profissional.class));
     }
 
     @Test
@@ -171,9 +292,11 @@ class ProfissionalServiceTest {
         profissionalExistente.setAtivo(true);
 
         when(repository.findProfissionalByIdAndAtivoIsTrue(profissionalId)).thenReturn(Optional.of(profissionalExistente));
+        when(repository.save(profissionalExistente)).thenReturn(profissionalExistente);
 
         service.deleteProfissional(profissionalId);
 
         verify(repository, times(1)).save(profissionalExistente);
+        verify(alteracaoRepository).registrar(EntidadeAlteracaoEnum.PROFISSIONAL, OperacaoAlteracaoEnum.EXCLUIDO, List.of(profissionalId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.cadastroprofissional.simples.service.reactive;
+
+import com.cadastroprofissional.simples.model.input.ContatoInput;
+import com.cadastroprofissional.simples.model.input.ContatoUpdateInput;
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.model.reactive.ContatoRegistro;
+import com.cadastroprofissional.simples.model.reactive.ProfissionalRegistro;
+import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
+import com.cadastroprofissional.simples.util.exception.TelefoneInvalidoException;
+import com.cadastroprofissional.simples.util.exception.TelefoneJaCadastradoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataR2dbcTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reativo;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.schema-locations=classpath:reactive/schema.sql",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureCache
+@ActiveProfiles("reactive")
+@Import({ContatoReactiveService.class, ProfissionalReactiveService.class})
+class ContatoReactiveServiceTest {
+
+    @Autowired
+    private ContatoReactiveService service;
+
+    @Autowired
+    private ProfissionalReactiveService profissionalService;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private ProfissionalRegistro ativo;
+
+    private ProfissionalRegistro inativo;
+
+    @BeforeEach
+    void setUp() {
+        this.databaseClient.sql("DELETE FROM CONTATO").then()
+                .then(this.databaseClient.sql("DELETE FROM PROFISSIONAL").then()).block();
+
+        this.ativo = this.criarProfissional("Ana");
+        this.inativo = this.criarProfissional("Bruno");
+        for (int i = 0; i < 3; i++) {
+            this.service.createContato(new ContatoInput("Contato Ana " + i, "(11) 99999-000" + i, this.ativo.getId())).block();
+        }
+        this.service.createContato(new ContatoInput("Contato Bruno", "11988887777", this.inativo.getId())).block();
+        this.profissionalService.deleteProfissional(this.inativo.getId()).block();
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem entrega os contatos conforme a demanda, ordenados pelo ID e sem os de profissionais inativos")
+    void testFindAllContatosSobDemanda() {
+        StepVerifier.create(this.service.findAllContatos(null, null, null), 1)
+                .assertNext(contato -> assertEquals("Contato Ana 0", contato.getNome()))
+                .thenRequest(2)
+                .assertNext(contato -> assertEquals("Ana", contato.getProfissional()))
+                .assertNext(contato -> assertEquals("11999990002", contato.getContato()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem aplica o termo de busca e o limite da página")
+    void testFindAllContatosComBuscaELimite() {
+        StepVerifier.create(this.service.findAllContatos("11999990001", null, null))
+                .assertNext(contato -> assertEquals("Contato Ana 1", contato.getNome()))
+                .verifyComplete();
+
+        StepVerifier.create(this.service.findAllContatos("ana", null, 2)).expectNextCount(2).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Testa que a busca por ID retorna o contato com o nome do profissional")
+    void testFindContatoDtoById() {
+        ContatoRegistro contato = this.service.findAllContatos(null, null, 1).next()
+                .flatMap(dto -> this.service.findContatoById(dto.getId())).block();
+
+        StepVerifier.create(this.service.findContatoDtoById(contato.getId()))
+                .assertNext(dto -> assertEquals("Ana", dto.getProfissional()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Testa que o contato é gravado com o telefone na forma canônica")
+    void testCreateContatoNormalizaTelefone() {
+        StepVerifier.create(this.service.createContato(new ContatoInput("Novo", "(21) 3333-4444", this.ativo.getId())))
+                .assertNext(contato -> assertEquals("2133334444", contato.getContato()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Testa que a criação de contato é rejeitada para profissional inativo, telefone inválido ou já cadastrado")
+    void testCreateContatoRejeitado() {
+        StepVerifier.create(this.service.createContato(new ContatoInput("Novo", "2133334444", this.inativo.getId())))
+                .verifyError(EntidadeNaoExistenteException.class);
+        StepVerifier.create(this.service.createContato(new ContatoInput("Novo", "abc", this.ativo.getId())))
+                .verifyError(TelefoneInvalidoException.class);
+        StepVerifier.create(this.service.createContato(new ContatoInput("Novo", "11 99999-0000", this.ativo.getId())))
+                .verifyError(TelefoneJaCadastradoException.class);
+    }
+
+    @Test
+    @DisplayName("Testa que a atualização para um telefone já cadastrado é rejeitada")
+    void testUpdateContatoTelefoneJaCadastrado() {
+        Long id = this.service.findAllContatos(null, null, 1).blockFirst().getId();
+        ContatoUpdateInput input = new ContatoUpdateInput();
+        input.setContato("11999990001");
+
+        StepVerifier.create(this.service.updateContato(id, input)).verifyError(TelefoneJaCadastradoException.class);
+    }
+
+    private ProfissionalRegistro criarProfissional(String nome) {
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome(nome);
+        input.setCargo("Desenvolvedor");
+        input.setDataNascimento(LocalDate.of(1990, 1, 1));
+        return this.profissionalService.createProfissional(input).block();
+    }
+
+}
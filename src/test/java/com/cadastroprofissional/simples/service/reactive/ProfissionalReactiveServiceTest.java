@@ -0,0 +1,97 @@
+package com.cadastroprofissional.simples.service.reactive;
+
+import com.cadastroprofissional.simples.model.input.ProfissionalInput;
+import com.cadastroprofissional.simples.model.reactive.ProfissionalRegistro;
+import com.cadastroprofissional.simples.util.exception.CargoInvalidoException;
+import com.cadastroprofissional.simples.util.exception.EntidadeNaoExistenteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DataR2dbcTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reativo;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.schema-locations=classpath:reactive/schema.sql",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureCache
+@ActiveProfiles("reactive")
+@Import(ProfissionalReactiveService.class)
+class ProfissionalReactiveServiceTest {
+
+    @Autowired
+    private ProfissionalReactiveService service;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        this.databaseClient.sql("DELETE FROM CONTATO").then()
+                .then(this.databaseClient.sql("DELETE FROM PROFISSIONAL").then()).block();
+    }
+
+    @Test
+    @DisplayName("Testa que cada profissional criado recebe um ID próprio da sequence")
+    void testCreateProfissionalReservaId() {
+        ProfissionalRegistro primeiro = this.service.createProfissional(this.input("Ana", "designer")).block();
+        ProfissionalRegistro segundo = this.service.createProfissional(this.input("Bruno", "Suporte")).block();
+
+        assertNotEquals(primeiro.getId(), segundo.getId());
+        StepVerifier.create(this.service.findProfissionalById(segundo.getId()))
+                .assertNext(profissional -> assertEquals("Suporte", profissional.toDTO().getCargo()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Testa que a listagem filtra por texto e continua a partir do cursor")
+    void testFindAllProfissionaisComBuscaECursor() {
+        ProfissionalRegistro ana = this.service.createProfissional(this.input("Ana", "Desenvolvedor")).block();
+        this.service.createProfissional(this.input("Mariana", "Tester")).block();
+        this.service.createProfissional(this.input("Bruno", "Designer")).block();
+
+        StepVerifier.create(this.service.findAllProfissionais("ana", null, null)).expectNextCount(2).verifyComplete();
+        StepVerifier.create(this.service.findAllProfissionais("ana", ana.getId(), null))
+                .assertNext(profissional -> assertEquals("Mariana", profissional.getNome()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Testa que cargo inválido é rejeitado na criação e na atualização")
+    void testCargoInvalido() {
+        StepVerifier.create(this.service.createProfissional(this.input("Ana", "Gerente"))).verifyError(CargoInvalidoException.class);
+
+        ProfissionalRegistro ana = this.service.createProfissional(this.input("Ana", "Tester")).block();
+        StepVerifier.create(this.service.updateProfissional(ana.getId(), this.input(null, "Gerente"))).verifyError(CargoInvalidoException.class);
+    }
+
+    @Test
+    @DisplayName("Testa que o profissional excluído deixa de ser encontrado e listado")
+    void testDeleteProfissional() {
+        ProfissionalRegistro ana = this.service.createProfissional(this.input("Ana", "Tester")).block();
+
+        StepVerifier.create(this.service.deleteProfissional(ana.getId())).verifyComplete();
+        StepVerifier.create(this.service.findProfissionalById(ana.getId())).verifyError(EntidadeNaoExistenteException.class);
+        StepVerifier.create(this.service.findAllProfissionais(null, null, null)).verifyComplete();
+    }
+
+    private ProfissionalInput input(String nome, String cargo) {
+        ProfissionalInput input = new ProfissionalInput();
+        input.setNome(nome);
+        input.setCargo(cargo);
+        input.setDataNascimento(LocalDate.of(1990, 1, 1));
+        return input;
+    }
+
+}
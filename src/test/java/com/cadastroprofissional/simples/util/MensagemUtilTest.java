@@ -18,7 +18,7 @@ class MensagemUtilTest {
     void testMensagens() {
         assertEquals("Esse registro de contato não existe na nossa base de dados.", MensagemUtil.MSG_ENTITY_CONTATO_NOT_EXISTS);
         assertEquals("Esse registro de profissional não existe na nossa base de dados.", MensagemUtil.MSG_ENTITY_PROFISSIONAL_NOT_EXISTS);
-        assertEquals("Telefone inválido, telefone precisa ter entre 10 e 11 caracteres e não pode ter caracteres especiais nem letras", MensagemUtil.MSG_TELEFONE_INVALIDO);
+        assertEquals("Telefone inválido, telefone precisa ter entre 10 e 11 dígitos e não pode ter letras nem caracteres especiais além de espaço, parênteses, hífen e ponto", MensagemUtil.MSG_TELEFONE_INVALIDO);
         assertEquals("Telefone já cadastrado na base de dados", MensagemUtil.MSG_TELEFONE_JA_CADASTRADO);
         assertEquals("O cargo não foi digitado corretamente, cargos disponiveis: Desenvolvedor, Designer, Suporte, Tester", MensagemUtil.CARGO_INVALIDO);
     }
@@ -0,0 +1,54 @@
+package com.cadastroprofissional.simples.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TelefoneUtilTest {
+
+    @Test
+    @DisplayName("Testa normalizar telefones com a pontuação comum para apenas dígitos")
+    void testNormalizarFormatado() {
+        assertEquals("11987654321", TelefoneUtil.normalizar("(11) 98765-4321"));
+        assertEquals("1134567890", TelefoneUtil.normalizar("11 3456.7890"));
+        assertEquals("1234567890", TelefoneUtil.normalizar(" 1234567890 "));
+    }
+
+    @Test
+    @DisplayName("Testa que um telefone já canônico é devolvido sem cópia")
+    void testNormalizarCanonico() {
+        String telefone = "11987654321";
+        assertSame(telefone, TelefoneUtil.normalizar(telefone));
+    }
+
+    @Test
+    @DisplayName("Testa rejeitar telefones nulos, com letras, com símbolos ou com quantidade de dígitos inválida")
+    void testInvalidos() {
+        assertNull(TelefoneUtil.normalizar(null));
+        assertNull(TelefoneUtil.normalizar(""));
+        assertNull(TelefoneUtil.normalizar("123456789"));
+        assertNull(TelefoneUtil.normalizar("119876543210"));
+        assertNull(TelefoneUtil.normalizar("11A87654321"));
+        assertNull(TelefoneUtil.normalizar("+55 11 98765-4321"));
+        assertFalse(TelefoneUtil.isValido("11#87654321"));
+    }
+
+    @Test
+    @DisplayName("Testa validar telefones fixos e celulares")
+    void testValidos() {
+        assertTrue(TelefoneUtil.isValido("1134567890"));
+        assertTrue(TelefoneUtil.isValido("(11) 98765-4321"));
+    }
+
+}
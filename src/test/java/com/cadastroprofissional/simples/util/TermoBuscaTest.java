@@ -0,0 +1,75 @@
+package com.cadastroprofissional.simples.util;
+
+import com.cadastroprofissional.simples.util.enums.TipoBuscaEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TermoBuscaTest {
+
+    @Test
+    @DisplayName("Testa consulta vazia")
+    void testVazio() {
+        assertEquals(TipoBuscaEnum.VAZIO, TermoBusca.of(null).getTipo());
+        assertEquals(TipoBuscaEnum.VAZIO, TermoBusca.of("   ").getTipo());
+    }
+
+    @Test
+    @DisplayName("Testa consulta por data nos formatos dd/MM/yyyy e yyyy-MM-dd")
+    void testData() {
+        TermoBusca termo = TermoBusca.of("01/02/1990");
+        assertEquals(TipoBuscaEnum.DATA, termo.getTipo());
+        assertEquals(LocalDate.of(1990, 2, 1), termo.getData());
+
+        assertEquals(LocalDate.of(1990, 2, 1), TermoBusca.of("1990-02-01").getData());
+    }
+
+    @Test
+    @DisplayName("Testa que uma data inexistente é tratada como texto")
+    void testDataInvalida() {
+        TermoBusca termo = TermoBusca.of("31/02/1990");
+        assertEquals(TipoBuscaEnum.TEXTO, termo.getTipo());
+        assertNull(termo.getData());
+    }
+
+    @Test
+    @DisplayName("Testa consulta por telefone com pontuação")
+    void testTelefone() {
+        TermoBusca termo = TermoBusca.of("(11) 9876-");
+        assertEquals(TipoBuscaEnum.TELEFONE, termo.getTipo());
+        assertEquals("119876", termo.getValor());
+        assertEquals("119876%", termo.getPrefixo());
+    }
+
+    @Test
+    @DisplayName("Testa que o código do Brasil após o + é descartado e que outros códigos de país são tratados como texto")
+    void testTelefoneInternacional() {
+        TermoBusca termo = TermoBusca.of("+55 (11) 9876-");
+        assertEquals(TipoBuscaEnum.TELEFONE, termo.getTipo());
+        assertEquals("119876", termo.getValor());
+
+        assertEquals(TipoBuscaEnum.TEXTO, TermoBusca.of("+1 555 0100").getTipo());
+        assertEquals(TipoBuscaEnum.TEXTO, TermoBusca.of("11 +9876").getTipo());
+        assertEquals(TipoBuscaEnum.TEXTO, TermoBusca.of("+55").getTipo());
+    }
+
+    @Test
+    @DisplayName("Testa consulta por texto com curingas escapados")
+    void testTexto() {
+        TermoBusca termo = TermoBusca.of(" Ana_100% ");
+        assertEquals(TipoBuscaEnum.TEXTO, termo.getTipo());
+        assertEquals("ana_100%", termo.getValor());
+        assertEquals("%ana\\_100\\%%", termo.getPadrao());
+    }
+
+}
@@ -0,0 +1,20 @@
+CREATE SEQUENCE IF NOT EXISTS PROFISSIONAL_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS CONTATO_SEQ START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS PROFISSIONAL (
+    PROFISSIONAL_ID BIGINT PRIMARY KEY,
+    NOME VARCHAR(255),
+    ATIVO BOOLEAN NOT NULL,
+    CARGO VARCHAR(255),
+    DATA_NASCIMENTO DATE,
+    CREATED_DATE DATE,
+    VERSAO BIGINT DEFAULT 0 NOT NULL
+);
+CREATE TABLE IF NOT EXISTS CONTATO (
+    CONTATO_ID BIGINT PRIMARY KEY,
+    NOME VARCHAR(255),
+    CONTATO VARCHAR(255),
+    CREATED_DATE DATE,
+    VERSAO BIGINT DEFAULT 0 NOT NULL,
+    PROFISSIONAL_ID BIGINT REFERENCES PROFISSIONAL (PROFISSIONAL_ID),
+    CONSTRAINT UK_CONTATO_CONTATO UNIQUE (CONTATO)
+);